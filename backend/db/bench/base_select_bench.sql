@@ -0,0 +1,133 @@
+-- 게시글 목록 조회(BASE_SELECT) 벤치마크
+--
+-- 답글 수/좋아요 여부를 행마다 상관 서브쿼리로 계산하던 기존 쿼리와,
+-- posts.reply_count 컬럼 + likes 일괄 조회(post_id IN (...))로 바꾼 신규 방식의
+-- 평균 실행 시간(마이크로초)을 posts 1만 -> 10만 -> 100만 행에서 비교합니다.
+--
+-- 실행: mysql -u root -p < db/bench/base_select_bench.sql
+-- 주의: saesori_db의 스키마(마이그레이션 004 포함)를 복사해 별도의 saesori_bench 스키마에서 실행합니다.
+--       기존 쿼리는 original_post_id 인덱스가 없던 상태를 재현하기 위해 인덱스를 잠시 제거하고 측정합니다.
+
+CREATE DATABASE IF NOT EXISTS saesori_bench CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
+USE saesori_bench;
+
+DROP TABLE IF EXISTS timeline_entries, likes, follows, posts, users;
+CREATE TABLE users LIKE saesori_db.users;
+CREATE TABLE posts LIKE saesori_db.posts;
+CREATE TABLE likes LIKE saesori_db.likes;
+
+SET SESSION cte_max_recursion_depth = 1000000;
+
+-- 사용자 1,000명, 벤치마크 사용자는 id=1
+INSERT INTO users (id, handle, password, nickname)
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000)
+SELECT n, CONCAT('bench', n), 'x', CONCAT('bench', n) FROM seq;
+
+DROP TABLE IF EXISTS bench_results;
+CREATE TABLE bench_results (
+    posts_rows INT,
+    query_name VARCHAR(20),
+    avg_micros BIGINT
+);
+
+DELIMITER //
+
+-- posts를 target_rows 행이 될 때까지 채웁니다. 약 30%는 기존 게시글에 대한 답글, 10%는 인용이며
+-- 게시글의 약 5%에 벤치마크 사용자의 좋아요를 남깁니다. 채운 뒤 reply_count를 다시 계산합니다.
+DROP PROCEDURE IF EXISTS grow_posts //
+CREATE PROCEDURE grow_posts(IN target_rows INT)
+BEGIN
+    DECLARE cur INT;
+    DECLARE batch INT;
+    DECLARE r DOUBLE;
+    SELECT COUNT(*) INTO cur FROM posts;
+    WHILE cur < target_rows DO
+        SET batch = LEAST(100000, target_rows - cur);
+        INSERT INTO posts (user_id, content, created_at, type, original_post_id)
+        SELECT user_id, 'bench', created_at,
+               CASE WHEN parent > 0 AND r < 0.3 THEN 'REPLY' WHEN parent > 0 AND r < 0.4 THEN 'QUOTE' ELSE 'ORIGINAL' END,
+               CASE WHEN parent > 0 AND r < 0.4 THEN parent ELSE 0 END
+        FROM (
+            WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < batch)
+            SELECT 1 + FLOOR(RAND() * 1000) AS user_id,
+                   NOW() - INTERVAL FLOOR(RAND() * 31536000) SECOND AS created_at,
+                   RAND() AS r,
+                   IF(cur > 0, 1 + FLOOR(RAND() * cur), 0) AS parent
+            FROM seq
+        ) gen;
+        SET cur = cur + batch;
+    END WHILE;
+
+    INSERT IGNORE INTO likes (post_id, user_id)
+    SELECT id, 1 FROM posts WHERE RAND() < 0.05;
+
+    UPDATE posts SET reply_count = 0;
+    UPDATE posts p
+    JOIN (SELECT original_post_id, COUNT(*) AS cnt FROM posts WHERE type = 'REPLY' GROUP BY original_post_id) rc
+      ON rc.original_post_id = p.id
+    SET p.reply_count = rc.cnt;
+    ANALYZE TABLE posts, likes;
+END //
+
+-- 두 방식을 각각 runs회 실행하고 평균 시간을 기록합니다. (전체 피드 첫 페이지 20건 기준)
+DROP PROCEDURE IF EXISTS run_base_select_bench //
+CREATE PROCEDURE run_base_select_bench(IN runs INT)
+BEGIN
+    DECLARE i INT DEFAULT 0;
+    DECLARE started DATETIME(6);
+    DECLARE total BIGINT DEFAULT 0;
+    DECLARE rows_now INT;
+    DECLARE dummy BIGINT;
+    SELECT COUNT(*) INTO rows_now FROM posts;
+
+    -- 기존: 행마다 좋아요 여부 2회 + 답글 수 2회 상관 서브쿼리 (original_post_id 인덱스 없음)
+    ALTER TABLE posts DROP KEY idx_posts_original;
+    SET i = 0, total = 0;
+    WHILE i < runs DO
+        SET started = NOW(6);
+        SELECT SUM(is_liked + reply_count + IFNULL(op_is_liked, 0) + IFNULL(op_reply_count, 0)) INTO dummy FROM (
+            SELECT p.id,
+                   (SELECT COUNT(*) FROM likes WHERE post_id = p.id AND user_id = 1) > 0 AS is_liked,
+                   (SELECT COUNT(*) FROM posts WHERE original_post_id = p.id AND type = 'REPLY') AS reply_count,
+                   (SELECT COUNT(*) FROM likes WHERE post_id = op.id AND user_id = 1) > 0 AS op_is_liked,
+                   (SELECT COUNT(*) FROM posts WHERE original_post_id = op.id AND type = 'REPLY') AS op_reply_count
+            FROM (SELECT id FROM posts WHERE type != 'REPLY' ORDER BY created_at DESC, id DESC LIMIT 20) page
+            JOIN posts p ON p.id = page.id
+            JOIN users u ON p.user_id = u.id
+            LEFT JOIN posts op ON p.original_post_id = op.id
+        ) old_page;
+        SET total = total + TIMESTAMPDIFF(MICROSECOND, started, NOW(6));
+        SET i = i + 1;
+    END WHILE;
+    INSERT INTO bench_results VALUES (rows_now, 'old_subqueries', total DIV runs);
+    ALTER TABLE posts ADD KEY idx_posts_original (original_post_id, type);
+
+    -- 신규: reply_count 컬럼을 그대로 읽고, 좋아요 여부는 페이지 ID로 한 번만 조회 (PostDAO.applyLikedState)
+    SET i = 0, total = 0;
+    WHILE i < runs DO
+        SET started = NOW(6);
+        DROP TEMPORARY TABLE IF EXISTS page_ids;
+        CREATE TEMPORARY TABLE page_ids AS
+            SELECT p.id, p.reply_count, op.id AS op_id, op.reply_count AS op_reply_count
+            FROM (SELECT id FROM posts WHERE type != 'REPLY' ORDER BY created_at DESC, id DESC LIMIT 20) page
+            JOIN posts p ON p.id = page.id
+            JOIN users u ON p.user_id = u.id
+            LEFT JOIN posts op ON p.original_post_id = op.id;
+        SELECT COUNT(*) INTO dummy FROM likes
+        WHERE user_id = 1 AND post_id IN (SELECT id FROM page_ids UNION SELECT op_id FROM page_ids WHERE op_id IS NOT NULL);
+        SET total = total + TIMESTAMPDIFF(MICROSECOND, started, NOW(6));
+        SET i = i + 1;
+    END WHILE;
+    INSERT INTO bench_results VALUES (rows_now, 'reply_count_batched', total DIV runs);
+END //
+
+DELIMITER ;
+
+CALL grow_posts(10000);
+CALL run_base_select_bench(20);
+CALL grow_posts(100000);
+CALL run_base_select_bench(10);
+CALL grow_posts(1000000);
+CALL run_base_select_bench(3);
+
+SELECT posts_rows, query_name, avg_micros FROM bench_results ORDER BY query_name, posts_rows;
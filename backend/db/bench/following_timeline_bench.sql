@@ -0,0 +1,127 @@
+-- 팔로우 타임라인 쿼리 벤치마크
+--
+-- posts 테이블을 1만 -> 10만 -> 100만 -> 300만 행으로 키우면서
+-- 기존 쿼리(LEFT JOIN follows ... OR ... DISTINCT)와 새 페이지 쿼리(작성자별 LATERAL 범위 조회)의
+-- 평균 실행 시간(마이크로초)을 비교합니다.
+--
+-- 실행: mysql -u root -p < db/bench/following_timeline_bench.sql
+-- 주의: saesori_db의 스키마(마이그레이션 포함)를 복사해 별도의 saesori_bench 스키마에서 실행합니다.
+
+CREATE DATABASE IF NOT EXISTS saesori_bench CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
+USE saesori_bench;
+
+DROP TABLE IF EXISTS likes, follows, posts, users;
+CREATE TABLE users LIKE saesori_db.users;
+CREATE TABLE posts LIKE saesori_db.posts;
+CREATE TABLE follows LIKE saesori_db.follows;
+CREATE TABLE likes LIKE saesori_db.likes;
+
+SET SESSION cte_max_recursion_depth = 1000000;
+
+-- 사용자 1,000명, 벤치마크 사용자(id=1)는 200명을 팔로우
+INSERT INTO users (id, handle, password, nickname)
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000)
+SELECT n, CONCAT('bench', n), 'x', CONCAT('bench', n) FROM seq;
+
+INSERT INTO follows (follower_id, following_id)
+WITH RECURSIVE seq(n) AS (SELECT 2 UNION ALL SELECT n + 1 FROM seq WHERE n < 201)
+SELECT 1, n FROM seq;
+
+DROP TABLE IF EXISTS bench_results;
+CREATE TABLE bench_results (
+    posts_rows INT,
+    query_name VARCHAR(20),
+    avg_micros BIGINT
+);
+
+DELIMITER //
+
+-- posts를 target_rows 행이 될 때까지 채웁니다. 작성자는 균등 분포, 약 20%는 답글입니다.
+DROP PROCEDURE IF EXISTS grow_posts //
+CREATE PROCEDURE grow_posts(IN target_rows INT)
+BEGIN
+    DECLARE cur INT;
+    DECLARE batch INT;
+    SELECT COUNT(*) INTO cur FROM posts;
+    WHILE cur < target_rows DO
+        SET batch = LEAST(100000, target_rows - cur);
+        INSERT INTO posts (user_id, content, created_at, type, original_post_id)
+        WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < batch)
+        SELECT 1 + FLOOR(RAND() * 1000), 'bench',
+               NOW() - INTERVAL FLOOR(RAND() * 31536000) SECOND,
+               IF(RAND() < 0.2, 'REPLY', 'ORIGINAL'), 0
+        FROM seq;
+        SET cur = cur + batch;
+    END WHILE;
+    ANALYZE TABLE posts;
+END //
+
+-- 두 쿼리를 각각 runs회 실행하고 평균 시간을 기록합니다. (결과 행 수는 첫 페이지 20건 기준)
+DROP PROCEDURE IF EXISTS run_timeline_bench //
+CREATE PROCEDURE run_timeline_bench(IN runs INT)
+BEGIN
+    DECLARE i INT DEFAULT 0;
+    DECLARE started DATETIME(6);
+    DECLARE total BIGINT DEFAULT 0;
+    DECLARE rows_now INT;
+    DECLARE dummy INT;
+    SELECT COUNT(*) INTO rows_now FROM posts;
+
+    -- 기존: OR 조건 + DISTINCT, LIMIT 없음 (애플리케이션은 전체 결과를 읽었음)
+    SET i = 0, total = 0;
+    WHILE i < runs DO
+        SET started = NOW(6);
+        SELECT COUNT(*) INTO dummy FROM (
+            SELECT DISTINCT p.id, p.created_at FROM posts p
+            LEFT JOIN follows f ON p.user_id = f.following_id AND f.follower_id = 1
+            WHERE (f.follower_id = 1 OR p.user_id = 1) AND p.type != 'REPLY'
+            ORDER BY p.created_at DESC
+        ) old_feed;
+        SET total = total + TIMESTAMPDIFF(MICROSECOND, started, NOW(6));
+        SET i = i + 1;
+    END WHILE;
+    INSERT INTO bench_results VALUES (rows_now, 'old_or_join', total DIV runs);
+
+    -- 신규: 작성자별 LATERAL 키셋 범위 조회 (PostDAO.FOLLOWING_PAGE_IDS와 동일)
+    SET i = 0, total = 0;
+    WHILE i < runs DO
+        SET started = NOW(6);
+        SELECT COUNT(*) INTO dummy FROM (
+            SELECT t.id, t.created_at FROM (
+                SELECT following_id AS author_id FROM follows WHERE follower_id = 1
+                UNION SELECT 1
+            ) authors, LATERAL (
+                SELECT id, created_at FROM posts WHERE user_id = authors.author_id AND type != 'REPLY'
+                AND (created_at < '9999-12-31 23:59:59' OR (created_at = '9999-12-31 23:59:59' AND id < 2147483647))
+                ORDER BY created_at DESC, id DESC LIMIT 21
+            ) t ORDER BY t.created_at DESC, t.id DESC LIMIT 21
+        ) new_feed;
+        SET total = total + TIMESTAMPDIFF(MICROSECOND, started, NOW(6));
+        SET i = i + 1;
+    END WHILE;
+    INSERT INTO bench_results VALUES (rows_now, 'keyset_lateral', total DIV runs);
+END //
+
+DELIMITER ;
+
+CALL grow_posts(10000);
+CALL run_timeline_bench(20);
+CALL grow_posts(100000);
+CALL run_timeline_bench(20);
+CALL grow_posts(1000000);
+CALL run_timeline_bench(5);
+CALL grow_posts(3000000);
+CALL run_timeline_bench(5);
+
+-- 실행 계획 확인: 신규 쿼리는 작성자마다 idx_posts_user_created 범위 조회여야 합니다.
+EXPLAIN FORMAT=TREE
+SELECT t.id, t.created_at FROM (
+    SELECT following_id AS author_id FROM follows WHERE follower_id = 1
+    UNION SELECT 1
+) authors, LATERAL (
+    SELECT id, created_at FROM posts WHERE user_id = authors.author_id AND type != 'REPLY'
+    AND (created_at < '9999-12-31 23:59:59' OR (created_at = '9999-12-31 23:59:59' AND id < 2147483647))
+    ORDER BY created_at DESC, id DESC LIMIT 21
+) t ORDER BY t.created_at DESC, t.id DESC LIMIT 21;
+
+SELECT posts_rows, query_name, avg_micros FROM bench_results ORDER BY query_name, posts_rows;
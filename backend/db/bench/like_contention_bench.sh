@@ -0,0 +1,50 @@
+#!/bin/sh
+# 인기 게시글 좋아요 경합 벤치마크 (mysqlslap)
+#
+# 동시 접속 1,000개가 같은 게시글(id=1)에 좋아요를 누를 때,
+#   - before: 한 트랜잭션에서 likes INSERT + posts.like_count UPDATE (기존 LikeDAO)
+#   - after : likes INSERT만 커밋하고, like_count는 200ms마다 한 번 UPDATE (LikeCountBuffer)
+# 의 처리 시간을 비교합니다. 기존 방식은 posts 행 잠금을 커밋까지 잡고 있어 요청이 한 줄로 늘어섭니다.
+#
+# 실행: MYSQL_PWD=... sh db/bench/like_contention_bench.sh [접속 수] [접속당 반복 수]
+# 주의: max_connections가 접속 수보다 커야 합니다. saesori_db의 스키마를 복사해 saesori_bench 스키마에서 실행합니다.
+#       (CREATE TABLE LIKE는 외래 키를 복사하지 않으므로 users 행 없이 likes에 넣을 수 있습니다.)
+
+CONCURRENCY=${1:-1000}
+ITERATIONS=${2:-5}
+MYSQL="mysql -u ${MYSQL_USER:-root} saesori_bench"
+SLAP="mysqlslap -u ${MYSQL_USER:-root} --create-schema=saesori_bench --concurrency=$CONCURRENCY --iterations=$ITERATIONS --number-of-queries=$((CONCURRENCY * 20)) --delimiter=;"
+
+mysql -u "${MYSQL_USER:-root}" <<'SQL'
+CREATE DATABASE IF NOT EXISTS saesori_bench CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
+USE saesori_bench;
+DROP TABLE IF EXISTS likes, posts;
+CREATE TABLE posts LIKE saesori_db.posts;
+CREATE TABLE likes LIKE saesori_db.likes;
+INSERT INTO posts (id, user_id, content) VALUES (1, 1, 'hot post');
+SQL
+
+# 좋아요 한 번 = 임의 사용자(1~1,000,000)의 likes 행 추가
+LIKE_ROW="INSERT IGNORE INTO likes (post_id, user_id) VALUES (1, FLOOR(1 + RAND() * 1000000))"
+
+echo "== before: likes INSERT + like_count UPDATE (한 트랜잭션) =="
+$SLAP --query="START TRANSACTION;$LIKE_ROW;UPDATE posts SET like_count = like_count + 1 WHERE id = 1;COMMIT"
+
+$MYSQL -e "TRUNCATE likes; UPDATE posts SET like_count = 0 WHERE id = 1"
+
+echo "== after: likes INSERT만 커밋 + 200ms마다 like_count 일괄 반영 =="
+rm -f /tmp/like_bench_done
+(
+    while [ ! -f /tmp/like_bench_done ]; do
+        $MYSQL -e "UPDATE posts SET like_count = (SELECT COUNT(*) FROM likes WHERE post_id = 1) WHERE id = 1"
+        sleep 0.2
+    done
+) &
+FLUSHER=$!
+$SLAP --query="$LIKE_ROW"
+touch /tmp/like_bench_done
+wait $FLUSHER
+rm -f /tmp/like_bench_done
+
+# 마지막 반영 후 like_count와 likes 행 수가 같아야 합니다.
+$MYSQL -e "SELECT p.like_count, (SELECT COUNT(*) FROM likes WHERE post_id = 1) AS likes_rows FROM posts p WHERE p.id = 1"
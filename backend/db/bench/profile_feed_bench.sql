@@ -0,0 +1,124 @@
+-- 프로필 게시글(/api/posts/user/{userId}) 쿼리 벤치마크
+--
+-- 게시글 1만 / 5만 건을 가진 사용자의 프로필을 기존 쿼리(전체 조회 + 정렬)와
+-- 새 페이지 쿼리(idx_posts_user_created 역순 범위 조회, 첫 페이지 / 중간 페이지)로 각각 runs회 실행하고
+-- 실행 시간(마이크로초)의 p50 / p99를 비교합니다.
+-- 첫 페이지는 애플리케이션에서 ProfileFeedCache 적중 시 이 쿼리조차 실행하지 않습니다. (/api/metrics 의 profileFeedCache.hitRatio)
+--
+-- 실행: mysql -u root -p < db/bench/profile_feed_bench.sql
+-- 주의: saesori_db의 스키마(마이그레이션 포함)를 복사해 별도의 saesori_bench 스키마에서 실행합니다.
+
+CREATE DATABASE IF NOT EXISTS saesori_bench CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
+USE saesori_bench;
+
+DROP TABLE IF EXISTS likes, follows, posts, users;
+CREATE TABLE users LIKE saesori_db.users;
+CREATE TABLE posts LIKE saesori_db.posts;
+
+SET SESSION cte_max_recursion_depth = 1000000;
+
+-- 사용자 1,000명. 1번은 게시글 1만 건, 2번은 5만 건, 나머지는 합쳐서 50만 건 (약 20%는 답글)
+INSERT INTO users (id, handle, password, nickname)
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000)
+SELECT n, CONCAT('bench', n), 'x', CONCAT('bench', n) FROM seq;
+
+INSERT INTO posts (user_id, content, created_at, type, original_post_id)
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 10000)
+SELECT 1, 'bench', NOW() - INTERVAL FLOOR(RAND() * 31536000) SECOND, IF(RAND() < 0.2, 'REPLY', 'ORIGINAL'), 0 FROM seq;
+
+INSERT INTO posts (user_id, content, created_at, type, original_post_id)
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 50000)
+SELECT 2, 'bench', NOW() - INTERVAL FLOOR(RAND() * 31536000) SECOND, IF(RAND() < 0.2, 'REPLY', 'ORIGINAL'), 0 FROM seq;
+
+INSERT INTO posts (user_id, content, created_at, type, original_post_id)
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 500000)
+SELECT 3 + FLOOR(RAND() * 998), 'bench', NOW() - INTERVAL FLOOR(RAND() * 31536000) SECOND,
+       IF(RAND() < 0.2, 'REPLY', 'ORIGINAL'), 0 FROM seq;
+
+ANALYZE TABLE posts;
+
+DROP TABLE IF EXISTS bench_samples;
+CREATE TABLE bench_samples (
+    user_id INT,
+    query_name VARCHAR(20),
+    micros BIGINT
+);
+
+DELIMITER //
+
+DROP PROCEDURE IF EXISTS run_profile_bench //
+CREATE PROCEDURE run_profile_bench(IN target_user INT, IN runs INT)
+BEGIN
+    DECLARE i INT DEFAULT 0;
+    DECLARE started DATETIME(6);
+    DECLARE dummy INT;
+    DECLARE mid_at DATETIME;
+    DECLARE mid_id INT;
+
+    -- 중간 페이지 커서: 게시글의 절반 지점
+    SELECT created_at, id INTO mid_at, mid_id FROM posts
+    WHERE user_id = target_user AND type != 'REPLY'
+    ORDER BY created_at DESC, id DESC
+    LIMIT 1 OFFSET 4000;
+
+    -- 기존: 전체 게시글 조회 + 정렬 (애플리케이션은 전체 결과를 읽었음)
+    SET i = 0;
+    WHILE i < runs DO
+        SET started = NOW(6);
+        SELECT COUNT(*) INTO dummy FROM (
+            SELECT id, created_at FROM posts WHERE user_id = target_user AND type != 'REPLY' ORDER BY created_at DESC
+        ) old_profile;
+        INSERT INTO bench_samples VALUES (target_user, 'old_all', TIMESTAMPDIFF(MICROSECOND, started, NOW(6)));
+        SET i = i + 1;
+    END WHILE;
+
+    -- 신규 첫 페이지 (PostDAO.USER_PAGE_IDS, limit 20 + 1)
+    SET i = 0;
+    WHILE i < runs DO
+        SET started = NOW(6);
+        SELECT COUNT(*) INTO dummy FROM (
+            SELECT id, created_at FROM posts WHERE user_id = target_user AND type != 'REPLY'
+            AND (created_at < '9999-12-31 23:59:59' OR (created_at = '9999-12-31 23:59:59' AND id < 2147483647))
+            ORDER BY created_at DESC, id DESC LIMIT 21
+        ) first_page;
+        INSERT INTO bench_samples VALUES (target_user, 'keyset_first', TIMESTAMPDIFF(MICROSECOND, started, NOW(6)));
+        SET i = i + 1;
+    END WHILE;
+
+    -- 신규 중간 페이지
+    SET i = 0;
+    WHILE i < runs DO
+        SET started = NOW(6);
+        SELECT COUNT(*) INTO dummy FROM (
+            SELECT id, created_at FROM posts WHERE user_id = target_user AND type != 'REPLY'
+            AND (created_at < mid_at OR (created_at = mid_at AND id < mid_id))
+            ORDER BY created_at DESC, id DESC LIMIT 21
+        ) mid_page;
+        INSERT INTO bench_samples VALUES (target_user, 'keyset_middle', TIMESTAMPDIFF(MICROSECOND, started, NOW(6)));
+        SET i = i + 1;
+    END WHILE;
+END //
+
+DELIMITER ;
+
+CALL run_profile_bench(1, 200);
+CALL run_profile_bench(2, 200);
+
+-- 실행 계획 확인: 신규 쿼리는 idx_posts_user_created 역순 범위 조회여야 하고 filesort가 없어야 합니다.
+EXPLAIN FORMAT=TREE
+SELECT id, created_at FROM posts WHERE user_id = 2 AND type != 'REPLY'
+AND (created_at < '9999-12-31 23:59:59' OR (created_at = '9999-12-31 23:59:59' AND id < 2147483647))
+ORDER BY created_at DESC, id DESC LIMIT 21;
+
+-- p50 / p99 (마이크로초)
+SELECT user_id, query_name,
+       MAX(CASE WHEN pct <= 0.50 THEN micros END) AS p50_micros,
+       MAX(CASE WHEN pct <= 0.99 THEN micros END) AS p99_micros,
+       COUNT(*) AS runs
+FROM (
+    SELECT user_id, query_name, micros,
+           PERCENT_RANK() OVER (PARTITION BY user_id, query_name ORDER BY micros) AS pct
+    FROM bench_samples
+) ranked
+GROUP BY user_id, query_name
+ORDER BY user_id, query_name;
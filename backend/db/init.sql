@@ -15,6 +15,7 @@ CREATE TABLE IF NOT EXISTS users (
     posts_count INT NOT NULL DEFAULT 0,
     bio VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci,
     profile_image_url VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci,
+    timeline_pull TINYINT NOT NULL DEFAULT 0,
     UNIQUE KEY `username` (`handle`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
@@ -28,7 +29,14 @@ CREATE TABLE IF NOT EXISTS posts (
     type VARCHAR(20) COLLATE utf8mb4_unicode_ci NOT NULL DEFAULT 'ORIGINAL',
     original_post_id INT NOT NULL DEFAULT 0,
     image_url VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci,
+    reply_count INT NOT NULL DEFAULT 0,
+    root_post_id INT NOT NULL DEFAULT 0,
+    thread_path VARCHAR(3000) CHARACTER SET ascii COLLATE ascii_bin NOT NULL DEFAULT '',
     KEY `user_id` (`user_id`),
+    KEY `idx_posts_type_created` (`type`, `created_at`, `id`),
+    KEY `idx_posts_user_created` (`user_id`, `created_at`, `id`),
+    KEY `idx_posts_original` (`original_post_id`, `type`, `created_at`, `id`),
+    KEY `idx_posts_thread` (`root_post_id`, `thread_path`),
     CONSTRAINT `posts_ibfk_1` FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
@@ -67,12 +75,27 @@ CREATE TABLE IF NOT EXISTS user_birds (
 CREATE TABLE IF NOT EXISTS likes (
     post_id INT NOT NULL,
     user_id INT NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     PRIMARY KEY (post_id, user_id),
     KEY `user_id` (`user_id`),
+    KEY `idx_likes_post_created` (`post_id`, `created_at`, `user_id`),
     CONSTRAINT `likes_ibfk_1` FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     CONSTRAINT `likes_ibfk_2` FOREIGN KEY (post_id) REFERENCES posts(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Table: timeline_entries (팔로우 타임라인 인박스, timeline.mode=push 에서 사용)
+CREATE TABLE IF NOT EXISTS timeline_entries (
+    user_id INT NOT NULL,
+    post_id INT NOT NULL,
+    author_id INT NOT NULL,
+    created_at DATETIME NOT NULL,
+    PRIMARY KEY (user_id, created_at, post_id),
+    KEY `idx_timeline_author` (`user_id`, `author_id`),
+    KEY `post_id` (`post_id`),
+    CONSTRAINT `timeline_entries_ibfk_1` FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT `timeline_entries_ibfk_2` FOREIGN KEY (post_id) REFERENCES posts(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- Initial bird data
 INSERT IGNORE INTO birds (id, name, description, condition_type, condition_value) VALUES
 (1, '오목눈이', '작고 귀여운 겨울 철새.', 'post_count', 1),
@@ -0,0 +1,5 @@
+-- 전체 피드 키셋 페이지네이션용 인덱스
+-- /api/posts?before={cursor} 는 유형별로 (type, created_at, id) 범위를 역순 조회합니다.
+USE saesori_db;
+
+ALTER TABLE posts ADD KEY `idx_posts_type_created` (`type`, `created_at`, `id`);
@@ -0,0 +1,5 @@
+-- 팔로우 타임라인 작성자별 키셋 범위 조회용 인덱스
+-- /api/posts/following 은 작성자마다 (user_id, created_at, id) 범위를 역순으로 LIMIT 만큼만 읽습니다.
+USE saesori_db;
+
+ALTER TABLE posts ADD KEY `idx_posts_user_created` (`user_id`, `created_at`, `id`);
@@ -0,0 +1,16 @@
+-- 팔로우 타임라인 인박스 (fan-out-on-write)
+-- app.properties 의 timeline.mode=push 일 때 게시글 작성/팔로우/언팔로우 트랜잭션에서 채워집니다.
+-- 게시글이 삭제되면 외래키 CASCADE로 인박스 항목도 함께 삭제됩니다.
+USE saesori_db;
+
+CREATE TABLE IF NOT EXISTS timeline_entries (
+    user_id INT NOT NULL,
+    post_id INT NOT NULL,
+    author_id INT NOT NULL,
+    created_at DATETIME NOT NULL,
+    PRIMARY KEY (user_id, created_at, post_id),
+    KEY `idx_timeline_author` (`user_id`, `author_id`),
+    KEY `post_id` (`post_id`),
+    CONSTRAINT `timeline_entries_ibfk_1` FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT `timeline_entries_ibfk_2` FOREIGN KEY (post_id) REFERENCES posts(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,16 @@
+-- 답글 수 비정규화
+-- 게시글 조회 시 행마다 실행하던 답글 수 서브쿼리를 posts.reply_count 컬럼으로 대체합니다.
+-- PostDAO.addReply / deletePost 가 같은 트랜잭션에서 원본 게시글의 값을 증감합니다.
+USE saesori_db;
+
+ALTER TABLE posts
+    ADD COLUMN reply_count INT NOT NULL DEFAULT 0,
+    ADD KEY `idx_posts_original` (`original_post_id`, `type`);
+
+-- 기존 답글 수 채우기
+UPDATE posts p
+JOIN (
+    SELECT original_post_id, COUNT(*) AS cnt FROM posts
+    WHERE type = 'REPLY' GROUP BY original_post_id
+) r ON r.original_post_id = p.id
+SET p.reply_count = r.cnt;
@@ -0,0 +1,37 @@
+-- 답글 스레드 구체화 경로
+-- getAncestors / getDescendants 의 재귀 CTE(original_post_id 를 따라 한 단계씩 조인)를 대체합니다.
+--   root_post_id : 답글이 속한 스레드의 루트 게시글 ID (답글이 아니면 0)
+--   thread_path  : 루트부터 부모까지의 ID를 8자리 16진수로 이어 붙인 문자열 (답글이 아니면 '')
+-- 스레드 전체/하위 트리는 (root_post_id, thread_path) 접두사 범위 조회 한 번으로, 조상은 경로의 ID로 PK 조회 한 번으로 읽습니다.
+-- thread_path 는 최대 3000자이므로 답글 깊이는 375단계(3000 / 8)까지입니다. 더 깊은 답글은 addReply 가 거부합니다. (ThreadPath.MAX_DEPTH)
+-- PostDAO.addReply 가 부모 행에서 두 값을 계산해 넣고, deletePost 가 삭제된 답글 아래 하위 트리를 분리합니다.
+USE saesori_db;
+
+ALTER TABLE posts
+    ADD COLUMN root_post_id INT NOT NULL DEFAULT 0,
+    ADD COLUMN thread_path VARCHAR(3000) CHARACTER SET ascii COLLATE ascii_bin NOT NULL DEFAULT '';
+
+-- 기존 답글 채우기 (일회성 재귀 조회)
+-- 부모가 이미 삭제된 답글은 삭제된 부모를 루트로 하는 별도 스레드로 둡니다. (deletePost 와 같은 규칙)
+UPDATE posts p
+JOIN (
+    WITH RECURSIVE t (id, root_id, path) AS (
+        SELECT x.id,
+               IF(x.type = 'REPLY', x.original_post_id, x.id),
+               CAST(IF(x.type = 'REPLY', LPAD(HEX(x.original_post_id), 8, '0'), '') AS CHAR(3000) CHARACTER SET ascii)
+        FROM posts x
+        WHERE x.type != 'REPLY'
+           OR NOT EXISTS (SELECT 1 FROM posts parent WHERE parent.id = x.original_post_id)
+        UNION ALL
+        SELECT c.id, t.root_id, CONCAT(t.path, LPAD(HEX(t.id), 8, '0'))
+        FROM posts c
+        JOIN t ON c.original_post_id = t.id
+        WHERE c.type = 'REPLY'
+    )
+    SELECT id, root_id, path FROM t
+) r ON r.id = p.id
+SET p.root_post_id = r.root_id, p.thread_path = r.path
+WHERE p.type = 'REPLY';
+
+ALTER TABLE posts
+    ADD KEY `idx_posts_thread` (`root_post_id`, `thread_path`);
@@ -0,0 +1,8 @@
+-- 답글 단계별 조회용 인덱스
+-- /api/posts/{id}/replies 가 게시글의 직접 답글을 작성순으로 limit개씩 읽을 때
+-- 답글이 아무리 많아도 정렬 없이 커서 위치부터 범위 조회하도록 (created_at, id)를 덧붙입니다.
+USE saesori_db;
+
+ALTER TABLE posts
+    DROP KEY `idx_posts_original`,
+    ADD KEY `idx_posts_original` (`original_post_id`, `type`, `created_at`, `id`);
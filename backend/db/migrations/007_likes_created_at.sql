@@ -0,0 +1,9 @@
+-- 좋아요 시각
+-- /api/posts/{id}/likes 가 좋아요를 누른 사용자를 최근 순으로 limit명씩 읽도록 likes.created_at을 추가하고,
+-- 게시글별 (created_at, user_id) 역순 범위 조회용 인덱스를 만듭니다.
+-- 기존 행의 시각은 알 수 없으므로 마이그레이션 시각으로 채워지며, 같은 시각끼리는 user_id 역순으로 나옵니다.
+USE saesori_db;
+
+ALTER TABLE likes
+    ADD COLUMN created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ADD KEY `idx_likes_post_created` (`post_id`, `created_at`, `user_id`);
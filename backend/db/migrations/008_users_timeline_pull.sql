@@ -0,0 +1,7 @@
+-- pull 대상 작성자 표시 (hybrid push/pull)
+-- 팔로워 수가 timeline.pullThreshold 이상인 상태에서 글을 쓰거나 팔로우를 받으면 1로 바뀌고, 이후로는 되돌리지 않습니다.
+-- 팔로워 수가 다시 임계값 아래로 내려가도 그동안 인박스에 넣지 않은 게시글은 조회 시점에 계속 읽어야 하기 때문입니다.
+USE saesori_db;
+
+ALTER TABLE users
+    ADD COLUMN timeline_pull TINYINT NOT NULL DEFAULT 0;
@@ -0,0 +1,136 @@
+package com.Saesori.cache;
+
+import com.Saesori.util.AppConfig;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 조건부 GET(ETag)에 사용하는 콘텐츠 버전 카운터입니다.
+ * <p>
+ * 게시글 목록 구성(작성/삭제/답글/팔로우/프로필 수정), 좋아요 수, 사용자별 프로필(카운트 포함), 사용자별 게시글 목록,
+ * 사용자별 좋아요 누름, 새 도감의 변경을 각각 카운터로 기록하고, DAO가 커밋 직후 증가시킵니다. 컨트롤러는 본 조회 없이
+ * 이 값만으로 ETag를 만들 수 있습니다.
+ * <p>
+ * 목록 페이지 버전에는 전체 좋아요 수 대신 현재 사용자의 좋아요 카운터만 넣습니다. 본인의 좋아요 여부(isLiked)는
+ * 항상 새로 받고, 다른 사용자가 바꾼 좋아요 수는 프런트엔드가 목록을 받은 뒤 /api/likes/state로 덮어씁니다.
+ * <p>
+ * 사용자별 카운터는 사용자 ID를 고정 크기 슬롯에 나눠 담습니다. 같은 슬롯의 다른 사용자 변경으로 버전이 더 자주 바뀔
+ * 수는 있지만 바뀌어야 할 때 그대로인 경우는 없으며, 메모리는 사용자 수와 무관합니다.
+ * 카운터는 메모리에만 있으므로 서버 시작 시각을 함께 넣어 재시작 전의 ETag와 겹치지 않게 합니다.
+ */
+public class ContentVersions {
+
+	private static final ContentVersions INSTANCE = new ContentVersions(
+			AppConfig.getLong("bird.catalogVersion", 1), AppConfig.getInt("etag.userSlots", 4096));
+
+	public static ContentVersions getInstance() {
+		return INSTANCE;
+	}
+
+	private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+	private final AtomicLong postSet = new AtomicLong();
+	private final AtomicLong likeCounts = new AtomicLong();
+	private final AtomicLong embedded = new AtomicLong();
+	private final AtomicLong birds;
+	private final AtomicLongArray users;
+	private final AtomicLongArray userPosts;
+	private final AtomicLongArray viewerLikes;
+
+	public ContentVersions(long birdCatalogVersion, int userSlots) {
+		this.birds = new AtomicLong(birdCatalogVersion);
+		this.users = new AtomicLongArray(Math.max(1, userSlots));
+		this.userPosts = new AtomicLongArray(Math.max(1, userSlots));
+		this.viewerLikes = new AtomicLongArray(Math.max(1, userSlots));
+	}
+
+	// --- 변경 기록 ---
+
+	/**
+	 * 게시글 목록 응답에 영향을 주는 변경 (게시글 작성/삭제, 답글, 작성자 정보, 팔로우 여부)
+	 */
+	public void postsChanged() {
+		postSet.incrementAndGet();
+	}
+
+	/**
+	 * 게시글의 좋아요 수 변경. 변경분(since) 응답의 버전에만 반영됩니다.
+	 */
+	public void likeCountsChanged() {
+		likeCounts.incrementAndGet();
+	}
+
+	/**
+	 * 사용자가 좋아요를 누르거나 취소함. 그 사용자가 보는 목록 페이지의 좋아요 여부가 바뀝니다.
+	 */
+	public void viewerLikesChanged(int userId) {
+		viewerLikes.incrementAndGet(slot(userId));
+	}
+
+	/**
+	 * 사용자 프로필 응답에 영향을 주는 변경 (프로필 수정, 팔로워/팔로잉/게시글 수)
+	 */
+	public void userChanged(int userId) {
+		users.incrementAndGet(slot(userId));
+	}
+
+	/**
+	 * 사용자의 게시글 목록(/api/posts/user/{userId})에 영향을 주는 변경 (본인 게시글 작성/리포스트/삭제, 작성자 정보, 팔로우 여부)
+	 */
+	public void userPostsChanged(int userId) {
+		userPosts.incrementAndGet(slot(userId));
+	}
+
+	/**
+	 * 다른 사용자의 리포스트/인용에 원본으로 들어간 게시글이 바뀜 (원본 삭제, 답글 수, 원본 작성자 정보).
+	 * 어느 프로필이 그 게시글을 담고 있는지 찾지 않고 모든 사용자 게시글 목록의 버전을 올립니다.
+	 */
+	public void embeddedPostsChanged() {
+		embedded.incrementAndGet();
+	}
+
+	public void birdsChanged() {
+		birds.incrementAndGet();
+	}
+
+	private int slot(int userId) {
+		return Math.floorMod(userId, users.length());
+	}
+
+	// --- 버전 ---
+
+	/**
+	 * @param viewerId 현재 사용자 ID (비로그인 시 0)
+	 */
+	public String postsVersion(int viewerId) {
+		return epoch + "." + Long.toString(postSet.get(), 36) + "." + viewerLikesVersion(viewerId);
+	}
+
+	/**
+	 * 좋아요 수 변경까지 포함한 버전. 알려진 좋아요 수와 비교해 변경분을 돌려주는 since 응답에 사용합니다.
+	 */
+	public String postsSinceVersion(int viewerId) {
+		return postsVersion(viewerId) + "." + Long.toString(likeCounts.get(), 36);
+	}
+
+	public String userVersion(int userId) {
+		return epoch + "." + Long.toString(users.get(slot(userId)), 36);
+	}
+
+	/**
+	 * @param userId   게시글 목록의 주인
+	 * @param viewerId 현재 사용자 ID (비로그인 시 0)
+	 */
+	public String userPostsVersion(int userId, int viewerId) {
+		return epoch + "." + Long.toString(userPosts.get(slot(userId)), 36) + "." + Long.toString(embedded.get(), 36)
+				+ "." + viewerLikesVersion(viewerId);
+	}
+
+	private String viewerLikesVersion(int viewerId) {
+		return viewerId > 0 ? Long.toString(viewerLikes.get(slot(viewerId)), 36) : "0";
+	}
+
+	public String birdsVersion() {
+		return epoch + "." + Long.toString(birds.get(), 36);
+	}
+}
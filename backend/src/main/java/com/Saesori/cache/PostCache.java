@@ -0,0 +1,209 @@
+package com.Saesori.cache;
+
+import com.Saesori.dto.Post;
+import com.Saesori.util.AppConfig;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 게시글 ID로 게시글을 보관하는 읽기 통과(read-through) 캐시입니다.
+ * <p>
+ * 게시글 컬럼만 저장하고(작성자 정보와 현재 사용자 상태 제외), 원본 게시글은 원본 ID로 같은 캐시에서
+ * 찾아 조회 시점에 붙입니다. 따라서 원본 게시글이 무효화되면 이를 포함한 리포스트/인용도 자동으로 최신 상태가 됩니다.
+ * <p>
+ * 항목 수(post.cacheMaxEntries)와 대략적인 메모리(post.cacheMaxBytes) 중 하나라도 넘으면 가장 오래 조회되지 않은
+ * 게시글부터 제거합니다. 게시글 삭제, 좋아요 추가/취소, 답글 추가 시 해당 게시글을 무효화합니다.
+ */
+public class PostCache {
+
+	// 객체 헤더, 필드, Timestamp, LinkedHashMap 엔트리 등의 대략적인 고정 오버헤드
+	private static final int ENTRY_OVERHEAD_BYTES = 200;
+	private static final int STRING_OVERHEAD_BYTES = 40;
+
+	private static final PostCache INSTANCE = new PostCache(
+			AppConfig.getBoolean("post.cacheEnabled", true),
+			AppConfig.getInt("post.cacheMaxEntries", 10000),
+			AppConfig.getLong("post.cacheMaxBytes", 16L * 1024 * 1024));
+
+	public static PostCache getInstance() {
+		return INSTANCE;
+	}
+
+	private final boolean enabled;
+	private final int maxEntries;
+	private final long maxBytes;
+
+	private final LinkedHashMap<Integer, Entry> posts = new LinkedHashMap<>(256, 0.75f, true);
+	private long totalBytes;
+	// 무효화할 때마다 증가. 조회 시작 후 무효화가 있었다면 읽어온 값을 캐시에 넣지 않습니다.
+	private long version;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long invalidations;
+
+	public PostCache(boolean enabled, int maxEntries, long maxBytes) {
+		this.enabled = enabled;
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 캐시된 게시글의 복사본을 반환합니다. 원본 게시글이 있는 경우 원본도 캐시에 있어야 적중으로 처리합니다.
+	 *
+	 * @return 게시글 복사본 (현재 사용자 상태는 false), 없으면 null
+	 */
+	public synchronized Post get(int postId) {
+		if (!enabled) {
+			return null;
+		}
+		Entry entry = posts.get(postId);
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		Post post = copy(entry.post);
+		if (entry.post.getOriginalPostId() > 0) {
+			Entry original = posts.get(entry.post.getOriginalPostId());
+			if (original == null && !entry.originalMissing) {
+				misses++;
+				return null;
+			}
+			post.setOriginalPost(original == null ? null : copy(original.post));
+		}
+		hits++;
+		return post;
+	}
+
+	/**
+	 * 캐시된 게시글의 좋아요 수(DB 값)를 반환합니다. 복사본을 만들지 않으므로 좋아요 응답처럼 수만 필요할 때 사용합니다.
+	 *
+	 * @return 좋아요 수, 없으면 -1
+	 */
+	public synchronized int getLikeCount(int postId) {
+		if (!enabled) {
+			return -1;
+		}
+		Entry entry = posts.get(postId);
+		if (entry == null) {
+			misses++;
+			return -1;
+		}
+		hits++;
+		return entry.post.getLikeCount();
+	}
+
+	/**
+	 * 조회를 시작하기 전에 호출해 버전을 받습니다. put에 전달하면 그 사이 무효화가 있었을 때 저장하지 않습니다.
+	 */
+	public synchronized long version() {
+		return version;
+	}
+
+	/**
+	 * DB에서 읽은 게시글(원본 게시글 포함)을 저장합니다.
+	 *
+	 * @param post    게시글
+	 * @param version 조회 시작 전에 받은 version() 값
+	 */
+	public synchronized void put(Post post, long version) {
+		if (!enabled || version != this.version) {
+			return;
+		}
+		Post original = post.getOriginalPost();
+		// 원본 ID가 있는데 원본이 없으면 삭제된 원본으로 기록
+		store(post, post.getOriginalPostId() > 0 && original == null);
+		if (original != null && !posts.containsKey(original.getId())) {
+			store(original, false);
+		}
+		evictIfNeeded();
+	}
+
+	private void store(Post post, boolean originalMissing) {
+		Post stored = copy(post);
+		stored.setOriginalPost(null);
+		Entry entry = new Entry(stored, originalMissing, estimateBytes(stored));
+		Entry old = posts.put(stored.getId(), entry);
+		if (old != null) {
+			totalBytes -= old.bytes;
+		}
+		totalBytes += entry.bytes;
+	}
+
+	public synchronized void invalidate(int postId) {
+		version++;
+		Entry removed = posts.remove(postId);
+		if (removed != null) {
+			totalBytes -= removed.bytes;
+			invalidations++;
+		}
+	}
+
+	private void evictIfNeeded() {
+		Iterator<Entry> it = posts.values().iterator();
+		while ((posts.size() > maxEntries || totalBytes > maxBytes) && it.hasNext()) {
+			Entry eldest = it.next();
+			it.remove();
+			totalBytes -= eldest.bytes;
+			evictions++;
+		}
+	}
+
+	// --- 지표 ---
+
+	public synchronized Map<String, Object> stats() {
+		long lookups = hits + misses;
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("enabled", enabled);
+		stats.put("entries", posts.size());
+		stats.put("maxEntries", maxEntries);
+		stats.put("bytes", totalBytes);
+		stats.put("maxBytes", maxBytes);
+		stats.put("hits", hits);
+		stats.put("misses", misses);
+		stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+		stats.put("evictions", evictions);
+		stats.put("invalidations", invalidations);
+		return stats;
+	}
+
+	// 문자열은 UTF-16 기준 문자당 2바이트로 계산합니다.
+	private static long estimateBytes(Post post) {
+		return ENTRY_OVERHEAD_BYTES + stringBytes(post.getContent()) + stringBytes(post.getImageUrl())
+				+ stringBytes(post.getType());
+	}
+
+	private static long stringBytes(String s) {
+		return s == null ? 0 : STRING_OVERHEAD_BYTES + 2L * s.length();
+	}
+
+	// 게시글 컬럼만 복사합니다. (작성자 정보는 UserCardCache, 현재 사용자 상태는 조회 시 채움)
+	private static Post copy(Post source) {
+		Post post = new Post(source.getId(), source.getUserId(), source.getContent(), source.getCreatedAt(),
+				source.getOriginalPostId());
+		post.setLikeCount(source.getLikeCount());
+		post.setType(source.getType());
+		post.setReplyCount(source.getReplyCount());
+		post.setImageUrl(source.getImageUrl());
+		return post;
+	}
+
+	private static final class Entry {
+		final Post post;
+		final boolean originalMissing;
+		final long bytes;
+
+		Entry(Post post, boolean originalMissing, long bytes) {
+			this.post = post;
+			this.originalMissing = originalMissing;
+			this.bytes = bytes;
+		}
+	}
+}
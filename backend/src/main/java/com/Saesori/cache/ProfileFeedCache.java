@@ -0,0 +1,145 @@
+package com.Saesori.cache;
+
+import com.Saesori.util.AppConfig;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 사용자별 프로필 게시글 첫 페이지(게시글 ID와 작성 시각)를 보관하는 캐시입니다.
+ * <p>
+ * 게시글 내용은 보관하지 않고 PostCache/DB에서 ID로 채우므로, 좋아요 수 등의 변경은 PostCache 무효화로 반영됩니다.
+ * 해당 사용자의 게시글 작성/리포스트/인용/삭제와 사용자 삭제 시 무효화합니다.
+ * 사용자 수가 profile.cacheMaxUsers를 넘으면 가장 오래 조회되지 않은 사용자부터 제거합니다.
+ */
+public class ProfileFeedCache {
+
+	private static final ProfileFeedCache INSTANCE = new ProfileFeedCache(
+			AppConfig.getBoolean("profile.cacheEnabled", true),
+			AppConfig.getInt("profile.cacheMaxUsers", 10000),
+			AppConfig.getInt("profile.cachePageSize", 20));
+
+	public static ProfileFeedCache getInstance() {
+		return INSTANCE;
+	}
+
+	private final boolean enabled;
+	private final int maxUsers;
+	private final int pageSize;
+
+	private final LinkedHashMap<Integer, FirstPage> pages = new LinkedHashMap<>(256, 0.75f, true);
+	// 무효화할 때마다 증가. 조회 시작 후 무효화가 있었다면 읽어온 값을 캐시에 넣지 않습니다.
+	private long version;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long invalidations;
+
+	public ProfileFeedCache(boolean enabled, int maxUsers, int pageSize) {
+		this.enabled = enabled;
+		this.maxUsers = maxUsers;
+		this.pageSize = pageSize;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	// 캐시하는 첫 페이지 크기. 이보다 큰 limit 요청은 캐시를 거치지 않습니다.
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * @return 캐시된 첫 페이지, 없으면 null
+	 */
+	public synchronized FirstPage get(int userId) {
+		if (!enabled) {
+			return null;
+		}
+		FirstPage page = pages.get(userId);
+		if (page == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return page;
+	}
+
+	public synchronized long version() {
+		return version;
+	}
+
+	/**
+	 * DB에서 읽은 첫 페이지를 저장합니다.
+	 *
+	 * @param ids       게시글 ID (최신순, 최대 pageSize + 1개. pageSize개를 넘으면 다음 페이지가 있음)
+	 * @param createdAt 게시글 작성 시각 (epoch millis)
+	 * @param count     유효한 개수
+	 * @param version   조회 시작 전에 받은 version() 값
+	 */
+	public synchronized void put(int userId, int[] ids, long[] createdAt, int count, long version) {
+		if (!enabled || version != this.version) {
+			return;
+		}
+		pages.put(userId, new FirstPage(Arrays.copyOf(ids, count), Arrays.copyOf(createdAt, count)));
+		Iterator<FirstPage> it = pages.values().iterator();
+		while (pages.size() > maxUsers && it.hasNext()) {
+			it.next();
+			it.remove();
+			evictions++;
+		}
+	}
+
+	public synchronized void invalidate(int userId) {
+		version++;
+		if (pages.remove(userId) != null) {
+			invalidations++;
+		}
+	}
+
+	// --- 지표 ---
+
+	public synchronized Map<String, Object> stats() {
+		long lookups = hits + misses;
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("enabled", enabled);
+		stats.put("users", pages.size());
+		stats.put("maxUsers", maxUsers);
+		stats.put("pageSize", pageSize);
+		stats.put("hits", hits);
+		stats.put("misses", misses);
+		stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+		stats.put("evictions", evictions);
+		stats.put("invalidations", invalidations);
+		return stats;
+	}
+
+	/**
+	 * 프로필 첫 페이지의 게시글 ID와 작성 시각입니다. (읽기 전용)
+	 */
+	public static final class FirstPage {
+		private final int[] ids;
+		private final long[] createdAt;
+
+		FirstPage(int[] ids, long[] createdAt) {
+			this.ids = ids;
+			this.createdAt = createdAt;
+		}
+
+		public int size() {
+			return ids.length;
+		}
+
+		public int getId(int i) {
+			return ids[i];
+		}
+
+		public long getCreatedAt(int i) {
+			return createdAt[i];
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package com.Saesori.cache;
+
+import com.Saesori.dto.User;
+import com.Saesori.util.AppConfig;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 게시글별 좋아요/리포스트 사용자 목록의 첫 페이지를 짧은 시간 동안 보관하는 캐시입니다.
+ * <p>
+ * 인기 게시글의 목록은 여러 사용자가 같은 첫 페이지를 반복해서 열기 때문에, reactions.cacheTtlMs 동안은 DB를 읽지 않습니다.
+ * 해당 게시글의 좋아요/리포스트 변경 시 무효화하고, 사용자 프로필 변경은 만료 시간만큼 늦게 반영됩니다.
+ * 게시글 수가 reactions.cacheMaxPosts를 넘으면 가장 오래 조회되지 않은 목록부터 제거합니다.
+ */
+public class ReactionUsersCache {
+
+	public enum Kind {
+		LIKES, REPOSTS
+	}
+
+	private static final ReactionUsersCache INSTANCE = new ReactionUsersCache(
+			AppConfig.getBoolean("reactions.cacheEnabled", true),
+			AppConfig.getInt("reactions.cacheMaxPosts", 2000),
+			AppConfig.getInt("reactions.cachePageSize", 20),
+			AppConfig.getLong("reactions.cacheTtlMs", 5000));
+
+	public static ReactionUsersCache getInstance() {
+		return INSTANCE;
+	}
+
+	private final boolean enabled;
+	private final int maxPosts;
+	private final int pageSize;
+	private final long ttlMillis;
+
+	// (게시글 ID << 1 | 종류) -> 첫 페이지
+	private final LinkedHashMap<Long, FirstPage> pages = new LinkedHashMap<>(256, 0.75f, true);
+	// 무효화할 때마다 증가. 조회 시작 후 무효화가 있었다면 읽어온 값을 캐시에 넣지 않습니다.
+	private long version;
+
+	private long hits;
+	private long misses;
+	private long expirations;
+	private long evictions;
+	private long invalidations;
+
+	public ReactionUsersCache(boolean enabled, int maxPosts, int pageSize, long ttlMillis) {
+		this.enabled = enabled;
+		this.maxPosts = maxPosts;
+		this.pageSize = pageSize;
+		this.ttlMillis = ttlMillis;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	// 캐시하는 첫 페이지 크기. 이보다 큰 limit 요청은 캐시를 거치지 않습니다.
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * @return 만료되지 않은 첫 페이지, 없으면 null
+	 */
+	public synchronized FirstPage get(int postId, Kind kind) {
+		if (!enabled) {
+			return null;
+		}
+		Long key = key(postId, kind);
+		FirstPage page = pages.get(key);
+		if (page != null && page.expiresAt <= System.currentTimeMillis()) {
+			pages.remove(key);
+			expirations++;
+			page = null;
+		}
+		if (page == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return page;
+	}
+
+	public synchronized long version() {
+		return version;
+	}
+
+	/**
+	 * DB에서 읽은 첫 페이지를 저장합니다.
+	 *
+	 * @param users    사용자 (최신순, 최대 pageSize + 1명. pageSize명을 넘으면 다음 페이지가 있음)
+	 * @param listedAt 좋아요/리포스트 시각 (epoch millis)
+	 * @param listedId 커서 ID (좋아요는 사용자 ID, 리포스트는 리포스트 게시글 ID)
+	 * @param version  조회 시작 전에 받은 version() 값
+	 */
+	public synchronized void put(int postId, Kind kind, List<User> users, long[] listedAt, int[] listedId,
+			long version) {
+		if (!enabled || version != this.version) {
+			return;
+		}
+		int count = users.size();
+		pages.put(key(postId, kind), new FirstPage(List.copyOf(users), Arrays.copyOf(listedAt, count),
+				Arrays.copyOf(listedId, count), System.currentTimeMillis() + ttlMillis));
+		Iterator<FirstPage> it = pages.values().iterator();
+		while (pages.size() > maxPosts && it.hasNext()) {
+			it.next();
+			it.remove();
+			evictions++;
+		}
+	}
+
+	public synchronized void invalidate(int postId, Kind kind) {
+		version++;
+		if (pages.remove(key(postId, kind)) != null) {
+			invalidations++;
+		}
+	}
+
+	private static Long key(int postId, Kind kind) {
+		return ((long) postId << 1) | kind.ordinal();
+	}
+
+	// --- 지표 ---
+
+	public synchronized Map<String, Object> stats() {
+		long lookups = hits + misses;
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("enabled", enabled);
+		stats.put("lists", pages.size());
+		stats.put("maxPosts", maxPosts);
+		stats.put("pageSize", pageSize);
+		stats.put("ttlMs", ttlMillis);
+		stats.put("hits", hits);
+		stats.put("misses", misses);
+		stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+		stats.put("expirations", expirations);
+		stats.put("evictions", evictions);
+		stats.put("invalidations", invalidations);
+		return stats;
+	}
+
+	/**
+	 * 목록 첫 페이지의 사용자와 커서 위치입니다. (읽기 전용, 사용자 객체도 수정하지 않아야 함)
+	 */
+	public static final class FirstPage {
+		private final List<User> users;
+		private final long[] listedAt;
+		private final int[] listedId;
+		private final long expiresAt;
+
+		FirstPage(List<User> users, long[] listedAt, int[] listedId, long expiresAt) {
+			this.users = users;
+			this.listedAt = listedAt;
+			this.listedId = listedId;
+			this.expiresAt = expiresAt;
+		}
+
+		public int size() {
+			return users.size();
+		}
+
+		public User getUser(int i) {
+			return users.get(i);
+		}
+
+		public long getListedAt(int i) {
+			return listedAt[i];
+		}
+
+		public int getListedId(int i) {
+			return listedId[i];
+		}
+	}
+}
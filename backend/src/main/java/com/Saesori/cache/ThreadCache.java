@@ -0,0 +1,468 @@
+package com.Saesori.cache;
+
+import com.Saesori.util.AppConfig;
+import com.Saesori.util.FeedCursor;
+import com.Saesori.util.IntHashSet;
+import com.Saesori.util.IntIntHashMap;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 스레드 루트 게시글 ID별로 답글 트리의 구조(ID, 부모, 작성 시각)만 보관하는 캐시입니다.
+ * <p>
+ * 조상/하위 답글/단계별 펼치기는 캐시의 int 배열 인접 리스트로 계산하고, 게시글 내용은 ID 목록으로 한 번에 조회합니다.
+ * 답글이 추가되면 구조 끝에 덧붙이고, 게시글이 삭제되면 그 스레드를 무효화합니다.
+ * 적재 도중의 변경은 스레드 루트별 버전으로 감지하므로 다른 스레드의 답글이 적재를 방해하지 않습니다.
+ * <p>
+ * 대략적인 메모리(thread.cacheMaxBytes)를 넘으면 가장 오래 조회되지 않은 스레드부터 제거합니다.
+ * 답글이 thread.cacheMaxNodesPerThread 보다 많은 스레드는(캐시된 뒤 답글이 늘어 넘은 경우 포함) 캐시하지 않고
+ * DB에서 단계별로 조회합니다.
+ */
+public class ThreadCache {
+
+	// 노드당 배열(ids, parent, firstChild, lastChild, nextSibling, createdAt) 28바이트 + ID 색인 2곳
+	private static final int NODE_BYTES = 28;
+	private static final int INDEX_SLOT_BYTES = 8;
+	private static final int THREAD_OVERHEAD_BYTES = 200;
+	// 루트별 버전을 나눠 담는 칸 수. 같은 칸의 다른 스레드 변경은 적재를 한 번 더 거절할 뿐입니다.
+	private static final int VERSION_SLOTS = 1024;
+
+	private static final ThreadCache INSTANCE = new ThreadCache(
+			AppConfig.getBoolean("thread.cacheEnabled", true),
+			AppConfig.getInt("thread.cacheMaxNodesPerThread", 20000),
+			AppConfig.getLong("thread.cacheMaxBytes", 16L * 1024 * 1024));
+
+	public static ThreadCache getInstance() {
+		return INSTANCE;
+	}
+
+	private final boolean enabled;
+	private final int maxNodesPerThread;
+	private final long maxBytes;
+
+	private final LinkedHashMap<Integer, ThreadTree> threads = new LinkedHashMap<>(256, 0.75f, true);
+	private final IntIntHashMap nodeRoots = new IntIntHashMap(); // 캐시된 답글 ID -> 루트 ID
+	private final IntHashSet tooLarge = new IntHashSet(); // 캐시하지 않는 큰 스레드의 루트 ID
+	private long totalBytes;
+	// 루트 ID 칸별로 답글 추가/삭제마다 증가. 적재를 시작한 뒤 그 스레드에 변경이 있었다면 읽어온 구조를 캐시에 넣지 않습니다.
+	private final long[] versions = new long[VERSION_SLOTS];
+
+	private long hits;
+	private long misses;
+	private long loads;
+	private long appends;
+	private long evictions;
+	private long invalidations;
+
+	public ThreadCache(boolean enabled, int maxNodesPerThread, long maxBytes) {
+		this.enabled = enabled;
+		this.maxNodesPerThread = maxNodesPerThread;
+		this.maxBytes = maxBytes;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public int getMaxNodesPerThread() {
+		return maxNodesPerThread;
+	}
+
+	public synchronized boolean isTooLarge(int rootId) {
+		return tooLarge.contains(rootId);
+	}
+
+	/**
+	 * 스레드 구조를 DB에서 읽기 전에 호출해 해당 스레드의 버전을 받습니다.
+	 */
+	public synchronized long version(int rootId) {
+		return versions[slot(rootId)];
+	}
+
+	private static int slot(int rootId) {
+		return Math.floorMod(rootId, VERSION_SLOTS);
+	}
+
+	/**
+	 * DB에서 읽은 스레드 구조를 저장합니다. 배열은 (작성 시각, ID) 오름차순이어야 합니다.
+	 *
+	 * @param rootId    스레드 루트 게시글 ID
+	 * @param ids       답글 ID
+	 * @param parentIds 답글의 부모 게시글 ID
+	 * @param createdAt 답글 작성 시각 (epoch millis)
+	 * @param count     유효한 답글 수. maxNodesPerThread를 넘으면 큰 스레드로 기록하고 저장하지 않습니다.
+	 * @param version   적재 시작 전에 받은 version(rootId) 값
+	 * @return 저장했으면 true
+	 */
+	public synchronized boolean put(int rootId, int[] ids, int[] parentIds, long[] createdAt, int count,
+			long version) {
+		if (!enabled || version != versions[slot(rootId)]) {
+			return false;
+		}
+		if (count > maxNodesPerThread) {
+			tooLarge.add(rootId);
+			return false;
+		}
+		remove(rootId);
+		ThreadTree thread = new ThreadTree(rootId, count + 1);
+		for (int i = 0; i < count; i++) {
+			int parent = thread.index.get(parentIds[i], -1);
+			if (parent >= 0) { // 부모를 찾을 수 없는 답글은 트리에 닿지 않으므로 제외
+				thread.add(ids[i], parent, createdAt[i]);
+				nodeRoots.put(ids[i], rootId);
+			}
+		}
+		thread.bytes = thread.estimateBytes();
+		threads.put(rootId, thread);
+		totalBytes += thread.bytes;
+		loads++;
+		evictIfNeeded();
+		return threads.containsKey(rootId);
+	}
+
+	/**
+	 * 게시글의 답글을 단계별로 펼칩니다. PostDAO.getReplyPage 의 DB 조회와 같은 규칙을 따릅니다.
+	 *
+	 * @return 펼친 결과, postId가 속한 스레드가 캐시에 없으면 null
+	 */
+	public synchronized Expansion expand(int postId, FeedCursor after, int maxDepth, int limit, int maxNodes) {
+		ThreadTree thread = find(postId);
+		if (thread == null) {
+			return null;
+		}
+		int node = thread.index.get(postId, -1);
+		Map<Integer, String> nextCursors = new HashMap<>();
+		int[] ids = new int[Math.min(Math.max(maxNodes, limit), thread.size)];
+		int count = 0;
+
+		// 1단계: 커서 이후의 직접 답글
+		int[] level = new int[limit];
+		int levelSize = 0;
+		long afterMillis = after.getCreatedAt().getTime();
+		for (int c = thread.firstChild[node]; c >= 0; c = thread.nextSibling[c]) {
+			long createdAt = thread.createdAt[c];
+			if (createdAt < afterMillis || (createdAt == afterMillis && thread.ids[c] <= after.getId())) {
+				continue;
+			}
+			if (levelSize == limit) {
+				nextCursors.put(postId, thread.cursor(level[limit - 1]));
+				break;
+			}
+			level[levelSize++] = c;
+		}
+
+		for (int depth = 1; levelSize > 0; depth++) {
+			for (int i = 0; i < levelSize; i++) {
+				ids[count++] = thread.ids[level[i]];
+			}
+			int[] parents = new int[levelSize];
+			int parentCount = 0;
+			for (int i = 0; i < levelSize; i++) {
+				int n = level[i];
+				if (thread.firstChild[n] < 0) {
+					continue;
+				}
+				if (depth < maxDepth && count + (parentCount + 1) * limit <= maxNodes) {
+					parents[parentCount++] = n;
+				} else {
+					nextCursors.put(thread.ids[n], "");
+				}
+			}
+			// 다음 단계: 부모마다 처음부터 limit개
+			int[] next = new int[parentCount * limit];
+			int nextSize = 0;
+			for (int p = 0; p < parentCount; p++) {
+				int taken = 0;
+				for (int c = thread.firstChild[parents[p]]; c >= 0; c = thread.nextSibling[c]) {
+					if (taken == limit) {
+						nextCursors.put(thread.ids[parents[p]], thread.cursor(next[nextSize - 1]));
+						break;
+					}
+					next[nextSize++] = c;
+					taken++;
+				}
+			}
+			level = next;
+			levelSize = nextSize;
+		}
+		hits++;
+		return new Expansion(Arrays.copyOf(ids, count), nextCursors);
+	}
+
+	/**
+	 * 게시글 아래의 모든 답글 ID를 깊이순, 같은 깊이에서는 작성순으로 반환합니다.
+	 *
+	 * @return 답글 ID, 스레드가 캐시에 없으면 null
+	 */
+	public synchronized int[] descendants(int postId) {
+		ThreadTree thread = find(postId);
+		if (thread == null) {
+			return null;
+		}
+		int[] result = new int[thread.size];
+		int count = 0;
+		int[] level = { thread.index.get(postId, -1) };
+		int levelSize = 1;
+		while (levelSize > 0) {
+			int[] next = new int[thread.size];
+			int nextSize = 0;
+			for (int i = 0; i < levelSize; i++) {
+				for (int c = thread.firstChild[level[i]]; c >= 0; c = thread.nextSibling[c]) {
+					next[nextSize++] = c;
+				}
+			}
+			// 노드 번호가 (작성 시각, ID) 순서이므로 번호 정렬이 곧 작성순 정렬입니다.
+			Arrays.sort(next, 0, nextSize);
+			for (int i = 0; i < nextSize; i++) {
+				result[count++] = thread.ids[next[i]];
+			}
+			level = next;
+			levelSize = nextSize;
+		}
+		hits++;
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * 게시글의 조상 ID를 스레드 루트부터 부모까지 순서대로 반환합니다.
+	 *
+	 * @return 조상 ID, 스레드가 캐시에 없으면 null
+	 */
+	public synchronized int[] ancestors(int postId) {
+		ThreadTree thread = find(postId);
+		if (thread == null) {
+			return null;
+		}
+		int depth = 0;
+		int node = thread.index.get(postId, -1);
+		for (int n = thread.parent[node]; n >= 0; n = thread.parent[n]) {
+			depth++;
+		}
+		int[] result = new int[depth];
+		for (int n = thread.parent[node]; n >= 0; n = thread.parent[n]) {
+			result[--depth] = thread.ids[n];
+		}
+		hits++;
+		return result;
+	}
+
+	private ThreadTree find(int postId) {
+		if (!enabled) {
+			return null;
+		}
+		ThreadTree thread = threads.get(postId);
+		if (thread == null) {
+			int rootId = nodeRoots.get(postId, 0);
+			thread = rootId > 0 ? threads.get(rootId) : null;
+		}
+		if (thread == null) {
+			misses++;
+		}
+		return thread;
+	}
+
+	// --- 변경 반영 ---
+
+	/**
+	 * 답글 추가 후 호출합니다. 스레드가 캐시되어 있으면 구조 끝에 덧붙입니다.
+	 * 먼저 커밋된 더 최근 답글이 이미 있다면(작성순이 어긋나면) 스레드를 무효화하고,
+	 * 답글 수가 maxNodesPerThread를 넘게 되면 스레드를 제거하고 큰 스레드로 기록합니다.
+	 */
+	public synchronized void onReplyAdded(int rootId, int replyId, int parentId, long createdAt) {
+		versions[slot(rootId)]++;
+		ThreadTree thread = threads.get(rootId);
+		if (thread == null) {
+			return;
+		}
+		if (thread.size - 1 >= maxNodesPerThread) {
+			remove(rootId);
+			tooLarge.add(rootId);
+			invalidations++;
+			return;
+		}
+		int parent = thread.index.get(parentId, -1);
+		int last = thread.size - 1;
+		if (parent < 0 || (last > 0 && (thread.createdAt[last] > createdAt
+				|| (thread.createdAt[last] == createdAt && thread.ids[last] > replyId)))) {
+			remove(rootId);
+			invalidations++;
+			return;
+		}
+		thread.add(replyId, parent, createdAt);
+		nodeRoots.put(replyId, rootId);
+		long bytes = thread.estimateBytes();
+		totalBytes += bytes - thread.bytes;
+		thread.bytes = bytes;
+		appends++;
+		evictIfNeeded();
+	}
+
+	/**
+	 * 게시글 삭제 후 호출합니다. 게시글이 속한 스레드와 게시글을 루트로 하는 스레드를 무효화합니다.
+	 *
+	 * @param rootId 답글이면 스레드 루트 ID, 아니면 0
+	 */
+	public synchronized void onPostDeleted(int postId, int rootId) {
+		versions[slot(postId)]++;
+		if (rootId > 0) {
+			versions[slot(rootId)]++;
+		}
+		if (rootId > 0 && remove(rootId)) {
+			invalidations++;
+		}
+		if (remove(postId)) {
+			invalidations++;
+		}
+		tooLarge.remove(postId);
+	}
+
+	private boolean remove(int rootId) {
+		ThreadTree thread = threads.remove(rootId);
+		if (thread == null) {
+			return false;
+		}
+		for (int i = 1; i < thread.size; i++) {
+			nodeRoots.remove(thread.ids[i]);
+		}
+		totalBytes -= thread.bytes;
+		return true;
+	}
+
+	private void evictIfNeeded() {
+		Iterator<ThreadTree> it = threads.values().iterator();
+		while (totalBytes > maxBytes && it.hasNext()) {
+			ThreadTree eldest = it.next();
+			it.remove();
+			for (int i = 1; i < eldest.size; i++) {
+				nodeRoots.remove(eldest.ids[i]);
+			}
+			totalBytes -= eldest.bytes;
+			evictions++;
+		}
+	}
+
+	// --- 지표 ---
+
+	public synchronized Map<String, Object> stats() {
+		long lookups = hits + misses;
+		long nodes = 0;
+		for (ThreadTree thread : threads.values()) {
+			nodes += thread.size - 1;
+		}
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("enabled", enabled);
+		stats.put("threads", threads.size());
+		stats.put("replies", nodes);
+		stats.put("bytes", totalBytes);
+		stats.put("maxBytes", maxBytes);
+		stats.put("hits", hits);
+		stats.put("misses", misses);
+		stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+		stats.put("loads", loads);
+		stats.put("appends", appends);
+		stats.put("evictions", evictions);
+		stats.put("invalidations", invalidations);
+		stats.put("tooLargeThreads", tooLarge.size());
+		return stats;
+	}
+
+	/**
+	 * 펼친 답글 ID(단계순)와 답글이 더 있는 게시글의 이어서 조회할 커서입니다.
+	 */
+	public static final class Expansion {
+		private final int[] ids;
+		private final Map<Integer, String> nextCursors;
+
+		Expansion(int[] ids, Map<Integer, String> nextCursors) {
+			this.ids = ids;
+			this.nextCursors = nextCursors;
+		}
+
+		public int[] getIds() {
+			return ids;
+		}
+
+		public Map<Integer, String> getNextCursors() {
+			return nextCursors;
+		}
+	}
+
+	/**
+	 * 스레드 하나의 구조입니다. 0번 노드가 루트이고, 노드 번호는 (작성 시각, ID) 오름차순입니다.
+	 * 자식 목록은 firstChild / nextSibling 연결로, 덧붙이기는 lastChild로 처리합니다.
+	 */
+	private static final class ThreadTree {
+		int size;
+		int[] ids;
+		int[] parent;
+		int[] firstChild;
+		int[] lastChild;
+		int[] nextSibling;
+		long[] createdAt;
+		final IntIntHashMap index; // 게시글 ID -> 노드 번호
+		long bytes;
+
+		ThreadTree(int rootId, int capacity) {
+			ids = new int[capacity];
+			parent = new int[capacity];
+			firstChild = new int[capacity];
+			lastChild = new int[capacity];
+			nextSibling = new int[capacity];
+			createdAt = new long[capacity];
+			index = new IntIntHashMap(capacity);
+			ids[0] = rootId;
+			parent[0] = -1;
+			firstChild[0] = -1;
+			lastChild[0] = -1;
+			nextSibling[0] = -1;
+			createdAt[0] = Long.MIN_VALUE;
+			index.put(rootId, 0);
+			size = 1;
+		}
+
+		void add(int id, int parentNode, long created) {
+			if (size == ids.length) {
+				grow();
+			}
+			int n = size++;
+			ids[n] = id;
+			parent[n] = parentNode;
+			firstChild[n] = -1;
+			lastChild[n] = -1;
+			nextSibling[n] = -1;
+			createdAt[n] = created;
+			if (lastChild[parentNode] < 0) {
+				firstChild[parentNode] = n;
+			} else {
+				nextSibling[lastChild[parentNode]] = n;
+			}
+			lastChild[parentNode] = n;
+			index.put(id, n);
+		}
+
+		private void grow() {
+			int capacity = ids.length + (ids.length >> 1) + 1;
+			ids = Arrays.copyOf(ids, capacity);
+			parent = Arrays.copyOf(parent, capacity);
+			firstChild = Arrays.copyOf(firstChild, capacity);
+			lastChild = Arrays.copyOf(lastChild, capacity);
+			nextSibling = Arrays.copyOf(nextSibling, capacity);
+			createdAt = Arrays.copyOf(createdAt, capacity);
+		}
+
+		String cursor(int node) {
+			return new FeedCursor(new Timestamp(createdAt[node]), ids[node]).encode();
+		}
+
+		long estimateBytes() {
+			// 전역 nodeRoots 색인도 노드당 한 칸씩 차지합니다.
+			return THREAD_OVERHEAD_BYTES + (long) ids.length * NODE_BYTES
+					+ (long) (index.capacity() + size) * INDEX_SLOT_BYTES;
+		}
+	}
+}
@@ -0,0 +1,589 @@
+package com.Saesori.cache;
+
+import com.Saesori.util.AppConfig;
+import com.Saesori.util.FeedCursor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 팔로우 타임라인(게시글 ID 목록)을 메모리에 보관하는 캐시입니다.
+ * <p>
+ * 사용자마다 최신순 링 버퍼를 두고 게시글 ID/작성자 ID는 int[], 작성 시각은 long[]으로 저장합니다.
+ * (항목당 16바이트) 전체 메모리 사용량이 timeline.cacheMaxBytes를 넘으면 가장 오래 조회되지 않은 사용자부터
+ * 통째로 제거합니다. 게시글 작성/삭제, 팔로우/언팔로우 시 PostDAO/FollowDAO가 변경 사항을 바로 반영합니다.
+ * <p>
+ * 사용자는 ID로 timeline.cacheStripes 개의 구역에 나뉘고, 구역마다 잠금과 LRU 목록, 메모리 한도(전체의 1/구역 수)를
+ * 따로 둡니다. 작성자 ID -> 작성자를 팔로우하는 캐시된 사용자 ID 색인이 있어 쓰기 반영은 작성자의 캐시된 팔로워
+ * 수에 비례하며, 해당 사용자의 구역만 잠급니다. DB 접근은 없습니다.
+ */
+public class TimelineCache {
+
+	// 배열 헤더, 객체 헤더, LinkedHashMap 엔트리 등의 대략적인 고정 오버헤드
+	private static final int ARRAY_HEADER_BYTES = 16;
+	private static final int USER_OVERHEAD_BYTES = 128;
+	private static final int BYTES_PER_ENTRY = 4 + 4 + 8; // id + author + createdAt
+	// 팔로잉 한 명당 색인 비용 (정렬 배열 int + 작성자 색인의 Integer와 집합 노드)
+	private static final int BYTES_PER_FOLLOWEE = 4 + 48;
+	private static final int INITIAL_CAPACITY = 32;
+
+	private static final TimelineCache INSTANCE = new TimelineCache(
+			AppConfig.getBoolean("timeline.cacheEnabled", true),
+			AppConfig.getInt("timeline.cacheEntriesPerUser", 200),
+			AppConfig.getLong("timeline.cacheMaxBytes", 64L * 1024 * 1024),
+			AppConfig.getInt("timeline.cacheStripes", 16));
+
+	public static TimelineCache getInstance() {
+		return INSTANCE;
+	}
+
+	private final boolean enabled;
+	private final int entriesPerUser;
+	private final long maxBytes;
+	private final Segment[] segments;
+
+	// 작성자 ID -> 그 작성자를 팔로우하는 캐시된 사용자 ID (사용자 구역 잠금 안에서 갱신)
+	private final Map<Integer, Set<Integer>> byFollowee = new ConcurrentHashMap<>();
+
+	public TimelineCache(boolean enabled, int entriesPerUser, long maxBytes, int stripes) {
+		this.enabled = enabled;
+		this.entriesPerUser = Math.max(1, entriesPerUser);
+		this.maxBytes = maxBytes;
+		int size = 1;
+		while (size < stripes) {
+			size <<= 1;
+		}
+		this.segments = new Segment[size];
+		for (int i = 0; i < size; i++) {
+			this.segments[i] = new Segment(maxBytes / size);
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public int getEntriesPerUser() {
+		return entriesPerUser;
+	}
+
+	private Segment segment(int userId) {
+		int h = userId * 0x9E3779B9;
+		return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+	}
+
+	// --- 조회 ---
+
+	/**
+	 * 커서보다 오래된 게시글 ID를 최신순으로 최대 count개 반환합니다.
+	 *
+	 * @return 게시글 ID 배열, 캐시에 없거나 캐시만으로 count개를 채울 수 없으면 null
+	 */
+	public int[] slice(int userId, FeedCursor before, int count) {
+		Segment segment = segment(userId);
+		synchronized (segment) {
+			UserTimeline timeline = segment.users.get(userId);
+			if (timeline == null || timeline.loading) {
+				segment.misses++;
+				return null;
+			}
+			segment.touch(timeline);
+			int[] ids = timeline.slice(before.getCreatedAt().getTime(), before.getId(), count);
+			if (ids == null) {
+				segment.misses++;
+			} else {
+				segment.hits++;
+			}
+			return ids;
+		}
+	}
+
+	// --- 적재 ---
+
+	/**
+	 * 사용자의 타임라인 적재를 시작합니다. 적재 중 발생한 쓰기는 보관했다가 completeLoad에서 반영합니다.
+	 *
+	 * @param userId    사용자 ID
+	 * @param followees 팔로잉 사용자 ID 목록
+	 * @return 적재 토큰, 이미 캐시되어 있거나 다른 요청이 적재 중이면 null
+	 */
+	public Object beginLoad(int userId, int[] followees) {
+		if (!enabled) {
+			return null;
+		}
+		Segment segment = segment(userId);
+		synchronized (segment) {
+			if (segment.users.containsKey(userId)) {
+				return null;
+			}
+			int[] sorted = followees.clone();
+			Arrays.sort(sorted);
+			UserTimeline timeline = new UserTimeline(userId, sorted);
+			segment.users.put(userId, timeline);
+			segment.totalBytes += timeline.bytes();
+			for (int followeeId : sorted) {
+				index(followeeId, userId);
+			}
+			return timeline;
+		}
+	}
+
+	/**
+	 * 조회한 타임라인 항목(최신순)으로 적재를 마칩니다.
+	 *
+	 * @param token     beginLoad가 반환한 토큰
+	 * @param ids       게시글 ID
+	 * @param authors   작성자 ID
+	 * @param createdAt 작성 시각 (epoch millis)
+	 * @param count     유효한 항목 수
+	 * @param complete  DB의 타임라인 전체를 담았는지 여부 (항목 수 한도에 걸리지 않았는지)
+	 */
+	public void completeLoad(Object token, int[] ids, int[] authors, long[] createdAt, int count,
+			boolean complete) {
+		UserTimeline timeline = (UserTimeline) token;
+		Segment segment = segment(timeline.userId);
+		synchronized (segment) {
+			if (segment.users.get(timeline.userId) != timeline) {
+				return; // 적재 중 무효화됨
+			}
+			long before = timeline.bytes();
+			timeline.fill(ids, authors, createdAt, Math.min(count, entriesPerUser), complete && count <= entriesPerUser);
+			segment.totalBytes += timeline.bytes() - before;
+			segment.loads++;
+			evictIfNeeded(segment);
+		}
+	}
+
+	/**
+	 * 적재 실패 시 자리만 차지한 항목을 제거합니다.
+	 */
+	public void abortLoad(Object token) {
+		UserTimeline timeline = (UserTimeline) token;
+		Segment segment = segment(timeline.userId);
+		synchronized (segment) {
+			if (segment.users.get(timeline.userId) == timeline) {
+				remove(segment, timeline.userId);
+			}
+		}
+	}
+
+	// --- 쓰기 경로 반영 ---
+
+	/**
+	 * 새 게시글(답글 제외)을 작성자 본인과 작성자를 팔로우하는 캐시된 사용자의 타임라인에 추가합니다.
+	 */
+	public void onPostCreated(int postId, int authorId, long createdAt) {
+		if (!enabled) {
+			return;
+		}
+		insert(authorId, postId, authorId, createdAt);
+		Set<Integer> followers = byFollowee.get(authorId);
+		if (followers != null) {
+			for (int userId : followers) {
+				insert(userId, postId, authorId, createdAt);
+			}
+		}
+	}
+
+	private void insert(int userId, int postId, int authorId, long createdAt) {
+		Segment segment = segment(userId);
+		synchronized (segment) {
+			UserTimeline timeline = segment.users.get(userId);
+			// 색인을 읽은 뒤 언팔로우/재적재되었을 수 있으므로 현재 팔로잉 목록으로 다시 확인
+			if (timeline == null || !timeline.follows(authorId)) {
+				return;
+			}
+			long before = timeline.bytes();
+			timeline.insert(postId, authorId, createdAt);
+			segment.totalBytes += timeline.bytes() - before;
+			evictIfNeeded(segment);
+		}
+	}
+
+	/**
+	 * 삭제된 게시글을 캐시된 타임라인에서 제거합니다.
+	 */
+	public void onPostDeleted(int postId, int authorId) {
+		if (!enabled) {
+			return;
+		}
+		remove(authorId, postId, authorId);
+		Set<Integer> followers = byFollowee.get(authorId);
+		if (followers != null) {
+			for (int userId : followers) {
+				remove(userId, postId, authorId);
+			}
+		}
+	}
+
+	private void remove(int userId, int postId, int authorId) {
+		Segment segment = segment(userId);
+		synchronized (segment) {
+			UserTimeline timeline = segment.users.get(userId);
+			if (timeline != null && timeline.follows(authorId)) {
+				timeline.remove(postId);
+			}
+		}
+	}
+
+	/**
+	 * 팔로우 시에는 새 작성자의 과거 게시글이 필요하므로 팔로워의 캐시를 비웁니다. 다음 조회 때 다시 적재됩니다.
+	 */
+	public void onFollow(int followerId, int followingId) {
+		invalidate(followerId);
+	}
+
+	/**
+	 * 언팔로우 시 팔로워의 타임라인에서 대상 작성자의 게시글을 제거합니다.
+	 */
+	public void onUnfollow(int followerId, int followingId) {
+		Segment segment = segment(followerId);
+		synchronized (segment) {
+			UserTimeline timeline = segment.users.get(followerId);
+			if (timeline == null) {
+				return;
+			}
+			if (timeline.loading) {
+				if (remove(segment, followerId)) {
+					segment.invalidations++;
+				}
+				return;
+			}
+			long before = timeline.bytes();
+			timeline.unfollow(followingId);
+			segment.totalBytes += timeline.bytes() - before;
+			unindex(followingId, followerId);
+		}
+	}
+
+	public void invalidate(int userId) {
+		Segment segment = segment(userId);
+		synchronized (segment) {
+			if (remove(segment, userId)) {
+				segment.invalidations++;
+			}
+		}
+	}
+
+	// 호출한 쪽이 segment 잠금을 가지고 있어야 합니다.
+	private boolean remove(Segment segment, int userId) {
+		UserTimeline removed = segment.users.remove(userId);
+		if (removed == null) {
+			return false;
+		}
+		segment.totalBytes -= removed.bytes();
+		unindexAll(removed);
+		return true;
+	}
+
+	// 호출한 쪽이 segment 잠금을 가지고 있어야 합니다.
+	private void evictIfNeeded(Segment segment) {
+		Iterator<UserTimeline> it = segment.users.values().iterator();
+		while (segment.totalBytes > segment.maxBytes && it.hasNext()) {
+			UserTimeline eldest = it.next();
+			it.remove();
+			segment.totalBytes -= eldest.bytes();
+			unindexAll(eldest);
+			segment.evictions++;
+		}
+	}
+
+	// --- 작성자 색인 ---
+
+	private void index(int followeeId, int userId) {
+		byFollowee.compute(followeeId, (k, set) -> {
+			if (set == null) {
+				set = ConcurrentHashMap.newKeySet();
+			}
+			set.add(userId);
+			return set;
+		});
+	}
+
+	private void unindex(int followeeId, int userId) {
+		byFollowee.computeIfPresent(followeeId, (k, set) -> {
+			set.remove(userId);
+			return set.isEmpty() ? null : set;
+		});
+	}
+
+	private void unindexAll(UserTimeline timeline) {
+		for (int followeeId : timeline.followees) {
+			unindex(followeeId, timeline.userId);
+		}
+	}
+
+	// --- 지표 ---
+
+	/**
+	 * 캐시 지표를 반환합니다. 사용자당/항목당 메모리는 실제 저장 항목 기준의 추정치입니다.
+	 */
+	public Map<String, Object> stats() {
+		long users = 0;
+		long entries = 0;
+		long totalBytes = 0;
+		long hits = 0;
+		long misses = 0;
+		long loads = 0;
+		long evictions = 0;
+		long invalidations = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				users += segment.users.size();
+				for (UserTimeline timeline : segment.users.values()) {
+					entries += timeline.size;
+				}
+				totalBytes += segment.totalBytes;
+				hits += segment.hits;
+				misses += segment.misses;
+				loads += segment.loads;
+				evictions += segment.evictions;
+				invalidations += segment.invalidations;
+			}
+		}
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("enabled", enabled);
+		stats.put("stripes", segments.length);
+		stats.put("cachedUsers", users);
+		stats.put("indexedFollowees", byFollowee.size());
+		stats.put("entries", entries);
+		stats.put("bytes", totalBytes);
+		stats.put("maxBytes", maxBytes);
+		stats.put("bytesPerUser", users == 0 ? 0 : totalBytes / users);
+		stats.put("bytesPerEntry", entries == 0 ? 0 : totalBytes / entries);
+		stats.put("hits", hits);
+		stats.put("misses", misses);
+		stats.put("loads", loads);
+		stats.put("evictions", evictions);
+		stats.put("invalidations", invalidations);
+		return stats;
+	}
+
+	/**
+	 * 사용자 구역입니다. 모든 필드는 구역 잠금 안에서만 접근합니다.
+	 */
+	private static final class Segment {
+		final long maxBytes;
+		// 조회 순서 기반 LRU (쓰기 반영은 순서를 바꾸지 않도록 삽입 순서 맵에 조회 시 다시 넣음)
+		final LinkedHashMap<Integer, UserTimeline> users = new LinkedHashMap<>(64);
+		long totalBytes;
+
+		long hits;
+		long misses;
+		long loads;
+		long evictions;
+		long invalidations;
+
+		Segment(long maxBytes) {
+			this.maxBytes = maxBytes;
+		}
+
+		void touch(UserTimeline timeline) {
+			users.remove(timeline.userId);
+			users.put(timeline.userId, timeline);
+		}
+	}
+
+	/**
+	 * 한 사용자의 타임라인 링 버퍼입니다. 논리 인덱스 0이 가장 최신 항목입니다.
+	 */
+	private final class UserTimeline {
+		final int userId;
+		int[] followees; // 정렬된 팔로잉 ID
+
+		int[] ids = new int[0];
+		int[] authors = new int[0];
+		long[] createdAt = new long[0];
+		int head;
+		int size;
+		boolean complete;
+		boolean loading = true;
+		List<long[]> pending = new ArrayList<>(); // 적재 중 쓰기: {postId, authorId, createdAt, 1=추가/0=삭제}
+
+		UserTimeline(int userId, int[] followees) {
+			this.userId = userId;
+			this.followees = followees;
+		}
+
+		long bytes() {
+			return USER_OVERHEAD_BYTES + 4 * ARRAY_HEADER_BYTES + (long) BYTES_PER_FOLLOWEE * followees.length
+					+ (long) BYTES_PER_ENTRY * ids.length;
+		}
+
+		boolean follows(int authorId) {
+			return authorId == userId || Arrays.binarySearch(followees, authorId) >= 0;
+		}
+
+		private int physical(int logical) {
+			return (head + logical) % ids.length;
+		}
+
+		void fill(int[] srcIds, int[] srcAuthors, long[] srcCreatedAt, int count, boolean isComplete) {
+			int capacity = Math.min(entriesPerUser, Math.max(INITIAL_CAPACITY, count));
+			ids = Arrays.copyOf(srcIds, capacity);
+			authors = Arrays.copyOf(srcAuthors, capacity);
+			createdAt = Arrays.copyOf(srcCreatedAt, capacity);
+			head = 0;
+			size = count;
+			complete = isComplete;
+			loading = false;
+
+			for (long[] op : pending) {
+				if (op[3] == 1) {
+					insert((int) op[0], (int) op[1], op[2]);
+				} else {
+					remove((int) op[0]);
+				}
+			}
+			pending = null;
+		}
+
+		// (createdAt, id) 기준으로 a가 b보다 오래되었으면 true
+		private boolean olderThan(long aTime, int aId, long bTime, int bId) {
+			return aTime < bTime || (aTime == bTime && aId < bId);
+		}
+
+		int indexOf(int postId) {
+			for (int i = 0; i < size; i++) {
+				if (ids[physical(i)] == postId) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		void insert(int postId, int authorId, long time) {
+			if (loading) {
+				pending.add(new long[] { postId, authorId, time, 1 });
+				return;
+			}
+			if (indexOf(postId) >= 0) {
+				return;
+			}
+			// 삽입 위치: 새 항목보다 오래된 첫 번째 항목 (대부분 0)
+			int pos = 0;
+			while (pos < size) {
+				int p = physical(pos);
+				if (olderThan(createdAt[p], ids[p], time, postId)) {
+					break;
+				}
+				pos++;
+			}
+			if (size == ids.length) {
+				if (ids.length < entriesPerUser) {
+					grow();
+				} else {
+					complete = false; // 가장 오래된 항목이 밀려남
+					if (pos == size) {
+						return;
+					}
+					size--;
+				}
+			}
+			if (pos == 0) {
+				head = (head - 1 + ids.length) % ids.length;
+			} else {
+				for (int i = size; i > pos; i--) {
+					copy(i - 1, i);
+				}
+			}
+			int p = physical(pos);
+			ids[p] = postId;
+			authors[p] = authorId;
+			createdAt[p] = time;
+			size++;
+		}
+
+		void remove(int postId) {
+			if (loading) {
+				pending.add(new long[] { postId, 0, 0, 0 });
+				return;
+			}
+			int pos = indexOf(postId);
+			if (pos < 0) {
+				return;
+			}
+			for (int i = pos; i < size - 1; i++) {
+				copy(i + 1, i);
+			}
+			size--;
+		}
+
+		void unfollow(int authorId) {
+			int idx = Arrays.binarySearch(followees, authorId);
+			if (idx >= 0) {
+				int[] next = new int[followees.length - 1];
+				System.arraycopy(followees, 0, next, 0, idx);
+				System.arraycopy(followees, idx + 1, next, idx, next.length - idx);
+				followees = next;
+			}
+			int kept = 0;
+			for (int i = 0; i < size; i++) {
+				if (authors[physical(i)] != authorId) {
+					if (kept != i) {
+						copy(i, kept);
+					}
+					kept++;
+				}
+			}
+			size = kept;
+		}
+
+		private void copy(int fromLogical, int toLogical) {
+			int from = physical(fromLogical);
+			int to = physical(toLogical);
+			ids[to] = ids[from];
+			authors[to] = authors[from];
+			createdAt[to] = createdAt[from];
+		}
+
+		// 논리 순서대로 펼치면서 용량을 두 배(최대 entriesPerUser)로 늘립니다.
+		private void grow() {
+			int capacity = Math.min(entriesPerUser, Math.max(INITIAL_CAPACITY, ids.length * 2));
+			int[] newIds = new int[capacity];
+			int[] newAuthors = new int[capacity];
+			long[] newCreatedAt = new long[capacity];
+			for (int i = 0; i < size; i++) {
+				int p = physical(i);
+				newIds[i] = ids[p];
+				newAuthors[i] = authors[p];
+				newCreatedAt[i] = createdAt[p];
+			}
+			ids = newIds;
+			authors = newAuthors;
+			createdAt = newCreatedAt;
+			head = 0;
+		}
+
+		int[] slice(long beforeTime, int beforeId, int count) {
+			// 최신순으로 정렬되어 있으므로 커서보다 오래된 첫 위치를 이진 탐색
+			int lo = 0;
+			int hi = size;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				int p = physical(mid);
+				if (olderThan(createdAt[p], ids[p], beforeTime, beforeId)) {
+					hi = mid;
+				} else {
+					lo = mid + 1;
+				}
+			}
+			int available = size - lo;
+			if (available < count && !complete) {
+				return null;
+			}
+			int n = Math.min(count, available);
+			int[] result = new int[n];
+			for (int i = 0; i < n; i++) {
+				result[i] = ids[physical(lo + i)];
+			}
+			return result;
+		}
+	}
+}
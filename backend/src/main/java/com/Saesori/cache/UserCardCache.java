@@ -0,0 +1,119 @@
+package com.Saesori.cache;
+
+import com.Saesori.dto.Post;
+import com.Saesori.dto.UserCard;
+import com.Saesori.util.AppConfig;
+import com.Saesori.util.IntHashSet;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자 ID로 작성자 카드({@link UserCard})를 보관하는 캐시입니다.
+ * <p>
+ * 게시글 조회 쿼리는 users 테이블을 조인하지 않고 게시글 컬럼만 읽으며, 작성자 닉네임/핸들/프로필 이미지는
+ * 이 캐시에서 채웁니다. 캐시에 없는 작성자는 PostDAO가 한 번의 IN 조회로 읽어 넣습니다.
+ * 항목 수가 user.cardCacheMaxEntries를 넘으면 가장 오래 조회되지 않은 사용자부터 제거하며,
+ * 프로필 수정(UserDAO.updateUser) 시 해당 사용자를 무효화합니다.
+ */
+public class UserCardCache {
+
+	private static final UserCardCache INSTANCE = new UserCardCache(
+			AppConfig.getInt("user.cardCacheMaxEntries", 50000));
+
+	public static UserCardCache getInstance() {
+		return INSTANCE;
+	}
+
+	private final int maxEntries;
+	private final LinkedHashMap<Integer, UserCard> cards = new LinkedHashMap<>(256, 0.75f, true);
+	// 무효화할 때마다 증가. 조회 시작 후 무효화가 있었다면 읽어온 값을 캐시에 넣지 않습니다.
+	private long version;
+
+	private long hits;
+	private long misses;
+	private long loads;
+	private long evictions;
+	private long invalidations;
+
+	public UserCardCache(int maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+
+	/**
+	 * 게시글과 원본 게시글에 캐시된 작성자 정보를 채웁니다.
+	 *
+	 * @return 캐시에 없어 채우지 못한 작성자 ID (중복 없음)
+	 */
+	public synchronized int[] fill(List<Post> posts) {
+		IntHashSet missing = new IntHashSet();
+		for (Post post : posts) {
+			fill(post, missing);
+			if (post.getOriginalPost() != null) {
+				fill(post.getOriginalPost(), missing);
+			}
+		}
+		return missing.toArray();
+	}
+
+	private void fill(Post post, IntHashSet missing) {
+		UserCard card = cards.get(post.getUserId());
+		if (card == null) {
+			misses++;
+			missing.add(post.getUserId());
+			return;
+		}
+		hits++;
+		post.setNickname(card.getNickname());
+		post.setHandle(card.getHandle());
+		post.setProfileImageUrl(card.getProfileImageUrl());
+	}
+
+	/**
+	 * 조회를 시작하기 전에 호출해 버전을 받습니다. putAll에 전달하면 그 사이 무효화가 있었을 때 저장하지 않습니다.
+	 */
+	public synchronized long version() {
+		return version;
+	}
+
+	public synchronized void putAll(List<UserCard> loaded, long version) {
+		if (version != this.version) {
+			return;
+		}
+		for (UserCard card : loaded) {
+			cards.put(card.getId(), card);
+			loads++;
+		}
+		Iterator<UserCard> it = cards.values().iterator();
+		while (cards.size() > maxEntries && it.hasNext()) {
+			it.next();
+			it.remove();
+			evictions++;
+		}
+	}
+
+	public synchronized void invalidate(int userId) {
+		version++;
+		if (cards.remove(userId) != null) {
+			invalidations++;
+		}
+	}
+
+	// --- 지표 ---
+
+	public synchronized Map<String, Object> stats() {
+		long lookups = hits + misses;
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("entries", cards.size());
+		stats.put("maxEntries", maxEntries);
+		stats.put("hits", hits);
+		stats.put("misses", misses);
+		stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+		stats.put("loads", loads);
+		stats.put("evictions", evictions);
+		stats.put("invalidations", invalidations);
+		return stats;
+	}
+}
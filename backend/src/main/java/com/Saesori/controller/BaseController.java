@@ -1,6 +1,7 @@
 package com.Saesori.controller;
 
 import com.Saesori.dto.User;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.servlet.ServletException;
@@ -9,13 +10,19 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 중복되는 응답 처리 및 사용자 인증 로직을 담은 기본 컨트롤러 클래스
  */
 public abstract class BaseController extends HttpServlet {
     private static final long serialVersionUID = 1L;
+    // 조건부 GET 경로별 응답 수: [0] = 304, [1] = 200
+    private static final Map<String, LongAdder[]> CONDITIONAL_GET_COUNTS = new ConcurrentHashMap<>();
     protected ObjectMapper objectMapper;
 
     @Override
@@ -34,6 +41,30 @@ public abstract class BaseController extends HttpServlet {
         objectMapper.writeValue(resp.getWriter(), data);
     }
 
+    /**
+     * 조건부 GET의 200 응답을 보냅니다. checkNotModified가 돌려준 ETag를 본문을 쓰기 직전에 붙이므로
+     * 그 사이에 에러 응답으로 바뀌면 ETag가 나가지 않습니다.
+     */
+    protected void sendJsonResponse(HttpServletResponse resp, Object data, String etag) throws IOException {
+        setValidator(resp, etag);
+        sendJsonResponse(resp, data);
+    }
+
+    /**
+     * JSON을 응답 스트림에 직접 씁니다. 목록을 메모리에 모으지 않고 DAO가 읽는 대로 내보낼 때 사용합니다.
+     */
+    protected void sendJsonStream(HttpServletResponse resp, JsonStreamWriter body) throws IOException {
+        resp.setContentType("application/json; charset=UTF-8");
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(resp.getWriter())) {
+            body.write(gen);
+        }
+    }
+
+    @FunctionalInterface
+    protected interface JsonStreamWriter {
+        void write(JsonGenerator gen) throws IOException;
+    }
+
     /**
      * 성공 메시지를 JSON 형식으로 응답합니다.
      */
@@ -58,6 +89,71 @@ public abstract class BaseController extends HttpServlet {
         sendError(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
     }
 
+    /**
+     * 조건부 GET을 처리합니다. 콘텐츠 버전, 현재 사용자, 쿼리 문자열로 ETag를 만들고,
+     * 요청의 If-None-Match와 일치하면 304를 보냅니다.
+     * <p>
+     * version은 본 조회 없이 얻을 수 있는 값(ContentVersions)이어야 하며, null이 반환되면 호출한 쪽은
+     * 본 조회를 실행하지 않고 바로 반환합니다. 그 외에는 반환된 ETag를 sendJsonResponse(resp, data, etag)로
+     * 200 응답에만 붙입니다. (에러 응답에는 붙지 않음)
+     *
+     * @param route   지표 집계용 경로 이름
+     * @param version 응답 내용의 버전
+     * @return 200 응답에 붙일 ETag, 304를 보냈으면 null
+     */
+    protected String checkNotModified(HttpServletRequest req, HttpServletResponse resp, String route, String version) {
+        String query = req.getQueryString();
+        String etag = "\"" + route.replace('/', '.') + "-" + version + "-" + getOptionalUserId(req)
+                + (query == null ? "" : "-" + Integer.toHexString(query.hashCode())) + "\"";
+
+        LongAdder[] counts = CONDITIONAL_GET_COUNTS.computeIfAbsent(route,
+                k -> new LongAdder[] { new LongAdder(), new LongAdder() });
+        if (matchesETag(req.getHeader("If-None-Match"), etag)) {
+            setValidator(resp, etag);
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            counts[0].increment();
+            return null;
+        }
+        counts[1].increment();
+        return etag;
+    }
+
+    private static void setValidator(HttpServletResponse resp, String etag) {
+        resp.setHeader("ETag", etag);
+        resp.setHeader("Cache-Control", "private, no-cache");
+    }
+
+    // If-None-Match는 쉼표로 구분된 여러 값과 약한 비교(W/)를 허용합니다.
+    private static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 조건부 GET 경로별 304/200 응답 수를 반환합니다.
+     */
+    public static Map<String, Object> conditionalGetStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        CONDITIONAL_GET_COUNTS.forEach((route, counts) -> {
+            Map<String, Object> routeStats = new LinkedHashMap<>();
+            routeStats.put("notModified", counts[0].sum());
+            routeStats.put("ok", counts[1].sum());
+            stats.put(route, routeStats);
+        });
+        return stats;
+    }
+
     /**
      * 인증된 사용자 정보를 가져오거나, 없으면 에러를 보냅니다.
      */
@@ -82,6 +178,19 @@ public abstract class BaseController extends HttpServlet {
         return 0;
     }
 
+    /**
+     * 정수 쿼리 파라미터를 읽습니다. 없으면 기본값을, 범위를 벗어나면 [min, max]로 잘라 반환합니다.
+     *
+     * @throws NumberFormatException 숫자가 아닌 경우
+     */
+    protected int getIntParameter(HttpServletRequest req, String name, int defaultValue, int min, int max) {
+        String value = req.getParameter(name);
+        if (isEmpty(value)) {
+            return defaultValue;
+        }
+        return Math.max(min, Math.min(max, Integer.parseInt(value.trim())));
+    }
+
     /**
      * 문자열이 비어있는지 확인합니다.
      */
@@ -1,5 +1,6 @@
 package com.Saesori.controller;
 
+import com.Saesori.cache.ContentVersions;
 import com.Saesori.dao.BirdDAO;
 import com.Saesori.dto.Bird;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -37,10 +38,16 @@ public class BirdController extends BaseController {
         String pathInfo = request.getPathInfo(); // 요청 경로 정보 가져오기
 
         try {
+            // 새 도감은 거의 바뀌지 않으므로 도감 버전이 같으면 조회 없이 304 응답
+            String etag = checkNotModified(request, response, "birds", ContentVersions.getInstance().birdsVersion());
+            if (etag == null) {
+                return;
+            }
+
             // /api/birds - 모든 새 종류 조회
             if (pathInfo == null || pathInfo.equals("/")) {
                 List<Bird> birds = birdDAO.getAllBirds(); // 모든 새 목록 조회
-                sendJsonResponse(response, birds); // JSON 응답 전송
+                sendJsonResponse(response, birds, etag); // JSON 응답 전송
                 return;
             }
 
@@ -51,7 +58,7 @@ public class BirdController extends BaseController {
                     int birdId = Integer.parseInt(pathParts[1]); // birdId 추출 및 정수 변환
                     Bird bird = birdDAO.getBirdById(birdId); // ID로 새 정보 조회
                     if (bird != null) {
-                        sendJsonResponse(response, bird); // 새 정보가 있으면 JSON 응답 전송
+                        sendJsonResponse(response, bird, etag); // 새 정보가 있으면 JSON 응답 전송
                     } else {
                         sendError(response, HttpServletResponse.SC_NOT_FOUND, "해당 새를 찾을 수 없습니다."); // 새를 찾을 수 없는 경우 404
                                                                                                    // 에러
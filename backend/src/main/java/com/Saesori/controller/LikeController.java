@@ -3,8 +3,14 @@ package com.Saesori.controller;
 import com.Saesori.dao.LikeDAO;
 import com.Saesori.dao.PostDAO;
 import com.Saesori.service.BirdService;
+import com.Saesori.util.IntHashSet;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.Saesori.dto.User;
+import com.Saesori.dto.LikeState;
+import com.Saesori.dto.LikeStates;
 import com.Saesori.dto.Post;
 
 import jakarta.servlet.ServletException;
@@ -16,11 +22,15 @@ import jakarta.servlet.http.HttpSession;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @WebServlet("/api/likes/*")
 public class LikeController extends BaseController {
     private static final long serialVersionUID = 1L;
+    private static final int MAX_STATE_IDS = 500; // /api/likes/state 요청당 최대 게시글 수
     private LikeDAO likeDAO;
     private PostDAO postDAO;
     private BirdService birdService;
@@ -36,51 +46,91 @@ public class LikeController extends BaseController {
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
-        String pathInfo = request.getPathInfo();
+        if ("/state".equals(request.getPathInfo())) {
+            handleStates(request, response);
+            return;
+        }
+        handleLike(request, response, true);
+    }
 
-        try {
-            User user = getAuthenticatedUser(request, response);
-            if (user == null)
-                return;
+    @Override
+    protected void doDelete(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        handleLike(request, response, false);
+    }
 
-            // /api/likes/{postId} 형식의 경로 기대
-            if (pathInfo == null || pathInfo.equals("/")) {
+    /**
+     * POST /api/likes/state - 여러 게시글의 좋아요 여부와 좋아요 수를 한 번에 반환합니다.
+     * 요청 본문은 게시글 ID 배열({"postIds": [1, 2, ...]} 또는 [1, 2, ...], 최대 MAX_STATE_IDS개)이고,
+     * 응답은 {"게시글 ID": {"liked": ..., "likeCount": ...}} 형태입니다. 존재하지 않는 게시글은 빠집니다.
+     * 비로그인이면 liked는 모두 false입니다.
+     */
+    private void handleStates(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            int[] postIds = readPostIds(request);
+            if (postIds == null) {
                 sendError(response, HttpServletResponse.SC_BAD_REQUEST,
-                        "postId required in path (e.g. /api/likes/123).");
+                        "Request body must be an array of at most " + MAX_STATE_IDS + " post IDs.");
                 return;
             }
+            LikeStates states = likeDAO.getLikeStates(postIds, getOptionalUserId(request));
+            sendJsonStream(response, gen -> {
+                gen.writeStartObject();
+                for (int i = 0; i < states.size(); i++) {
+                    int postId = states.getPostId(i);
+                    gen.writeFieldId(postId);
+                    gen.writeStartObject();
+                    gen.writeBooleanField("liked", states.isLiked(postId));
+                    gen.writeNumberField("likeCount", states.getLikeCount(postId));
+                    gen.writeEndObject();
+                }
+                gen.writeEndObject();
+            });
+        } catch (Exception e) {
+            handleException(response, e);
+        }
+    }
 
-            String[] pathParts = pathInfo.split("/");
-            if (pathParts.length != 2) {
-                sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid path format.");
-                return;
+    // 본문의 게시글 ID를 박싱 없이 읽습니다. (중복 제거, 형식이 틀리거나 너무 많으면 null)
+    private int[] readPostIds(HttpServletRequest request) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(request.getReader())) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                if (parser.nextToken() != JsonToken.FIELD_NAME || !"postIds".equals(parser.currentName())) {
+                    return null;
+                }
+                token = parser.nextToken();
             }
-
-            int postId = Integer.parseInt(pathParts[1]);
-
-            if (likeDAO.isLiked(postId, user.getId())) {
-                sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Already liked.");
-                return;
+            if (token != JsonToken.START_ARRAY) {
+                return null;
             }
-
-            if (likeDAO.addLike(postId, user.getId())) {
-                // 좋아요를 누른 유저 본인에게 새 지급 조건 확인
-                birdService.checkAndAwardBirds(user.getId(), "like_count");
-                sendJsonResponse(response, java.util.Map.of("message", "Like added.", "postId", postId));
-            } else {
-                sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to add like.");
+            int[] ids = new int[16];
+            int count = 0;
+            IntHashSet seen = new IntHashSet();
+            while ((token = parser.nextToken()) == JsonToken.VALUE_NUMBER_INT) {
+                int id = parser.getIntValue();
+                if (seen.add(id)) {
+                    if (count == MAX_STATE_IDS) {
+                        return null;
+                    }
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                    }
+                    ids[count++] = id;
+                }
             }
-
-        } catch (NumberFormatException e) {
-            sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid postId format.");
-        } catch (Exception e) {
-            handleException(response, e);
+            return token == JsonToken.END_ARRAY ? Arrays.copyOf(ids, count) : null;
+        } catch (JsonProcessingException e) {
+            return null;
         }
     }
 
-    @Override
-    protected void doDelete(HttpServletRequest request, HttpServletResponse response)
-            throws ServletException, IOException {
+    /**
+     * POST/DELETE /api/likes/{postId} - 좋아요 상태를 맞추고 결과 상태와 좋아요 수를 반환합니다.
+     * 이미 같은 상태여도 성공으로 응답합니다. (멱등)
+     */
+    private void handleLike(HttpServletRequest request, HttpServletResponse response, boolean liked)
+            throws IOException {
         String pathInfo = request.getPathInfo();
 
         try {
@@ -103,11 +153,21 @@ public class LikeController extends BaseController {
 
             int postId = Integer.parseInt(pathParts[1]);
 
-            if (likeDAO.removeLike(postId, user.getId())) {
-                sendJsonResponse(response, java.util.Map.of("message", "Like removed.", "postId", postId));
-            } else {
-                sendError(response, HttpServletResponse.SC_NOT_FOUND, "Like not found or failed to remove.");
+            LikeState state = likeDAO.setLiked(postId, user.getId(), liked);
+            if (state == null) {
+                sendError(response, HttpServletResponse.SC_NOT_FOUND, "Post not found.");
+                return;
+            }
+            if (liked && state.isChanged()) {
+                // 좋아요를 누른 유저 본인에게 새 지급 조건 확인
+                birdService.checkAndAwardBirds(user.getId(), "like_count");
             }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("message", liked ? "Like added." : "Like removed.");
+            result.put("postId", postId);
+            result.put("liked", state.isLiked());
+            result.put("likeCount", state.getLikeCount());
+            sendJsonResponse(response, result);
 
         } catch (NumberFormatException e) {
             sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid postId format.");
@@ -0,0 +1,54 @@
+package com.Saesori.controller;
+
+import com.Saesori.cache.PostCache;
+import com.Saesori.cache.ProfileFeedCache;
+import com.Saesori.cache.ReactionUsersCache;
+import com.Saesori.cache.ThreadCache;
+import com.Saesori.cache.TimelineCache;
+import com.Saesori.cache.UserCardCache;
+import com.Saesori.dao.LikeCountBuffer;
+import com.Saesori.dao.TimelineDAO;
+import com.Saesori.graph.FollowGraph;
+import com.Saesori.stream.TimelineStream;
+import com.Saesori.trending.TrendingEngine;
+import com.Saesori.util.DBUtil;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 커넥션 풀, 타임라인 fan-out, 타임라인/게시글/작성자/스레드/프로필 캐시, 조건부 GET, 타임라인 알림 스트림, 트렌딩 등 내부 구성 요소의 상태 지표를 조회하는 API 컨트롤러입니다.
+ */
+@WebServlet("/api/metrics")
+public class MetricsController extends BaseController {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        try {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("connectionPool", DBUtil.getPoolStats());
+            metrics.put("timelineFanOut", TimelineDAO.stats());
+            metrics.put("timelineCache", TimelineCache.getInstance().stats());
+            metrics.put("postCache", PostCache.getInstance().stats());
+            metrics.put("userCardCache", UserCardCache.getInstance().stats());
+            metrics.put("threadCache", ThreadCache.getInstance().stats());
+            metrics.put("profileFeedCache", ProfileFeedCache.getInstance().stats());
+            metrics.put("reactionUsersCache", ReactionUsersCache.getInstance().stats());
+            metrics.put("conditionalGet", conditionalGetStats());
+            metrics.put("timelineStream", TimelineStream.getInstance().stats());
+            metrics.put("trending", TrendingEngine.getInstance().stats());
+            metrics.put("likeCounter", LikeCountBuffer.getInstance().stats());
+            metrics.put("followGraph", FollowGraph.getInstance().stats());
+            sendJsonResponse(response, metrics);
+        } catch (Exception e) {
+            handleException(response, e);
+        }
+    }
+}
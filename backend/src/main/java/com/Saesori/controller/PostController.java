@@ -1,9 +1,16 @@
 package com.Saesori.controller;
 
+import com.Saesori.cache.ContentVersions;
+import com.Saesori.cache.ReactionUsersCache;
 import com.Saesori.dao.PostDAO;
+import com.Saesori.dto.FeedDelta;
 import com.Saesori.dto.Post;
 import com.Saesori.dto.User;
 import com.Saesori.service.BirdService;
+import com.Saesori.service.TimelineService;
+import com.Saesori.trending.TrendingEngine;
+import com.Saesori.util.FeedCursor;
+import com.Saesori.util.ThreadPath;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
@@ -14,19 +21,36 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @WebServlet(urlPatterns = { "/api/posts", "/api/posts/*" })
 public class PostController extends BaseController {
     private static final long serialVersionUID = 1L;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_KNOWN_POSTS = 200; // since 요청에서 좋아요 수를 비교할 최대 게시글 수
+    private static final int DEFAULT_REPLY_DEPTH = 3;
+    private static final int MAX_REPLY_DEPTH = 10;
+    private static final int DEFAULT_REPLY_LIMIT = 10; // 게시글마다 펼칠 답글 수
+    private static final int MAX_REPLY_LIMIT = 50;
+    private static final int MAX_REPLY_NODES = 200; // 한 번에 반환할 최대 답글 수
+    private static final int DEFAULT_REACTION_LIMIT = 20; // 좋아요/리포스트한 사용자 페이지 크기
+    private static final int MAX_REACTION_LIMIT = 100;
+    private static final int FOLLOWED_REACTION_LIMIT = 3; // 팔로우 중인 사용자만 볼 때 기본 인원
+    private static final int MAX_FOLLOWED_REACTION_LIMIT = 20;
     private PostDAO postDAO;
     private BirdService birdService;
+    private TimelineService timelineService;
 
     @Override
     public void init() throws ServletException {
         super.init();
         postDAO = new PostDAO();
         birdService = new BirdService();
+        timelineService = new TimelineService();
     }
 
     // --- 핵심 API 메서드 ---
@@ -39,31 +63,81 @@ public class PostController extends BaseController {
         int currentUserId = getOptionalUserId(req);
 
         try {
-            // 1. /api/posts - 전체 조회
+            // 1. /api/posts?before={cursor}&limit={n} - 전체 조회 (커서 페이지네이션)
             if (pathParts.length == 0) {
-                sendJsonResponse(resp, postDAO.getAllPosts(currentUserId));
+                String etag = checkNotModified(req, resp, "posts", ContentVersions.getInstance().postsVersion(currentUserId));
+                if (etag == null) {
+                    return;
+                }
+                FeedCursor before = FeedCursor.parse(req.getParameter("before"));
+                int limit = getIntParameter(req, "limit", DEFAULT_PAGE_SIZE, 1, MAX_PAGE_SIZE);
+                sendJsonResponse(resp, postDAO.getAllPosts(currentUserId, before, limit), etag);
                 return;
             }
 
-            // 2. /api/posts/following - 팔로우 타임라인
+            // 2. /api/posts/following?before={cursor}&limit={n} - 팔로우 타임라인 (커서 페이지네이션)
             if (pathParts.length == 2 && "following".equals(pathParts[1])) {
                 User user = getAuthenticatedUser(req, resp);
                 if (user == null)
                     return;
-                sendJsonResponse(resp, postDAO.getFollowingTimeline(currentUserId));
+                FeedCursor before = FeedCursor.parse(req.getParameter("before"));
+                int limit = getIntParameter(req, "limit", DEFAULT_PAGE_SIZE, 1, MAX_PAGE_SIZE);
+                sendJsonResponse(resp, timelineService.getFollowingTimeline(currentUserId, before, limit));
+                return;
+            }
+
+            // /api/posts/trending?limit={n} - 최근 반응이 많은 게시글 (TrendingEngine, 메모리에서 제공)
+            if (pathParts.length == 2 && "trending".equals(pathParts[1])) {
+                int limit = getIntParameter(req, "limit", DEFAULT_PAGE_SIZE, 1, TrendingEngine.MAX_TOP);
+                sendJsonResponse(resp, postDAO.getTrendingPosts(currentUserId, limit));
+                return;
+            }
+
+            // /api/posts/since?cursor={cursor}&known={id:likeCount,...} - 전체 피드 변경분
+            if (pathParts.length == 2 && "since".equals(pathParts[1])) {
+                String etag = checkNotModified(req, resp, "posts/since", ContentVersions.getInstance().postsSinceVersion(currentUserId));
+                if (etag == null) {
+                    return;
+                }
+                FeedCursor after = parseSinceCursor(req);
+                int limit = getIntParameter(req, "limit", DEFAULT_PAGE_SIZE, 1, MAX_PAGE_SIZE);
+                sendJsonResponse(resp, toDelta(postDAO.getPostsSince(currentUserId, after, limit), after, limit,
+                        req.getParameter("known")), etag);
+                return;
+            }
+
+            // /api/posts/following/since?cursor={cursor}&known={id:likeCount,...} - 팔로우 타임라인 변경분
+            if (pathParts.length == 3 && "following".equals(pathParts[1]) && "since".equals(pathParts[2])) {
+                User user = getAuthenticatedUser(req, resp);
+                if (user == null)
+                    return;
+                String etag = checkNotModified(req, resp, "posts/following/since", ContentVersions.getInstance().postsSinceVersion(currentUserId));
+                if (etag == null) {
+                    return;
+                }
+                FeedCursor after = parseSinceCursor(req);
+                int limit = getIntParameter(req, "limit", DEFAULT_PAGE_SIZE, 1, MAX_PAGE_SIZE);
+                sendJsonResponse(resp, toDelta(postDAO.getFollowingPostsSince(currentUserId, after, limit), after,
+                        limit, req.getParameter("known")), etag);
                 return;
             }
 
-            // 3. /api/posts/user/{userId} - 특정 유저 게시글
+            // 3. /api/posts/user/{userId}?before={cursor}&limit={n} - 특정 유저 게시글 (커서 페이지)
             if (pathParts.length == 3 && "user".equals(pathParts[1])) {
                 int userId = Integer.parseInt(pathParts[2]);
-                sendJsonResponse(resp, postDAO.getPostsByUserId(userId, currentUserId));
+                String etag = checkNotModified(req, resp, "posts/user", ContentVersions.getInstance().userPostsVersion(userId, currentUserId));
+                if (etag == null) {
+                    return;
+                }
+                FeedCursor before = FeedCursor.parse(req.getParameter("before"));
+                int limit = getIntParameter(req, "limit", DEFAULT_PAGE_SIZE, 1, MAX_PAGE_SIZE);
+                sendJsonResponse(resp, postDAO.getUserPosts(userId, currentUserId, before, limit), etag);
                 return;
             }
 
             // 4. /api/posts/{postId}/... 서브 리소스 처리
             if (pathParts.length == 3) {
-                handleSubResource(resp, pathParts[1], pathParts[2], currentUserId);
+                handleSubResource(req, resp, pathParts[1], pathParts[2], currentUserId);
                 return;
             }
 
@@ -82,6 +156,8 @@ public class PostController extends BaseController {
             sendError(resp, HttpServletResponse.SC_BAD_REQUEST, "잘못된 요청 경로입니다.");
         } catch (NumberFormatException e) {
             sendError(resp, HttpServletResponse.SC_BAD_REQUEST, "ID 형식이 올바르지 않습니다.");
+        } catch (FeedCursor.InvalidCursorException e) {
+            sendError(resp, HttpServletResponse.SC_BAD_REQUEST, "커서 형식이 올바르지 않습니다.");
         } catch (Exception e) {
             handleException(resp, e);
         }
@@ -118,6 +194,11 @@ public class PostController extends BaseController {
                 }
                 String type = pathInfo.endsWith("/quote") ? "QUOTE" : "REPLY";
                 post.setType(type);
+                if (type.equals("REPLY") && postDAO.isReplyDepthExceeded(post.getOriginalPostId())) {
+                    sendError(resp, HttpServletResponse.SC_BAD_REQUEST,
+                            "답글 깊이 한도(" + ThreadPath.MAX_DEPTH + "단계)를 넘었습니다.");
+                    return;
+                }
                 boolean success = type.equals("QUOTE") ? postDAO.addQuote(post) : postDAO.addReply(post);
                 processPost(resp, success, post.getUserId(), type + " 작성");
             }
@@ -157,18 +238,85 @@ public class PostController extends BaseController {
 
     // --- 내부 보조 메서드 ---
 
-    private void handleSubResource(HttpServletResponse resp, String idStr, String action, int currentUserId)
-            throws IOException {
+    // since 요청의 커서는 필수입니다. (없으면 "처음부터"가 아니라 잘못된 요청)
+    private FeedCursor parseSinceCursor(HttpServletRequest req) {
+        String cursor = req.getParameter("cursor");
+        if (isEmpty(cursor)) {
+            throw new FeedCursor.InvalidCursorException("cursor is required", null);
+        }
+        return FeedCursor.parse(cursor);
+    }
+
+    /**
+     * since 조회 결과를 변경분 응답으로 만듭니다.
+     *
+     * @param rows  커서보다 새로운 게시글 (최대 limit + 1개, 최신순)
+     * @param known 클라이언트가 가진 게시글의 좋아요 수 ("id:count,id:count", 최대 MAX_KNOWN_POSTS개)
+     */
+    private FeedDelta toDelta(List<Post> rows, FeedCursor after, int limit, String known) {
+        boolean hasGap = rows.size() > limit;
+        List<Post> posts = hasGap ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        String cursor = posts.isEmpty() ? after.encode() : FeedCursor.of(posts.get(0)).encode();
+
+        Map<Integer, Integer> changed = new HashMap<>();
+        if (!isEmpty(known)) {
+            String[] pairs = known.split(",");
+            int count = Math.min(pairs.length, MAX_KNOWN_POSTS);
+            int[] ids = new int[count];
+            int[] likeCounts = new int[count];
+            for (int i = 0; i < count; i++) {
+                String[] pair = pairs[i].trim().split(":");
+                ids[i] = Integer.parseInt(pair[0]);
+                likeCounts[i] = pair.length > 1 ? Integer.parseInt(pair[1]) : -1;
+            }
+            Map<Integer, Integer> current = postDAO.getLikeCounts(ids);
+            for (int i = 0; i < count; i++) {
+                Integer now = current.get(ids[i]);
+                if (now != null && now != likeCounts[i]) {
+                    changed.put(ids[i], now);
+                }
+            }
+        }
+        return new FeedDelta(posts, cursor, hasGap, changed);
+    }
+
+    private void handleSubResource(HttpServletRequest req, HttpServletResponse resp, String idStr, String action,
+            int currentUserId) throws IOException {
         int postId = Integer.parseInt(idStr);
         switch (action) {
-            case "likes" -> sendJsonResponse(resp, postDAO.getLikedUsers(postId));
-            case "reposts" -> sendJsonResponse(resp, postDAO.getRepostedUsers(postId));
-            case "replies" -> sendJsonResponse(resp, postDAO.getDescendants(postId, currentUserId));
+            case "likes" -> handleReactionUsers(req, resp, ReactionUsersCache.Kind.LIKES, postId, currentUserId);
+            case "reposts" -> handleReactionUsers(req, resp, ReactionUsersCache.Kind.REPOSTS, postId, currentUserId);
+            case "replies" -> handleReplies(req, resp, postId, currentUserId);
             case "ancestors" -> sendJsonResponse(resp, postDAO.getAncestors(postId, currentUserId));
             default -> sendError(resp, HttpServletResponse.SC_BAD_REQUEST, "Invalid endpoint");
         }
     }
 
+    // /api/posts/{id}/likes|reposts?cursor={cursor}&limit={n} - 좋아요/리포스트한 사용자 (최근 순)
+    // followed=true면 그중 현재 사용자가 팔로우 중인 사용자만 최대 limit명 (기본 FOLLOWED_REACTION_LIMIT명, 다음 페이지 없음)
+    private void handleReactionUsers(HttpServletRequest req, HttpServletResponse resp, ReactionUsersCache.Kind kind,
+            int postId, int currentUserId) throws IOException {
+        if ("true".equals(req.getParameter("followed"))) {
+            int limit = getIntParameter(req, "limit", FOLLOWED_REACTION_LIMIT, 1, MAX_FOLLOWED_REACTION_LIMIT);
+            sendJsonResponse(resp, postDAO.getFollowedReactionUsers(kind, postId, currentUserId, limit));
+            return;
+        }
+        FeedCursor before = FeedCursor.parse(req.getParameter("cursor"));
+        int limit = getIntParameter(req, "limit", DEFAULT_REACTION_LIMIT, 1, MAX_REACTION_LIMIT);
+        sendJsonResponse(resp, postDAO.getReactionUsers(kind, postId, before, limit));
+    }
+
+    // /api/posts/{id}/replies?maxDepth={n}&limit={n}&cursor={cursor} - 답글 트리를 단계별로 나눠 펼치기
+    // cursor는 이 게시글의 직접 답글 중 이어서 볼 위치입니다. (응답의 nextCursors 값, 처음부터면 생략)
+    private void handleReplies(HttpServletRequest req, HttpServletResponse resp, int postId, int currentUserId)
+            throws IOException {
+        String cursor = req.getParameter("cursor");
+        FeedCursor after = isEmpty(cursor) ? FeedCursor.EARLIEST : FeedCursor.parse(cursor);
+        int maxDepth = getIntParameter(req, "maxDepth", DEFAULT_REPLY_DEPTH, 1, MAX_REPLY_DEPTH);
+        int limit = getIntParameter(req, "limit", DEFAULT_REPLY_LIMIT, 1, MAX_REPLY_LIMIT);
+        sendJsonResponse(resp, postDAO.getReplyPage(postId, after, maxDepth, limit, MAX_REPLY_NODES, currentUserId));
+    }
+
     private void handleRepost(HttpServletResponse resp, Post post, int userId) throws IOException {
         Post original = postDAO.getPostById(post.getOriginalPostId());
         if (original == null) {
@@ -0,0 +1,51 @@
+package com.Saesori.controller;
+
+import com.Saesori.dao.FollowDAO;
+import com.Saesori.dto.User;
+import com.Saesori.stream.TimelineStream;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 팔로우 타임라인 새 글 알림(Server-Sent Events) API 컨트롤러입니다.
+ * <p>
+ * GET /api/stream/timeline 연결을 유지하며, 팔로우한 사용자(및 본인)가 글을 쓰면
+ * {@code event: post / data: {"postId":..,"authorId":..}} 이벤트를 보냅니다.
+ * {@code event: resync}를 받으면 클라이언트는 타임라인 첫 페이지를 다시 조회합니다.
+ */
+@WebServlet(urlPatterns = "/api/stream/timeline", asyncSupported = true)
+public class StreamController extends BaseController {
+    private static final long serialVersionUID = 1L;
+    private FollowDAO followDAO;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        followDAO = new FollowDAO();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        User user = getAuthenticatedUser(req, resp);
+        if (user == null)
+            return;
+
+        try {
+            int[] followees = followDAO.getFollowingIds(user.getId());
+
+            resp.setContentType("text/event-stream; charset=UTF-8");
+            resp.setHeader("Cache-Control", "no-cache");
+            resp.setHeader("X-Accel-Buffering", "no"); // 프록시(nginx) 버퍼링 해제
+
+            AsyncContext ctx = req.startAsync();
+            TimelineStream.getInstance().subscribe(ctx, user.getId(), followees);
+        } catch (Exception e) {
+            handleException(resp, e);
+        }
+    }
+}
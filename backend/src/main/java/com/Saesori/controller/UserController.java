@@ -1,5 +1,6 @@
 package com.Saesori.controller;
 
+import com.Saesori.cache.ContentVersions;
 import com.Saesori.dao.UserDAO;
 import com.Saesori.dao.UserBirdDAO;
 import com.Saesori.dto.User;
@@ -47,10 +48,14 @@ public class UserController extends BaseController {
             if (pathParts.length == 2) {
                 try {
                     int userId = Integer.parseInt(pathParts[1]);
+                    String etag = checkNotModified(request, response, "users", ContentVersions.getInstance().userVersion(userId));
+                    if (etag == null) {
+                        return;
+                    }
                     User user = userDAO.getUserById(userId);
                     if (user != null) {
                         user.setPassword(null);
-                        sendJsonResponse(response, user);
+                        sendJsonResponse(response, user, etag);
                     } else {
                         sendError(response, HttpServletResponse.SC_NOT_FOUND, "User not found.");
                     }
@@ -1,13 +1,20 @@
 package com.Saesori.dao;
 
+import com.Saesori.cache.ContentVersions;
+import com.Saesori.cache.TimelineCache;
+import com.Saesori.graph.FollowGraph;
+import com.Saesori.stream.TimelineStream;
 import com.Saesori.util.DBUtil;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class FollowDAO {
+    private final TimelineDAO timelineDAO = new TimelineDAO();
 
     /**
      * 두 사용자 간의 팔로우 관계를 생성합니다.
@@ -45,7 +52,19 @@ public class FollowDAO {
             stmtUpdateFollowing.setInt(1, followingId);
             stmtUpdateFollowing.executeUpdate();
 
+            // 4. push 모드: 대상의 최근 게시글을 팔로워 인박스에 채움
+            if (TimelineDAO.isPushMode()) {
+                timelineDAO.backfill(conn, followerId, followingId);
+            }
+
             conn.commit(); // 트랜잭션 커밋
+            FollowGraph.getInstance().onFollow(followerId, followingId);
+            TimelineCache.getInstance().onFollow(followerId, followingId);
+            TimelineStream.getInstance().onFollow(followerId, followingId);
+            ContentVersions.getInstance().postsChanged(); // 게시글의 작성자 팔로우 여부
+            ContentVersions.getInstance().userChanged(followerId);
+            ContentVersions.getInstance().userChanged(followingId);
+            ContentVersions.getInstance().userPostsChanged(followingId); // 게시글의 작성자 팔로우 여부
             return true;
         } catch (SQLException e) {
             try {
@@ -105,8 +124,20 @@ public class FollowDAO {
                 stmtUpdateFollowing = conn.prepareStatement(sqlUpdateFollowing);
                 stmtUpdateFollowing.setInt(1, followingId);
                 stmtUpdateFollowing.executeUpdate();
-                
+
+                // 4. push 모드: 팔로워 인박스에서 대상의 게시글 제거
+                if (TimelineDAO.isPushMode()) {
+                    timelineDAO.prune(conn, followerId, followingId);
+                }
+
                 conn.commit(); // 트랜잭션 커밋
+                FollowGraph.getInstance().onUnfollow(followerId, followingId);
+                TimelineCache.getInstance().onUnfollow(followerId, followingId);
+                TimelineStream.getInstance().onUnfollow(followerId, followingId);
+                ContentVersions.getInstance().postsChanged(); // 게시글의 작성자 팔로우 여부
+                ContentVersions.getInstance().userChanged(followerId);
+                ContentVersions.getInstance().userChanged(followingId);
+                ContentVersions.getInstance().userPostsChanged(followingId); // 게시글의 작성자 팔로우 여부
                 return true;
             } else {
                 conn.rollback();
@@ -135,6 +166,10 @@ public class FollowDAO {
      * @return 팔로우 중이면 true, 아니면 false
      */
     public boolean isFollowing(int followerId, int followingId) {
+        FollowGraph graph = FollowGraph.getInstance();
+        if (graph.isReady()) {
+            return graph.isFollowing(followerId, followingId);
+        }
         String sql = "SELECT COUNT(*) FROM follows WHERE follower_id = ? AND following_id = ?";
         Connection conn = null;
         PreparedStatement stmt = null;
@@ -164,6 +199,10 @@ public class FollowDAO {
      * @return 팔로잉 수
      */
     public int getFollowingCount(int userId) {
+        FollowGraph graph = FollowGraph.getInstance();
+        if (graph.isReady()) {
+            return graph.getFollowingCount(userId);
+        }
         String sql = "SELECT COUNT(*) FROM follows WHERE follower_id = ?";
         Connection conn = null;
         PreparedStatement stmt = null;
@@ -192,6 +231,10 @@ public class FollowDAO {
      * @return 팔로워 수
      */
     public int getFollowerCount(int userId) {
+        FollowGraph graph = FollowGraph.getInstance();
+        if (graph.isReady()) {
+            return graph.getFollowerCount(userId);
+        }
         String sql = "SELECT COUNT(*) FROM follows WHERE following_id = ?";
         Connection conn = null;
         PreparedStatement stmt = null;
@@ -213,4 +256,71 @@ public class FollowDAO {
         }
         return 0;
     }
+
+    /**
+     * 특정 사용자가 팔로우하는 사용자 ID 목록을 반환합니다.
+     * @param userId 사용자 ID
+     * @return 팔로잉 사용자 ID 배열 (팔로우 그래프 적재 후에는 오름차순)
+     */
+    public int[] getFollowingIds(int userId) {
+        FollowGraph graph = FollowGraph.getInstance();
+        if (graph.isReady()) {
+            return graph.getFollowingIds(userId);
+        }
+        String sql = "SELECT following_id FROM follows WHERE follower_id = ?";
+        List<Integer> ids = new ArrayList<>();
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DBUtil.getConnection();
+            stmt = conn.prepareStatement(sql);
+            stmt.setInt(1, userId);
+            rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting following ids: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DBUtil.close(conn, stmt, rs);
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * follows 테이블 전체를 스트리밍으로 읽어 {@link FollowGraph}를 채웁니다. (애플리케이션 시작 시 호출)
+     * 기본키 (follower_id, following_id) 순서로 읽으므로 정렬 없이 팔로잉 방향 배열을 바로 만들 수 있습니다.
+     */
+    public void loadFollowGraph() {
+        FollowGraph graph = FollowGraph.getInstance();
+        FollowGraph.Builder builder = graph.beginLoad();
+        if (builder == null) {
+            return;
+        }
+        String sql = "SELECT follower_id, following_id FROM follows ORDER BY follower_id, following_id";
+        long startedAt = System.currentTimeMillis();
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DBUtil.getConnection();
+            // 스트리밍 조회는 결과를 끝까지 읽기 전까지 커넥션을 점유하므로 문장 캐시를 거치지 않는 형태로 생성
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(Integer.MIN_VALUE); // MySQL Connector/J: 행 단위 스트리밍
+            rs = stmt.executeQuery();
+            while (rs.next()) {
+                builder.add(rs.getInt(1), rs.getInt(2));
+            }
+            graph.finishLoad(builder, System.currentTimeMillis() - startedAt);
+        } catch (SQLException e) {
+            graph.abortLoad();
+            System.err.println("Error loading follow graph: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DBUtil.close(conn, stmt, rs);
+        }
+    }
 }
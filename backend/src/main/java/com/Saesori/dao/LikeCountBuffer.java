@@ -0,0 +1,302 @@
+package com.Saesori.dao;
+
+import com.Saesori.cache.PostCache;
+import com.Saesori.dto.Post;
+import com.Saesori.util.AppConfig;
+import com.Saesori.util.DBUtil;
+import com.Saesori.util.IntIntHashMap;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 게시글 좋아요 수(posts.like_count) 변경을 메모리에 모았다가 주기적으로 한 번에 반영하는 쓰기 지연(write-behind) 버퍼입니다.
+ * <p>
+ * 좋아요 추가/취소 트랜잭션에서 posts 행을 갱신하지 않으므로, 인기 게시글에 좋아요가 몰려도 같은 행 잠금을 기다리지 않습니다.
+ * 변경량은 게시글 ID로 나눈 구역(stripe)마다 따로 잠가 보관하고, like.flushIntervalMs 마다
+ * UPDATE ... CASE 문 하나에 최대 like.flushBatchSize 개씩 묶어 반영합니다.
+ * <p>
+ * 반영 전/반영 중인 변경량은 조회 시 applyPending 으로 DB 값에 더해 보여줍니다. 반영이 끝나면 PostCache를 무효화합니다.
+ * 반영에 실패한 변경량은 다음 주기에 다시 시도하며, 애플리케이션 종료 시 shutdown 이 남은 변경량을 모두 반영합니다.
+ * (종료 처리 없이 프로세스가 죽으면 마지막 주기의 변경량은 유실될 수 있습니다. likes 테이블에서 다시 셀 수 있습니다.)
+ */
+public class LikeCountBuffer {
+
+	private static final LikeCountBuffer INSTANCE = new LikeCountBuffer(
+			AppConfig.getBoolean("like.writeBehind", true),
+			AppConfig.getInt("like.stripes", 64),
+			AppConfig.getLong("like.flushIntervalMs", 200),
+			AppConfig.getInt("like.flushBatchSize", 500));
+
+	public static LikeCountBuffer getInstance() {
+		return INSTANCE;
+	}
+
+	private final boolean enabled;
+	private final Stripe[] stripes;
+	private final long flushIntervalMs;
+	private final int batchSize;
+
+	private volatile ScheduledExecutorService flusher;
+	private volatile boolean closed;
+
+	private final AtomicLong updates = new AtomicLong();
+	private final AtomicLong flushes = new AtomicLong();
+	private final AtomicLong flushedRows = new AtomicLong();
+	private final AtomicLong failedFlushes = new AtomicLong();
+	private final AtomicLong lastFlushMicros = new AtomicLong();
+
+	public LikeCountBuffer(boolean enabled, int stripes, long flushIntervalMs, int batchSize) {
+		this.enabled = enabled;
+		int size = 1;
+		while (size < stripes) {
+			size <<= 1;
+		}
+		this.stripes = new Stripe[size];
+		for (int i = 0; i < size; i++) {
+			this.stripes[i] = new Stripe();
+		}
+		this.flushIntervalMs = flushIntervalMs;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * 쓰기 지연을 사용하는지 여부. false면 LikeDAO가 좋아요 트랜잭션에서 바로 like_count를 갱신합니다.
+	 */
+	public boolean isEnabled() {
+		return enabled && !closed;
+	}
+
+	/**
+	 * 좋아요 수 변경량을 더합니다. (좋아요 행 커밋 후 호출)
+	 */
+	public void add(int postId, int delta) {
+		startFlusher();
+		Stripe stripe = stripe(postId);
+		synchronized (stripe) {
+			stripe.pending.put(postId, stripe.pending.get(postId, 0) + delta);
+		}
+		updates.incrementAndGet();
+	}
+
+	/**
+	 * 아직 DB에 반영되지 않은 변경량을 반환합니다.
+	 */
+	public int pending(int postId) {
+		Stripe stripe = stripe(postId);
+		synchronized (stripe) {
+			return stripe.pending.get(postId, 0) + stripe.inflight.get(postId, 0);
+		}
+	}
+
+	/**
+	 * 조회한 게시글(원본 게시글 포함)의 좋아요 수에 반영 전 변경량을 더합니다.
+	 */
+	public void applyPending(List<Post> posts) {
+		if (!enabled) {
+			return;
+		}
+		for (Post post : posts) {
+			apply(post);
+			apply(post.getOriginalPost());
+		}
+	}
+
+	private void apply(Post post) {
+		if (post != null) {
+			int delta = pending(post.getId());
+			if (delta != 0) {
+				post.setLikeCount(post.getLikeCount() + delta);
+			}
+		}
+	}
+
+	// --- 반영 ---
+
+	/**
+	 * 모든 구역의 변경량을 DB에 반영합니다. 반영 중인 값은 조회 시 계속 더해지도록 구역의 inflight로 옮겨 둡니다.
+	 */
+	public synchronized void flush() {
+		long started = System.nanoTime();
+		int[] ids = new int[batchSize];
+		int[] deltas = new int[batchSize];
+		for (Stripe stripe : stripes) {
+			IntIntHashMap batch;
+			synchronized (stripe) {
+				if (stripe.pending.size() == 0) {
+					continue;
+				}
+				batch = stripe.pending;
+				stripe.pending = stripe.inflight; // 비어 있는 맵 재사용
+				stripe.inflight = batch;
+			}
+			int count = 0;
+			for (int id : batch.keys()) {
+				int delta = batch.get(id, 0);
+				if (delta == 0) {
+					synchronized (stripe) {
+						stripe.inflight.remove(id);
+					}
+					continue;
+				}
+				ids[count] = id;
+				deltas[count] = delta;
+				count++;
+				if (count == batchSize) {
+					flushChunk(stripe, ids, deltas, count);
+					count = 0;
+				}
+			}
+			if (count > 0) {
+				flushChunk(stripe, ids, deltas, count);
+			}
+			// 모든 항목이 반영(또는 pending으로 복귀)되며 inflight에서 빠지므로 다음 주기에 빈 맵으로 재사용됩니다.
+		}
+		flushes.incrementAndGet();
+		lastFlushMicros.set((System.nanoTime() - started) / 1000);
+	}
+
+	private void flushChunk(Stripe stripe, int[] ids, int[] deltas, int count) {
+		if (writeBatch(ids, deltas, count)) {
+			// DB 값에 이미 포함되었으므로 캐시를 무효화하기 전에 inflight에서 빼야 조회 시 두 번 더해지지 않습니다.
+			synchronized (stripe) {
+				for (int i = 0; i < count; i++) {
+					stripe.inflight.remove(ids[i]);
+				}
+			}
+			for (int i = 0; i < count; i++) {
+				PostCache.getInstance().invalidate(ids[i]);
+			}
+			return;
+		}
+		// 실패한 묶음은 다음 주기에 다시 반영
+		synchronized (stripe) {
+			for (int i = 0; i < count; i++) {
+				stripe.pending.put(ids[i], stripe.pending.get(ids[i], 0) + deltas[i]);
+				stripe.inflight.remove(ids[i]);
+			}
+		}
+	}
+
+	/**
+	 * UPDATE posts SET like_count = like_count + CASE id WHEN ? THEN ? ... END WHERE id IN (...) 로 한 번에 반영합니다.
+	 *
+	 * @return 성공하면 true
+	 */
+	protected boolean writeBatch(int[] ids, int[] deltas, int count) {
+		// 묶음 크기를 inListSize로 맞춰 PreparedStatement 캐시를 재사용합니다. 남는 자리는 첫 게시글/변경량 0으로 채웁니다.
+		// (CASE는 처음 일치하는 WHEN을 사용하므로 중복된 첫 게시글에는 원래 변경량이 적용됩니다.)
+		int size = DBUtil.inListSize(count);
+		StringBuilder sql = new StringBuilder("UPDATE posts SET like_count = like_count + CASE id");
+		for (int i = 0; i < size; i++) {
+			sql.append(" WHEN ? THEN ?");
+		}
+		sql.append(" ELSE 0 END WHERE id IN (").append(DBUtil.placeholders(size)).append(")");
+		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+			int idx = 1;
+			for (int i = 0; i < size; i++) {
+				stmt.setInt(idx++, i < count ? ids[i] : ids[0]);
+				stmt.setInt(idx++, i < count ? deltas[i] : 0);
+			}
+			for (int i = 0; i < size; i++) {
+				stmt.setInt(idx++, i < count ? ids[i] : ids[0]);
+			}
+			flushedRows.addAndGet(stmt.executeUpdate());
+			return true;
+		} catch (SQLException e) {
+			failedFlushes.incrementAndGet();
+			System.err.println("Error flushing like counts: " + e.getMessage());
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	private void startFlusher() {
+		if (flusher != null || closed) {
+			return;
+		}
+		synchronized (this) {
+			if (flusher == null && !closed) {
+				ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+					Thread t = new Thread(r, "like-count-flusher");
+					t.setDaemon(true);
+					return t;
+				});
+				executor.scheduleWithFixedDelay(() -> {
+					try {
+						flush();
+					} catch (RuntimeException e) {
+						e.printStackTrace();
+					}
+				}, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+				flusher = executor;
+			}
+		}
+	}
+
+	/**
+	 * 주기 반영을 멈추고 남은 변경량을 모두 반영합니다. (애플리케이션 종료 시, 커넥션 풀 정리 전에 호출)
+	 * 이후의 좋아요는 LikeDAO가 트랜잭션에서 바로 반영합니다.
+	 */
+	public void shutdown() {
+		closed = true;
+		ScheduledExecutorService executor = flusher;
+		if (executor != null) {
+			executor.shutdown();
+			try {
+				executor.awaitTermination(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		// 일시적인 실패에 대비해 몇 번 더 시도
+		for (int attempt = 0; attempt < 3 && pendingPosts() > 0; attempt++) {
+			flush();
+		}
+	}
+
+	private Stripe stripe(int postId) {
+		int h = postId * 0x9E3779B9;
+		return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+	}
+
+	// --- 지표 ---
+
+	private long pendingPosts() {
+		long count = 0;
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				count += stripe.pending.size() + stripe.inflight.size();
+			}
+		}
+		return count;
+	}
+
+	public Map<String, Object> stats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("enabled", isEnabled());
+		stats.put("stripes", stripes.length);
+		stats.put("flushIntervalMs", flushIntervalMs);
+		stats.put("pendingPosts", pendingPosts());
+		stats.put("updates", updates.get());
+		stats.put("flushes", flushes.get());
+		stats.put("flushedRows", flushedRows.get());
+		stats.put("failedFlushes", failedFlushes.get());
+		stats.put("lastFlushMicros", lastFlushMicros.get());
+		return stats;
+	}
+
+	// 게시글 ID -> 변경량. pending은 새로 쌓이는 값, inflight는 반영 중인 값입니다.
+	private static final class Stripe {
+		IntIntHashMap pending = new IntIntHashMap();
+		IntIntHashMap inflight = new IntIntHashMap();
+	}
+}
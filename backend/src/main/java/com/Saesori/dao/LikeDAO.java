@@ -1,71 +1,129 @@
 package com.Saesori.dao;
 
+import com.Saesori.cache.ContentVersions;
+import com.Saesori.cache.PostCache;
+import com.Saesori.cache.ReactionUsersCache;
+import com.Saesori.dto.LikeState;
+import com.Saesori.dto.LikeStates;
+import com.Saesori.trending.TrendingEngine;
 import com.Saesori.util.DBUtil;
+import com.Saesori.util.IntHashSet;
+import com.Saesori.util.IntIntHashMap;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
 
 public class LikeDAO {
 
     /**
-     * 게시글에 좋아요를 추가합니다.
-     * 'likes' 테이블에 행을 추가하고 'posts' 테이블의 'like_count'를 증가시킵니다.
-     * 트랜잭션으로 처리됩니다.
+     * 게시글의 좋아요 상태를 지정한 값으로 맞추고, 결과 상태와 좋아요 수를 반환합니다.
+     * 이미 같은 상태면 아무것도 바꾸지 않습니다. (INSERT IGNORE / DELETE의 영향 행 수로 실제 변경 여부를 판단하므로
+     * 중복 요청이나 동시 요청에도 한 번만 반영됩니다.)
+     * <p>
+     * like.writeBehind가 켜져 있으면 좋아요 행 변경은 자동 커밋 문장 하나이고, like_count는 {@link LikeCountBuffer}가
+     * 모아서 반영합니다. 게시글이 PostCache에 있으면 좋아요 수도 추가 조회 없이 계산하므로 DB 왕복은 한 번입니다.
+     * 꺼져 있으면 기존처럼 한 트랜잭션에서 likes와 posts.like_count를 함께 갱신합니다.
      * 
      * @param postId 게시글 ID
      * @param userId 사용자 ID
-     * @return 성공 시 true
+     * @param liked  true면 좋아요, false면 좋아요 취소
+     * @return 결과 상태 (게시글이 없으면 null)
+     * @throws SQLException DB 오류 (롤백 후 전달)
      */
-    public boolean addLike(int postId, int userId) {
+    public LikeState setLiked(int postId, int userId, boolean liked) throws SQLException {
         Connection conn = null;
-        PreparedStatement stmtInsert = null;
+        PreparedStatement stmtChange = null;
         PreparedStatement stmtUpdate = null;
+        PreparedStatement stmtCount = null;
+        ResultSet rs = null;
 
-        String sqlInsert = "INSERT INTO likes (post_id, user_id) VALUES (?, ?)";
-        String sqlUpdate = "UPDATE posts SET like_count = like_count + 1 WHERE id = ?";
+        // 게시글이 없으면 INSERT IGNORE가 외래 키 오류를 경고로 바꾸고 0행을 반환합니다.
+        String sqlChange = liked
+                ? "INSERT IGNORE INTO likes (post_id, user_id) VALUES (?, ?)"
+                : "DELETE FROM likes WHERE post_id = ? AND user_id = ?";
+        String sqlUpdate = "UPDATE posts SET like_count = like_count " + (liked ? "+" : "-") + " 1 WHERE id = ?";
+        String sqlCount = "SELECT like_count FROM posts WHERE id = ?";
+        int delta = liked ? 1 : -1;
 
+        LikeCountBuffer counts = LikeCountBuffer.getInstance();
+        boolean writeBehind = counts.isEnabled();
         try {
             conn = DBUtil.getConnection();
-            conn.setAutoCommit(false); // 트랜잭션 시작
+            if (!writeBehind) {
+                conn.setAutoCommit(false); // 트랜잭션 시작
+            }
 
-            // 1. likes 테이블에 좋아요 정보 삽입
-            stmtInsert = conn.prepareStatement(sqlInsert);
-            stmtInsert.setInt(1, postId);
-            stmtInsert.setInt(2, userId);
-            int inserted = stmtInsert.executeUpdate();
+            // 1. likes 테이블 변경 (이미 같은 상태면 0행)
+            stmtChange = conn.prepareStatement(sqlChange);
+            stmtChange.setInt(1, postId);
+            stmtChange.setInt(2, userId);
+            boolean changed = stmtChange.executeUpdate() > 0;
 
-            if (inserted > 0) {
-                // 2. posts 테이블의 like_count 증가
-                stmtUpdate = conn.prepareStatement(sqlUpdate);
-                stmtUpdate.setInt(1, postId);
-                stmtUpdate.executeUpdate();
+            // 2. posts 테이블의 like_count 변경 (쓰기 지연 사용 시 버퍼에 모아 주기적으로 반영)
+            if (changed) {
+                if (writeBehind) {
+                    counts.add(postId, delta); // 반영 시 PostCache 무효화
+                } else {
+                    stmtUpdate = conn.prepareStatement(sqlUpdate);
+                    stmtUpdate.setInt(1, postId);
+                    stmtUpdate.executeUpdate();
+                }
+            }
 
-                conn.commit(); // Commit transaction
-                return true;
+            // 3. 결과 좋아요 수 (PostCache에 있으면 DB를 읽지 않음)
+            int likeCount = writeBehind ? PostCache.getInstance().getLikeCount(postId) : -1;
+            if (likeCount < 0) {
+                stmtCount = conn.prepareStatement(sqlCount);
+                stmtCount.setInt(1, postId);
+                rs = stmtCount.executeQuery();
+                if (!rs.next()) {
+                    if (!writeBehind) {
+                        conn.rollback();
+                    }
+                    return null;
+                }
+                likeCount = rs.getInt(1);
+            }
+            if (writeBehind) {
+                likeCount += counts.pending(postId);
             } else {
-                conn.rollback();
-                return false;
+                conn.commit(); // Commit transaction
+            }
+
+            if (changed) {
+                if (!writeBehind) {
+                    PostCache.getInstance().invalidate(postId); // like_count 변경
+                }
+                ReactionUsersCache.getInstance().invalidate(postId, ReactionUsersCache.Kind.LIKES);
+                ContentVersions.getInstance().likeCountsChanged();
+                ContentVersions.getInstance().viewerLikesChanged(userId);
+                if (liked) {
+                    TrendingEngine.getInstance().onLike(postId);
+                } else {
+                    TrendingEngine.getInstance().onUnlike(postId);
+                }
             }
+            return new LikeState(postId, liked, Math.max(likeCount, 0), changed);
 
         } catch (SQLException e) {
-            System.err.println("Error adding like: " + e.getMessage());
+            System.err.println("Error " + (liked ? "adding" : "removing") + " like: " + e.getMessage());
             e.printStackTrace();
-            if (conn != null) {
+            if (conn != null && !writeBehind) {
                 try {
                     conn.rollback();
                 } catch (SQLException ex) {
                     ex.printStackTrace();
                 }
             }
-            return false;
+            throw e;
         } finally {
-            DBUtil.close(null, stmtInsert); // DBUtil close helpers might vary, checking usage
-            DBUtil.close(null, stmtUpdate);
+            DBUtil.close(rs, stmtChange, stmtUpdate, stmtCount);
             if (conn != null) {
                 try {
-                    conn.setAutoCommit(true);
+                    conn.setAutoCommit(true); // Reset auto-commit
                     conn.close();
                 } catch (SQLException e) {
                     e.printStackTrace();
@@ -75,68 +133,90 @@ public class LikeDAO {
     }
 
     /**
-     * 게시글의 좋아요를 취소합니다.
-     * 'likes' 테이블에서 행을 삭제하고 'posts' 테이블의 'like_count'를 감소시킵니다.
-     * 트랜잭션으로 처리됩니다.
+     * 여러 게시글의 좋아요 여부와 좋아요 수를 한 번에 조회합니다.
+     * 좋아요 수는 PostCache(+ 반영 전 변경량)를 먼저 사용하고 없는 게시글만 posts에서 읽으며,
+     * 좋아요 여부는 likes 테이블을 한 번 조회합니다. (post_id IN (...) AND user_id = ?)
      * 
-     * @param postId 게시글 ID
-     * @param userId 사용자 ID
-     * @return 성공 시 true
+     * @param postIds 게시글 ID 목록 (중복 없음)
+     * @param userId  현재 사용자 ID (0이면 좋아요 여부는 모두 false)
+     * @return 존재하는 게시글의 상태 (요청 순서)
      */
-    public boolean removeLike(int postId, int userId) {
-        Connection conn = null;
-        PreparedStatement stmtDelete = null;
-        PreparedStatement stmtUpdate = null;
+    public LikeStates getLikeStates(int[] postIds, int userId) throws SQLException {
+        int n = postIds.length;
+        IntIntHashMap counts = new IntIntHashMap(n);
+        IntHashSet liked = new IntHashSet(userId > 0 ? n : 0);
+        if (n == 0) {
+            return new LikeStates(postIds, 0, liked, counts);
+        }
 
-        String sqlDelete = "DELETE FROM likes WHERE post_id = ? AND user_id = ?";
-        String sqlUpdate = "UPDATE posts SET like_count = like_count - 1 WHERE id = ?";
+        // 1. 캐시에 있는 게시글의 좋아요 수
+        PostCache cache = PostCache.getInstance();
+        int[] missing = new int[n];
+        int missingCount = 0;
+        for (int postId : postIds) {
+            int likeCount = cache.getLikeCount(postId);
+            if (likeCount >= 0) {
+                counts.put(postId, likeCount);
+            } else {
+                missing[missingCount++] = postId;
+            }
+        }
+        if (missingCount == 0 && userId <= 0) {
+            return toLikeStates(postIds, liked, counts);
+        }
 
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
         try {
             conn = DBUtil.getConnection();
-            conn.setAutoCommit(false); // 트랜잭션 시작
-
-            // 1. likes 테이블에서 데이터 삭제
-            stmtDelete = conn.prepareStatement(sqlDelete);
-            stmtDelete.setInt(1, postId);
-            stmtDelete.setInt(2, userId);
-            int deleted = stmtDelete.executeUpdate();
 
-            if (deleted > 0) {
-                // 2. posts 테이블의 like_count 감소
-                stmtUpdate = conn.prepareStatement(sqlUpdate);
-                stmtUpdate.setInt(1, postId);
-                stmtUpdate.executeUpdate();
-
-                conn.commit(); // Commit transaction
-                return true;
-            } else {
-                conn.rollback();
-                return false;
+            // 2. 캐시에 없는 게시글의 좋아요 수
+            if (missingCount > 0) {
+                String sql = "SELECT id, like_count FROM posts WHERE id IN ("
+                        + DBUtil.placeholders(DBUtil.inListSize(missingCount)) + ")";
+                stmt = conn.prepareStatement(sql);
+                DBUtil.setIntList(stmt, 1, Arrays.copyOf(missing, missingCount));
+                rs = stmt.executeQuery();
+                while (rs.next()) {
+                    counts.put(rs.getInt(1), rs.getInt(2));
+                }
+                DBUtil.close(rs, stmt);
+                rs = null;
+                stmt = null;
             }
 
-        } catch (SQLException e) {
-            System.err.println("Error removing like: " + e.getMessage());
-            e.printStackTrace();
-            if (conn != null) {
-                try {
-                    conn.rollback();
-                } catch (SQLException ex) {
-                    ex.printStackTrace();
+            // 3. 현재 사용자의 좋아요 여부
+            if (userId > 0) {
+                String sql = "SELECT post_id FROM likes WHERE user_id = ? AND post_id IN ("
+                        + DBUtil.placeholders(DBUtil.inListSize(n)) + ")";
+                stmt = conn.prepareStatement(sql);
+                stmt.setInt(1, userId);
+                DBUtil.setIntList(stmt, 2, postIds);
+                rs = stmt.executeQuery();
+                while (rs.next()) {
+                    liked.add(rs.getInt(1));
                 }
             }
-            return false;
         } finally {
-            DBUtil.close(null, stmtDelete);
-            DBUtil.close(null, stmtUpdate);
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true); // Reset auto-commit
-                    conn.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
+            DBUtil.close(conn, stmt, rs);
+        }
+        return toLikeStates(postIds, liked, counts);
+    }
+
+    // 존재하는 게시글만 요청 순서대로 남기고, 반영 전 좋아요 수를 더합니다.
+    private LikeStates toLikeStates(int[] postIds, IntHashSet liked, IntIntHashMap counts) {
+        LikeCountBuffer buffer = LikeCountBuffer.getInstance();
+        int[] found = new int[postIds.length];
+        int size = 0;
+        for (int postId : postIds) {
+            int likeCount = counts.get(postId, -1);
+            if (likeCount >= 0) {
+                counts.put(postId, Math.max(likeCount + buffer.pending(postId), 0));
+                found[size++] = postId;
             }
         }
+        return new LikeStates(found, size, liked, counts);
     }
 
     /**
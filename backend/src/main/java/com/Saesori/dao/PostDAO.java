@@ -1,12 +1,30 @@
 package com.Saesori.dao;
 
+import com.Saesori.cache.ContentVersions;
+import com.Saesori.cache.PostCache;
+import com.Saesori.cache.ProfileFeedCache;
+import com.Saesori.cache.ReactionUsersCache;
+import com.Saesori.cache.ThreadCache;
+import com.Saesori.cache.TimelineCache;
+import com.Saesori.cache.UserCardCache;
 import com.Saesori.dto.Post;
+import com.Saesori.dto.PostPage;
+import com.Saesori.dto.ReplyPage;
 import com.Saesori.dto.User;
+import com.Saesori.dto.UserCard;
+import com.Saesori.dto.UserPage;
+import com.Saesori.stream.TimelineStream;
+import com.Saesori.trending.TrendingEngine;
 import com.Saesori.util.DBUtil;
+import com.Saesori.util.FeedCursor;
+import com.Saesori.util.ThreadPath;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class PostDAO {
 
@@ -20,13 +38,9 @@ public class PostDAO {
 		post.setImageUrl(rs.getString("image_url"));
 		post.setCreatedAt(rs.getTimestamp("created_at"));
 		post.setLikeCount(rs.getInt("like_count"));
-		post.setNickname(rs.getString("nickname"));
-		post.setHandle(rs.getString("handle"));
-		post.setLiked(rs.getBoolean("is_liked"));
 		post.setType(rs.getString("type"));
 		post.setOriginalPostId(rs.getInt("original_post_id"));
 		post.setReplyCount(rs.getInt("reply_count"));
-		post.setProfileImageUrl(rs.getString("profile_image_url"));
 		return post;
 	}
 
@@ -43,26 +57,141 @@ public class PostDAO {
 		op.setCreatedAt(rs.getTimestamp("op_created_at"));
 		op.setLikeCount(rs.getInt("op_like_count"));
 		op.setType(rs.getString("op_type"));
-		op.setNickname(rs.getString("op_nickname"));
-		op.setHandle(rs.getString("op_handle"));
-		op.setLiked(rs.getBoolean("op_is_liked"));
+		op.setOriginalPostId(rs.getInt("op_original_post_id"));
 		op.setReplyCount(rs.getInt("op_reply_count"));
-		op.setProfileImageUrl(rs.getString("op_profile_image_url"));
 		return op;
 	}
 
 	// --- 공통 SQL 조각 ---
 
-	private final String BASE_SELECT = "SELECT p.id, p.user_id, p.content, p.image_url, p.created_at, p.like_count, p.type, p.original_post_id, u.nickname, u.handle, u.profile_image_url, "
-			+ "(SELECT COUNT(*) FROM likes WHERE post_id = p.id AND user_id = ?) > 0 AS is_liked, "
-			+ "(SELECT COUNT(*) FROM posts WHERE original_post_id = p.id AND type = 'REPLY') AS reply_count, "
+	// 게시글 컬럼만 읽습니다. 답글 수는 posts.reply_count(비정규화 컬럼)를 읽고, 작성자 정보와 현재 사용자 상태는
+	// 조회 후 decorate에서 채웁니다.
+	private static final String BASE_SELECT = "SELECT p.id, p.user_id, p.content, p.image_url, p.created_at, p.like_count, p.type, p.original_post_id, p.reply_count, "
 			+ "op.id AS op_id, op.user_id AS op_user_id, op.content AS op_content, op.image_url AS op_image_url, op.created_at AS op_created_at, "
-			+ "op.like_count AS op_like_count, op.type AS op_type, ou.nickname AS op_nickname, ou.handle AS op_handle, ou.profile_image_url AS op_profile_image_url, "
-			+ "(SELECT COUNT(*) FROM likes WHERE post_id = op.id AND user_id = ?) > 0 AS op_is_liked, "
-			+ "(SELECT COUNT(*) FROM posts WHERE original_post_id = op.id AND type = 'REPLY') AS op_reply_count ";
+			+ "op.like_count AS op_like_count, op.type AS op_type, op.original_post_id AS op_original_post_id, op.reply_count AS op_reply_count ";
 
-	private final String BASE_JOINS = "FROM posts p " + "JOIN users u ON p.user_id = u.id "
-			+ "LEFT JOIN posts op ON p.original_post_id = op.id " + "LEFT JOIN users ou ON op.user_id = ou.id ";
+	private static final String POST_JOINS = "LEFT JOIN posts op ON p.original_post_id = op.id ";
+
+	private static final String BASE_JOINS = "FROM posts p " + POST_JOINS;
+
+	// 피드에 노출되는 게시글 유형별 키셋 범위 조회 (posts(type, created_at, id) 인덱스 사용)
+	private static final String FEED_RANGE_BY_TYPE = "(SELECT id, created_at FROM posts WHERE type = '%s' "
+			+ "AND (created_at < ? OR (created_at = ? AND id < ?)) ORDER BY created_at DESC, id DESC LIMIT ?) ";
+
+	// type != 'REPLY' 조건은 인덱스 정렬을 쓸 수 없으므로, 유형별 범위 조회를 UNION ALL로 합친 뒤 상위 N개만 남깁니다.
+	private static final String FEED_PAGE_IDS = "SELECT id, created_at FROM ( "
+			+ String.format(FEED_RANGE_BY_TYPE, "ORIGINAL") + "UNION ALL "
+			+ String.format(FEED_RANGE_BY_TYPE, "REPOST") + "UNION ALL "
+			+ String.format(FEED_RANGE_BY_TYPE, "QUOTE")
+			+ ") feed ORDER BY created_at DESC, id DESC LIMIT ?";
+
+	// 프로필 게시글: 작성자의 (user_id, created_at, id) 인덱스 범위를 역순으로 읽으며 답글을 건너뜁니다.
+	private static final String USER_PAGE_IDS = "SELECT id, created_at FROM posts WHERE user_id = ? AND type != 'REPLY' "
+			+ "AND (created_at < ? OR (created_at = ? AND id < ?)) ORDER BY created_at DESC, id DESC LIMIT ?";
+
+	// 커서보다 새로운 게시글: 유형별 인덱스를 최신부터 읽다가 커서 위치에서 멈춥니다. 새 글이 없으면 빈 범위 조회 3번입니다.
+	private static final String FEED_SINCE_BY_TYPE = "(SELECT id, created_at FROM posts WHERE type = '%s' "
+			+ "AND (created_at > ? OR (created_at = ? AND id > ?)) ORDER BY created_at DESC, id DESC LIMIT ?) ";
+
+	private static final String FEED_SINCE_IDS = "SELECT id, created_at FROM ( "
+			+ String.format(FEED_SINCE_BY_TYPE, "ORIGINAL") + "UNION ALL "
+			+ String.format(FEED_SINCE_BY_TYPE, "REPOST") + "UNION ALL "
+			+ String.format(FEED_SINCE_BY_TYPE, "QUOTE")
+			+ ") feed ORDER BY created_at DESC, id DESC LIMIT ?";
+
+	// 팔로우 타임라인: 본인 + 팔로잉 작성자마다 posts(user_id, created_at, id) 인덱스를 역순으로 limit개만 읽고(LATERAL),
+	// 그 결과를 합쳐 상위 N개를 남깁니다. 작성자 수 x limit 만큼만 읽으므로 posts 테이블 크기와 무관합니다.
+	private static final String FOLLOWING_PAGE_IDS = "SELECT t.id, t.user_id, t.created_at FROM ( "
+			+ "  SELECT following_id AS author_id FROM follows WHERE follower_id = ? " + "  UNION SELECT ? "
+			+ ") authors, LATERAL ( "
+			+ "  SELECT id, user_id, created_at FROM posts WHERE user_id = authors.author_id AND type != 'REPLY' "
+			+ "  AND (created_at < ? OR (created_at = ? AND id < ?)) ORDER BY created_at DESC, id DESC LIMIT ? "
+			+ ") t ORDER BY t.created_at DESC, t.id DESC LIMIT ?";
+
+	// 팔로우 타임라인 중 커서보다 새로운 게시글: 작성자마다 커서 위치까지만 인덱스를 읽습니다.
+	private static final String FOLLOWING_SINCE_IDS = "SELECT t.id, t.created_at FROM ( "
+			+ "  SELECT following_id AS author_id FROM follows WHERE follower_id = ? " + "  UNION SELECT ? "
+			+ ") authors, LATERAL ( "
+			+ "  SELECT id, created_at FROM posts WHERE user_id = authors.author_id AND type != 'REPLY' "
+			+ "  AND (created_at > ? OR (created_at = ? AND id > ?)) ORDER BY created_at DESC, id DESC LIMIT ? "
+			+ ") t ORDER BY t.created_at DESC, t.id DESC LIMIT ?";
+
+	// 답글 트리 한 단계: 부모의 직접 답글을 작성순으로 커서 이후부터 읽습니다. (idx_posts_original 범위 조회)
+	private static final String REPLY_LEVEL_AFTER = "SELECT id, original_post_id, created_at, reply_count FROM posts "
+			+ "WHERE original_post_id = ? AND type = 'REPLY' AND (created_at > ? OR (created_at = ? AND id > ?)) "
+			+ "ORDER BY created_at ASC, id ASC LIMIT ?";
+
+	// 답글 트리 다음 단계: 부모 여러 개의 직접 답글을 부모마다 처음부터 limit개씩 읽습니다.
+	private static final String REPLY_LEVEL_CHILDREN = "SELECT c.id, c.original_post_id, c.created_at, c.reply_count "
+			+ "FROM posts parent, LATERAL ( "
+			+ "  SELECT id, original_post_id, created_at, reply_count FROM posts "
+			+ "  WHERE original_post_id = parent.id AND type = 'REPLY' ORDER BY created_at ASC, id ASC LIMIT ? "
+			+ ") c WHERE parent.id IN (%s)";
+
+	// push 모드 팔로우 타임라인: 사용자 인박스(timeline_entries)의 기본키 범위 조회 한 번
+	private static final String INBOX_PAGE_IDS = "SELECT post_id AS id, created_at FROM timeline_entries "
+			+ "WHERE user_id = ? AND (created_at < ? OR (created_at = ? AND post_id < ?)) "
+			+ "ORDER BY created_at DESC, post_id DESC LIMIT ?";
+
+	// hybrid 모드 팔로우 타임라인: 팔로잉 중 pull 대상(users.timeline_pull) 작성자의 게시글만 LATERAL 범위 조회
+	private static final String PULLED_AUTHORS_PAGE_IDS = "SELECT t.id, t.created_at FROM ( "
+			+ "  SELECT f.following_id AS author_id FROM follows f JOIN users fu ON fu.id = f.following_id "
+			+ "  WHERE f.follower_id = ? AND fu.timeline_pull = 1 " + ") authors, LATERAL ( "
+			+ "  SELECT id, created_at FROM posts WHERE user_id = authors.author_id AND type != 'REPLY' "
+			+ "  AND (created_at < ? OR (created_at = ? AND id < ?)) ORDER BY created_at DESC, id DESC LIMIT ? "
+			+ ") t ORDER BY t.created_at DESC, t.id DESC LIMIT ?";
+
+	// 좋아요/리포스트한 사용자: 최근 순 키셋 페이지. likes (post_id, created_at, user_id),
+	// posts (original_post_id, type, created_at, id) 인덱스의 역순 범위 조회입니다.
+	// %s 자리에는 현재 사용자가 팔로우 중인 사용자만 남길 때의 follows 조인이 들어갑니다.
+	private static final String LIKED_USERS = "SELECT u.id, u.nickname, u.handle, u.bio, u.profile_image_url, "
+			+ "l.created_at AS listed_at, l.user_id AS listed_id FROM likes l %s JOIN users u ON u.id = l.user_id "
+			+ "WHERE l.post_id = ? AND (l.created_at < ? OR (l.created_at = ? AND l.user_id < ?)) "
+			+ "ORDER BY l.created_at DESC, l.user_id DESC LIMIT ?";
+	private static final String REPOSTED_USERS = "SELECT u.id, u.nickname, u.handle, u.bio, u.profile_image_url, "
+			+ "p.created_at AS listed_at, p.id AS listed_id FROM posts p %s JOIN users u ON u.id = p.user_id "
+			+ "WHERE p.original_post_id = ? AND p.type = 'REPOST' AND (p.created_at < ? OR (p.created_at = ? AND p.id < ?)) "
+			+ "ORDER BY p.created_at DESC, p.id DESC LIMIT ?";
+
+	private final TimelineDAO timelineDAO = new TimelineDAO();
+	private final ViewerStateHydrator viewerStateHydrator = new ViewerStateHydrator();
+	private final UserDAO userDAO = new UserDAO();
+
+	/**
+	 * 조회한 게시글(원본 게시글 포함)에 작성자 정보와 현재 사용자 상태를 채웁니다.
+	 * 작성자 정보는 UserCardCache에서 채우고, 캐시에 없는 작성자만 users 테이블에서 한 번에 읽어 넣습니다.
+	 */
+	private void decorate(Connection conn, List<Post> posts, int currentUserId) throws SQLException {
+		LikeCountBuffer.getInstance().applyPending(posts);
+		UserCardCache cards = UserCardCache.getInstance();
+		int[] missing = cards.fill(posts);
+		if (missing.length > 0) {
+			long version = cards.version();
+			List<UserCard> loaded = userDAO.getUserCards(conn, missing);
+			cards.putAll(loaded, version);
+			Map<Integer, UserCard> byId = new HashMap<>();
+			for (UserCard card : loaded) {
+				byId.put(card.getId(), card);
+			}
+			for (Post post : posts) {
+				applyCard(post, byId);
+				applyCard(post.getOriginalPost(), byId);
+			}
+		}
+		viewerStateHydrator.hydrate(conn, posts, currentUserId);
+	}
+
+	private void applyCard(Post post, Map<Integer, UserCard> cards) {
+		if (post == null) {
+			return;
+		}
+		UserCard card = cards.get(post.getUserId());
+		if (card != null) {
+			post.setNickname(card.getNickname());
+			post.setHandle(card.getHandle());
+			post.setProfileImageUrl(card.getProfileImageUrl());
+		}
+	}
 
 	// --- 게시글 쓰기/삭제 로직 ---
 
@@ -71,17 +200,33 @@ public class PostDAO {
 		String updateCountSql = "UPDATE users SET posts_count = posts_count + 1 WHERE id = ?";
 		try (Connection conn = DBUtil.getConnection()) {
 			conn.setAutoCommit(false);
-			try (PreparedStatement stmt = conn.prepareStatement(sql);
+			try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
 					PreparedStatement updatestmt = conn.prepareStatement(updateCountSql)) {
 				stmt.setInt(1, post.getUserId());
 				stmt.setString(2, post.getContent());
 				stmt.setString(3, post.getImageUrl());
 				int rows = stmt.executeUpdate();
 				if (rows > 0) {
+					post.setId(readGeneratedId(stmt));
+					post.setCreatedAt(readCreatedAt(conn, post.getId()));
 					updatestmt.setInt(1, post.getUserId());
 					updatestmt.executeUpdate();
+					// push 모드: 같은 트랜잭션에서 팔로워 인박스에 추가
+					if (TimelineDAO.isPushMode()) {
+						timelineDAO.fanOut(conn, post.getId(), post.getUserId());
+					}
 				}
 				conn.commit();
+				if (rows > 0) {
+					// 캐시된 팔로우 타임라인에 반영
+					TimelineCache.getInstance().onPostCreated(post.getId(), post.getUserId(),
+							post.getCreatedAt().getTime());
+					ContentVersions.getInstance().postsChanged();
+					ContentVersions.getInstance().userChanged(post.getUserId());
+					ContentVersions.getInstance().userPostsChanged(post.getUserId());
+					ProfileFeedCache.getInstance().invalidate(post.getUserId());
+					TimelineStream.getInstance().onPostCreated(post.getId(), post.getUserId());
+				}
 				return rows > 0;
 			} catch (SQLException e) {
 				conn.rollback();
@@ -94,20 +239,84 @@ public class PostDAO {
 	}
 
 	public boolean deletePost(int postId, int userId) {
+		String selectSql = "SELECT type, original_post_id, root_post_id, thread_path FROM posts WHERE id = ? AND user_id = ? FOR UPDATE";
 		String sql = "DELETE FROM posts WHERE id = ? AND user_id = ?";
 		String updateCountSql = "UPDATE users SET posts_count = posts_count - 1 WHERE id = ?";
+		String updateReplyCountSql = "UPDATE posts SET reply_count = reply_count - 1 WHERE id = ? AND reply_count > 0";
+		// 삭제된 답글 아래 하위 트리를 삭제된 답글을 루트로 하는 스레드로 분리 (경로에서 삭제된 답글 앞부분을 잘라냄)
+		String detachSql = "UPDATE posts SET root_post_id = ?, thread_path = SUBSTRING(thread_path, ?) "
+				+ "WHERE root_post_id = ? AND thread_path LIKE ?";
 		try (Connection conn = DBUtil.getConnection()) {
 			conn.setAutoCommit(false);
-			try (PreparedStatement stmt = conn.prepareStatement(sql);
-					PreparedStatement updatestmt = conn.prepareStatement(updateCountSql)) {
+			try (PreparedStatement selectstmt = conn.prepareStatement(selectSql);
+					PreparedStatement stmt = conn.prepareStatement(sql);
+					PreparedStatement updatestmt = conn.prepareStatement(updateCountSql);
+					PreparedStatement replystmt = conn.prepareStatement(updateReplyCountSql);
+					PreparedStatement detachstmt = conn.prepareStatement(detachSql)) {
+				// 답글이면 삭제 후 원본 게시글의 답글 수와 스레드 경로를 정리해야 하므로 유형을 먼저 확인
+				int parentId = 0;
+				int rootId = 0;
+				int repostOf = 0;
+				String threadPath = "";
+				int parentAuthorId = 0;
+				boolean embedded = false;
+				selectstmt.setInt(1, postId);
+				selectstmt.setInt(2, userId);
+				try (ResultSet rs = selectstmt.executeQuery()) {
+					if (rs.next()) {
+						String type = rs.getString("type");
+						if ("REPLY".equals(type)) {
+							parentId = rs.getInt("original_post_id");
+							rootId = rs.getInt("root_post_id");
+							threadPath = rs.getString("thread_path");
+						} else if ("REPOST".equals(type)) {
+							repostOf = rs.getInt("original_post_id");
+						}
+					}
+				}
 				stmt.setInt(1, postId);
 				stmt.setInt(2, userId);
+				// 다른 프로필에 원본으로 담긴 게시글이 사라지거나 답글 수가 바뀌는지 (삭제 전에 확인)
+				embedded = isEmbedded(conn, postId) || (parentId > 0 && isEmbedded(conn, parentId));
 				int rows = stmt.executeUpdate();
 				if (rows > 0) {
 					updatestmt.setInt(1, userId);
 					updatestmt.executeUpdate();
+					if (parentId > 0) {
+						parentAuthorId = readAuthorId(conn, parentId);
+						replystmt.setInt(1, parentId);
+						replystmt.executeUpdate();
+						// 답글이 아닌 게시글의 하위 트리는 이미 그 게시글을 루트로 하므로 그대로 둡니다.
+						detachstmt.setInt(1, postId);
+						detachstmt.setInt(2, threadPath.length() + 1);
+						detachstmt.setInt(3, rootId);
+						detachstmt.setString(4, ThreadPath.childPrefix(threadPath, postId) + "%");
+						detachstmt.executeUpdate();
+					}
 				}
 				conn.commit();
+				if (rows > 0) {
+					TimelineCache.getInstance().onPostDeleted(postId, userId);
+					ProfileFeedCache.getInstance().invalidate(userId);
+					PostCache.getInstance().invalidate(postId);
+					if (parentId > 0) {
+						PostCache.getInstance().invalidate(parentId); // reply_count 변경
+					}
+					ThreadCache.getInstance().onPostDeleted(postId, rootId);
+					TrendingEngine.getInstance().onPostDeleted(postId);
+					if (repostOf > 0) {
+						ReactionUsersCache.getInstance().invalidate(repostOf, ReactionUsersCache.Kind.REPOSTS);
+					}
+					ContentVersions.getInstance().postsChanged();
+					ContentVersions.getInstance().userChanged(userId);
+					ContentVersions.getInstance().userPostsChanged(userId);
+					if (parentAuthorId > 0) {
+						ContentVersions.getInstance().userPostsChanged(parentAuthorId); // 원본 게시글의 답글 수
+					}
+					if (embedded) {
+						ContentVersions.getInstance().embeddedPostsChanged();
+					}
+				}
 				return rows > 0;
 			} catch (SQLException e) {
 				conn.rollback();
@@ -126,16 +335,34 @@ public class PostDAO {
 		String updateCountSql = "UPDATE users SET posts_count = posts_count + 1 WHERE id = ?";
 		try (Connection conn = DBUtil.getConnection()) {
 			conn.setAutoCommit(false);
-			try (PreparedStatement stmt = conn.prepareStatement(sql);
+			try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
 					PreparedStatement updatestmt = conn.prepareStatement(updateCountSql)) {
 				stmt.setInt(1, post.getUserId());
 				stmt.setInt(2, post.getOriginalPostId());
 				int rows = stmt.executeUpdate();
 				if (rows > 0) {
+					post.setId(readGeneratedId(stmt));
+					post.setCreatedAt(readCreatedAt(conn, post.getId()));
 					updatestmt.setInt(1, post.getUserId());
 					updatestmt.executeUpdate();
+					// push 모드: 같은 트랜잭션에서 팔로워 인박스에 추가
+					if (TimelineDAO.isPushMode()) {
+						timelineDAO.fanOut(conn, post.getId(), post.getUserId());
+					}
 				}
 				conn.commit();
+				if (rows > 0) {
+					// 캐시된 팔로우 타임라인에 반영
+					TimelineCache.getInstance().onPostCreated(post.getId(), post.getUserId(),
+							post.getCreatedAt().getTime());
+					ContentVersions.getInstance().postsChanged();
+					ContentVersions.getInstance().userChanged(post.getUserId());
+					ContentVersions.getInstance().userPostsChanged(post.getUserId());
+					ProfileFeedCache.getInstance().invalidate(post.getUserId());
+					TimelineStream.getInstance().onPostCreated(post.getId(), post.getUserId());
+					TrendingEngine.getInstance().onRepost(post.getOriginalPostId());
+					ReactionUsersCache.getInstance().invalidate(post.getOriginalPostId(), ReactionUsersCache.Kind.REPOSTS);
+				}
 				return rows > 0;
 			} catch (SQLException e) {
 				conn.rollback();
@@ -152,17 +379,34 @@ public class PostDAO {
 		String updateCountSql = "UPDATE users SET posts_count = posts_count + 1 WHERE id = ?";
 		try (Connection conn = DBUtil.getConnection()) {
 			conn.setAutoCommit(false);
-			try (PreparedStatement stmt = conn.prepareStatement(sql);
+			try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
 					PreparedStatement updatestmt = conn.prepareStatement(updateCountSql)) {
 				stmt.setInt(1, post.getUserId());
 				stmt.setString(2, post.getContent());
 				stmt.setInt(3, post.getOriginalPostId());
 				int rows = stmt.executeUpdate();
 				if (rows > 0) {
+					post.setId(readGeneratedId(stmt));
+					post.setCreatedAt(readCreatedAt(conn, post.getId()));
 					updatestmt.setInt(1, post.getUserId());
 					updatestmt.executeUpdate();
+					// push 모드: 같은 트랜잭션에서 팔로워 인박스에 추가
+					if (TimelineDAO.isPushMode()) {
+						timelineDAO.fanOut(conn, post.getId(), post.getUserId());
+					}
 				}
 				conn.commit();
+				if (rows > 0) {
+					// 캐시된 팔로우 타임라인에 반영
+					TimelineCache.getInstance().onPostCreated(post.getId(), post.getUserId(),
+							post.getCreatedAt().getTime());
+					ContentVersions.getInstance().postsChanged();
+					ContentVersions.getInstance().userChanged(post.getUserId());
+					ContentVersions.getInstance().userPostsChanged(post.getUserId());
+					ProfileFeedCache.getInstance().invalidate(post.getUserId());
+					TimelineStream.getInstance().onPostCreated(post.getId(), post.getUserId());
+					TrendingEngine.getInstance().onQuote(post.getOriginalPostId());
+				}
 				return rows > 0;
 			} catch (SQLException e) {
 				conn.rollback();
@@ -174,22 +418,100 @@ public class PostDAO {
 		}
 	}
 
+	// 게시글 작성자 ID를 읽습니다. (없으면 0)
+	private int readAuthorId(Connection conn, int postId) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement("SELECT user_id FROM posts WHERE id = ?")) {
+			stmt.setInt(1, postId);
+			try (ResultSet rs = stmt.executeQuery()) {
+				return rs.next() ? rs.getInt(1) : 0;
+			}
+		}
+	}
+
+	// 게시글이 리포스트/인용의 원본으로 다른 게시글에 담겨 있는지 확인합니다. (idx_posts_original 범위 조회)
+	private boolean isEmbedded(Connection conn, int postId) throws SQLException {
+		String sql = "SELECT 1 FROM posts WHERE original_post_id = ? AND type IN ('REPOST', 'QUOTE') LIMIT 1";
+		try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+			stmt.setInt(1, postId);
+			try (ResultSet rs = stmt.executeQuery()) {
+				return rs.next();
+			}
+		}
+	}
+
+	// INSERT 후 생성된 게시글 ID를 읽습니다.
+	private int readGeneratedId(PreparedStatement stmt) throws SQLException {
+		try (ResultSet keys = stmt.getGeneratedKeys()) {
+			return keys.next() ? keys.getInt(1) : 0;
+		}
+	}
+
+	// 방금 추가한 게시글의 작성 시각(DB 기본값)을 읽습니다. 커서/캐시 정렬 기준과 일치시키기 위해 사용합니다.
+	private Timestamp readCreatedAt(Connection conn, int postId) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement("SELECT created_at FROM posts WHERE id = ?")) {
+			stmt.setInt(1, postId);
+			try (ResultSet rs = stmt.executeQuery()) {
+				return rs.next() ? rs.getTimestamp(1) : new Timestamp(System.currentTimeMillis());
+			}
+		}
+	}
+
 	public boolean addReply(Post post) {
-		String sql = "INSERT INTO posts (user_id, content, type, original_post_id) VALUES (?, ?, 'REPLY', ?)";
+		// 스레드 루트와 경로는 부모 행에서 계산합니다. (부모가 답글이면 부모의 루트, 아니면 부모 자신이 루트)
+		// 부모가 없거나 답글 깊이 한도(ThreadPath.MAX_DEPTH)에 닿았으면 추가되지 않습니다.
+		String sql = "INSERT INTO posts (user_id, content, type, original_post_id, root_post_id, thread_path) "
+				+ "SELECT ?, ?, 'REPLY', parent.id, IF(parent.type = 'REPLY', parent.root_post_id, parent.id), "
+				+ "CONCAT(parent.thread_path, LPAD(HEX(parent.id), 8, '0')) FROM posts parent "
+				+ "WHERE parent.id = ? AND CHAR_LENGTH(parent.thread_path) <= ?";
 		String updateCountSql = "UPDATE users SET posts_count = posts_count + 1 WHERE id = ?";
+		String updateReplyCountSql = "UPDATE posts SET reply_count = reply_count + 1 WHERE id = ?";
+		String positionSql = "SELECT root_post_id, created_at FROM posts WHERE id = ?";
 		try (Connection conn = DBUtil.getConnection()) {
 			conn.setAutoCommit(false);
-			try (PreparedStatement stmt = conn.prepareStatement(sql);
-					PreparedStatement updatestmt = conn.prepareStatement(updateCountSql)) {
+			try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+					PreparedStatement updatestmt = conn.prepareStatement(updateCountSql);
+					PreparedStatement replystmt = conn.prepareStatement(updateReplyCountSql);
+					PreparedStatement positionstmt = conn.prepareStatement(positionSql)) {
 				stmt.setInt(1, post.getUserId());
 				stmt.setString(2, post.getContent());
 				stmt.setInt(3, post.getOriginalPostId());
+				stmt.setInt(4, ThreadPath.MAX_LENGTH - ThreadPath.SEGMENT_LENGTH);
 				int rows = stmt.executeUpdate();
+				int rootId = 0;
+				int parentAuthorId = 0;
+				boolean embedded = false;
 				if (rows > 0) {
+					// 스레드 캐시에 덧붙일 위치 (루트, 작성 시각)
+					post.setId(readGeneratedId(stmt));
+					positionstmt.setInt(1, post.getId());
+					try (ResultSet rs = positionstmt.executeQuery()) {
+						if (rs.next()) {
+							rootId = rs.getInt("root_post_id");
+							post.setCreatedAt(rs.getTimestamp("created_at"));
+						}
+					}
 					updatestmt.setInt(1, post.getUserId());
 					updatestmt.executeUpdate();
+					// 원본 게시글의 답글 수 (posts.reply_count)
+					replystmt.setInt(1, post.getOriginalPostId());
+					replystmt.executeUpdate();
+					parentAuthorId = readAuthorId(conn, post.getOriginalPostId());
+					embedded = isEmbedded(conn, post.getOriginalPostId());
 				}
 				conn.commit();
+				if (rows > 0) {
+					PostCache.getInstance().invalidate(post.getOriginalPostId()); // reply_count 변경
+					ThreadCache.getInstance().onReplyAdded(rootId, post.getId(), post.getOriginalPostId(),
+							post.getCreatedAt() == null ? System.currentTimeMillis() : post.getCreatedAt().getTime());
+					TrendingEngine.getInstance().onReply(post.getOriginalPostId());
+					ContentVersions.getInstance().postsChanged();
+					ContentVersions.getInstance().userChanged(post.getUserId());
+					ContentVersions.getInstance().userPostsChanged(post.getUserId());
+					ContentVersions.getInstance().userPostsChanged(parentAuthorId); // 원본 게시글의 답글 수
+					if (embedded) {
+						ContentVersions.getInstance().embeddedPostsChanged();
+					}
+				}
 				return rows > 0;
 			} catch (SQLException e) {
 				conn.rollback();
@@ -201,6 +523,24 @@ public class PostDAO {
 		}
 	}
 
+	/**
+	 * 게시글에 답글을 더 달 수 없는지 확인합니다. (답글 경로가 thread_path 컬럼 길이를 넘는 경우)
+	 * 게시글이 없으면 false 입니다. (addReply 가 추가하지 않음)
+	 */
+	public boolean isReplyDepthExceeded(int postId) {
+		String sql = "SELECT CHAR_LENGTH(thread_path) FROM posts WHERE id = ?";
+		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+			stmt.setInt(1, postId);
+			try (ResultSet rs = stmt.executeQuery()) {
+				if (rs.next())
+					return !ThreadPath.canAppend(rs.getInt(1));
+			}
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		return false;
+	}
+
 	public boolean hasUserReposted(int userId, int originalPostId) {
 		String sql = "SELECT COUNT(*) FROM posts WHERE user_id = ? AND original_post_id = ? AND type = 'REPOST'";
 		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -218,12 +558,29 @@ public class PostDAO {
 
 	// --- 게시글 조회 로직 ---
 
-	public List<Post> getAllPosts(int currentUserId) {
+	/**
+	 * 전체 피드를 (created_at, id) 키셋 커서로 나눠 조회합니다. 답글은 제외됩니다.
+	 * 커서 위치와 관계없이 인덱스 범위 조회만 수행하므로 깊은 페이지도 첫 페이지와 비용이 같습니다.
+	 *
+	 * @param currentUserId 현재 사용자 ID (비로그인 시 0)
+	 * @param before        이 커서보다 오래된 게시글부터 조회 (첫 페이지는 FeedCursor.START)
+	 * @param limit         페이지 크기
+	 * @return 게시글 페이지 (다음 페이지가 없으면 nextCursor는 null)
+	 */
+	public PostPage getAllPosts(int currentUserId, FeedCursor before, int limit) {
 		List<Post> posts = new ArrayList<>();
-		String sql = BASE_SELECT + BASE_JOINS + "WHERE p.type != 'REPLY' ORDER BY p.created_at DESC";
+		String sql = BASE_SELECT + "FROM (" + FEED_PAGE_IDS + ") page JOIN posts p ON p.id = page.id " + POST_JOINS
+				+ "ORDER BY p.created_at DESC, p.id DESC";
 		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
-			stmt.setInt(1, currentUserId);
-			stmt.setInt(2, currentUserId);
+			int idx = 1;
+			// 유형별 범위 조회 3개에 같은 커서와 limit + 1 (다음 페이지 존재 여부 확인용)을 바인딩
+			for (int i = 0; i < 3; i++) {
+				stmt.setTimestamp(idx++, before.getCreatedAt());
+				stmt.setTimestamp(idx++, before.getCreatedAt());
+				stmt.setInt(idx++, before.getId());
+				stmt.setInt(idx++, limit + 1);
+			}
+			stmt.setInt(idx, limit + 1);
 			try (ResultSet rs = stmt.executeQuery()) {
 				while (rs.next()) {
 					Post post = mapPost(rs);
@@ -231,22 +588,45 @@ public class PostDAO {
 					posts.add(post);
 				}
 			}
+			decorate(conn, posts, currentUserId);
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
-		return posts;
+		return FeedCursor.toPage(posts, limit);
 	}
 
+	/**
+	 * 게시글 하나를 조회합니다. 게시글 캐시({@link PostCache})를 먼저 확인하고, 없으면 DB에서 읽어 캐시에 넣습니다.
+	 * 현재 사용자 상태는 캐시 여부와 관계없이 매번 채웁니다.
+	 */
 	public Post getPostById(int postId, int currentUserId) {
+		PostCache cache = PostCache.getInstance();
+		Post cached = cache.get(postId);
+		if (cached != null) {
+			List<Post> one = List.of(cached);
+			// 작성자 정보가 모두 캐시에 있고 비로그인이면 DB 접근 없이 반환
+			if (currentUserId > 0 || UserCardCache.getInstance().fill(one).length > 0) {
+				try (Connection conn = DBUtil.getConnection()) {
+					decorate(conn, one, currentUserId);
+				} catch (SQLException e) {
+					e.printStackTrace();
+				}
+			} else {
+				LikeCountBuffer.getInstance().applyPending(one);
+			}
+			return cached;
+		}
+
 		String sql = BASE_SELECT + BASE_JOINS + "WHERE p.id = ?";
+		long version = cache.version();
 		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
-			stmt.setInt(1, currentUserId);
-			stmt.setInt(2, currentUserId);
-			stmt.setInt(3, postId);
+			stmt.setInt(1, postId);
 			try (ResultSet rs = stmt.executeQuery()) {
 				if (rs.next()) {
 					Post post = mapPost(rs);
 					post.setOriginalPost(mapOriginalPost(rs));
+					cache.put(post, version);
+					decorate(conn, List.of(post), currentUserId);
 					return post;
 				}
 			}
@@ -260,13 +640,31 @@ public class PostDAO {
 		return getPostById(postId, 0);
 	}
 
-	public List<Post> getPostsByUserId(int userId, int currentUserId) {
+	/**
+	 * 사용자의 게시글(답글 제외)을 키셋 커서로 나눠 조회합니다. (user_id, created_at, id) 인덱스를 역순으로 limit + 1개만 읽습니다.
+	 * 첫 페이지는 ProfileFeedCache의 게시글 ID 목록을 사용하고 게시글은 PostCache에서 채웁니다.
+	 *
+	 * @param userId        프로필 사용자 ID
+	 * @param currentUserId 현재 사용자 ID (비로그인 시 0)
+	 * @param before        이 커서보다 오래된 게시글부터 조회
+	 * @param limit         페이지 크기
+	 * @return 게시글 페이지 (다음 페이지가 없으면 nextCursor는 null)
+	 */
+	public PostPage getUserPosts(int userId, int currentUserId, FeedCursor before, int limit) {
+		ProfileFeedCache cache = ProfileFeedCache.getInstance();
+		if (before == FeedCursor.START && cache.isEnabled() && limit <= cache.getPageSize()) {
+			return getUserFirstPage(userId, currentUserId, limit);
+		}
+
 		List<Post> posts = new ArrayList<>();
-		String sql = BASE_SELECT + BASE_JOINS + "WHERE p.user_id = ? AND p.type != 'REPLY' ORDER BY p.created_at DESC";
+		String sql = BASE_SELECT + "FROM (" + USER_PAGE_IDS + ") page JOIN posts p ON p.id = page.id " + POST_JOINS
+				+ "ORDER BY p.created_at DESC, p.id DESC";
 		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
-			stmt.setInt(1, currentUserId);
-			stmt.setInt(2, currentUserId);
-			stmt.setInt(3, userId);
+			stmt.setInt(1, userId);
+			stmt.setTimestamp(2, before.getCreatedAt());
+			stmt.setTimestamp(3, before.getCreatedAt());
+			stmt.setInt(4, before.getId());
+			stmt.setInt(5, limit + 1);
 			try (ResultSet rs = stmt.executeQuery()) {
 				while (rs.next()) {
 					Post post = mapPost(rs);
@@ -274,10 +672,76 @@ public class PostDAO {
 					posts.add(post);
 				}
 			}
+			decorate(conn, posts, currentUserId);
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
-		return posts;
+		return FeedCursor.toPage(posts, limit);
+	}
+
+	private PostPage getUserFirstPage(int userId, int currentUserId, int limit) {
+		ProfileFeedCache cache = ProfileFeedCache.getInstance();
+		ProfileFeedCache.FirstPage cached = cache.get(userId);
+		int[] ids;
+		long[] createdAt;
+		int count = 0;
+		if (cached != null) {
+			count = cached.size();
+			ids = new int[count];
+			createdAt = new long[count];
+			for (int i = 0; i < count; i++) {
+				ids[i] = cached.getId(i);
+				createdAt[i] = cached.getCreatedAt(i);
+			}
+		} else {
+			int max = cache.getPageSize() + 1;
+			ids = new int[max];
+			createdAt = new long[max];
+			long version = cache.version();
+			try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(USER_PAGE_IDS)) {
+				stmt.setInt(1, userId);
+				stmt.setTimestamp(2, FeedCursor.START.getCreatedAt());
+				stmt.setTimestamp(3, FeedCursor.START.getCreatedAt());
+				stmt.setInt(4, FeedCursor.START.getId());
+				stmt.setInt(5, max);
+				try (ResultSet rs = stmt.executeQuery()) {
+					while (rs.next()) {
+						ids[count] = rs.getInt(1);
+						createdAt[count] = rs.getTimestamp(2).getTime();
+						count++;
+					}
+				}
+			} catch (SQLException e) {
+				e.printStackTrace();
+				return new PostPage(new ArrayList<>(), null);
+			}
+			cache.put(userId, ids, createdAt, count, version);
+		}
+
+		int size = Math.min(limit, count);
+		List<Post> posts = getPostsByIdsCached(Arrays.copyOf(ids, size), currentUserId);
+		String nextCursor = count > limit
+				? new FeedCursor(new Timestamp(createdAt[limit - 1]), ids[limit - 1]).encode()
+				: null;
+		return new PostPage(posts, nextCursor);
+	}
+
+	/**
+	 * 사용자가 작성한 게시글 수(답글 제외)를 셉니다.
+	 */
+	public int countPostsByUserId(int userId) {
+		String sql = "SELECT COUNT(*) FROM posts WHERE user_id = ? AND type != 'REPLY'";
+		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+			stmt.setInt(1, userId);
+			try (ResultSet rs = stmt.executeQuery()) {
+				if (rs.next()) {
+					return rs.getInt(1);
+				}
+			}
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		return 0;
 	}
 
 	public List<Post> searchPosts(String q, int currentUserId) {
@@ -285,9 +749,7 @@ public class PostDAO {
 		String sql = BASE_SELECT + BASE_JOINS
 				+ "WHERE p.type != 'REPLY' AND p.content LIKE ? ORDER BY p.created_at DESC LIMIT 50";
 		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
-			stmt.setInt(1, currentUserId);
-			stmt.setInt(2, currentUserId);
-			stmt.setString(3, "%" + q + "%");
+			stmt.setString(1, "%" + q + "%");
 			try (ResultSet rs = stmt.executeQuery()) {
 				while (rs.next()) {
 					Post post = mapPost(rs);
@@ -295,68 +757,169 @@ public class PostDAO {
 					posts.add(post);
 				}
 			}
+			decorate(conn, posts, currentUserId);
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
 		return posts;
 	}
 
-	public List<Post> getFollowingTimeline(int currentUserId) {
+	/**
+	 * 본인과 팔로우한 사용자의 게시글을 (created_at, id) 키셋 커서로 나눠 조회합니다. 답글은 제외됩니다.
+	 *
+	 * @param currentUserId 현재 사용자 ID
+	 * @param before        이 커서보다 오래된 게시글부터 조회 (첫 페이지는 FeedCursor.START)
+	 * @param limit         페이지 크기
+	 * @return 게시글 페이지 (다음 페이지가 없으면 nextCursor는 null)
+	 */
+	public PostPage getFollowingTimeline(int currentUserId, FeedCursor before, int limit) {
 		List<Post> posts = new ArrayList<>();
-
-		// 1. SELECT 절에 u.profile_image_url과 op.op_profile_image_url을 확실히 넣었습니다.
-		String sql = "SELECT DISTINCT p.id, p.user_id, p.content, p.image_url, p.created_at, p.like_count, p.type, p.original_post_id, "
-				+ "u.nickname, u.handle, u.profile_image_url, " // <-- 여기서 에러 났던 것 해결
-				+ "(SELECT COUNT(*) FROM likes WHERE post_id = p.id AND user_id = ?) > 0 AS is_liked, "
-				+ "(SELECT COUNT(*) FROM posts WHERE original_post_id = p.id AND type = 'REPLY') AS reply_count, "
-				+ "op.id AS op_id, op.user_id AS op_user_id, op.content AS op_content, op.image_url AS op_image_url, op.created_at AS op_created_at, "
-				+ "op.like_count AS op_like_count, op.type AS op_type, ou.nickname AS op_nickname, ou.handle AS op_handle, "
-				+ "ou.profile_image_url AS op_profile_image_url, " // <-- 원본 게시글 프로필도 추가
-				+ "(SELECT COUNT(*) FROM likes WHERE post_id = op.id AND user_id = ?) > 0 AS op_is_liked, "
-				+ "(SELECT COUNT(*) FROM posts WHERE original_post_id = op.id AND type = 'REPLY') AS op_reply_count "
-				+ BASE_JOINS + "LEFT JOIN follows f ON p.user_id = f.following_id AND f.follower_id = ? "
-				+ "WHERE (f.follower_id = ? OR p.user_id = ?) AND p.type != 'REPLY' " + "ORDER BY p.created_at DESC";
+		String sql = BASE_SELECT + "FROM (" + FOLLOWING_PAGE_IDS + ") page JOIN posts p ON p.id = page.id "
+				+ POST_JOINS + "ORDER BY p.created_at DESC, p.id DESC";
 
 		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+			stmt.setInt(1, currentUserId); // 팔로잉 목록
+			stmt.setInt(2, currentUserId); // 본인
+			stmt.setTimestamp(3, before.getCreatedAt());
+			stmt.setTimestamp(4, before.getCreatedAt());
+			stmt.setInt(5, before.getId());
+			stmt.setInt(6, limit + 1); // 작성자별 최대 개수
+			stmt.setInt(7, limit + 1); // 전체 최대 개수 (다음 페이지 존재 여부 확인용)
 
-			// 2. 모든 ? 자리에 currentUserId를 순서대로 바인딩합니다.
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					Post post = mapPost(rs);
+					post.setOriginalPost(mapOriginalPost(rs));
+					posts.add(post);
+				}
+			}
+			decorate(conn, posts, currentUserId);
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		return FeedCursor.toPage(posts, limit);
+	}
+
+	/**
+	 * 캐시 적재용으로 팔로우 타임라인의 최신 항목을 ID/작성자/작성 시각만 조회합니다.
+	 *
+	 * @param currentUserId 현재 사용자 ID
+	 * @param max           최대 개수
+	 * @return id, userId, createdAt만 채워진 게시글 목록 (최신순)
+	 */
+	public List<Post> getFollowingTimelineEntries(int currentUserId, int max) {
+		List<Post> entries = new ArrayList<>();
+		try (Connection conn = DBUtil.getConnection();
+				PreparedStatement stmt = conn.prepareStatement(FOLLOWING_PAGE_IDS)) {
 			stmt.setInt(1, currentUserId);
 			stmt.setInt(2, currentUserId);
-			stmt.setInt(3, currentUserId);
-			stmt.setInt(4, currentUserId);
-			stmt.setInt(5, currentUserId);
+			stmt.setTimestamp(3, FeedCursor.START.getCreatedAt());
+			stmt.setTimestamp(4, FeedCursor.START.getCreatedAt());
+			stmt.setInt(5, FeedCursor.START.getId());
+			stmt.setInt(6, max);
+			stmt.setInt(7, max);
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					entries.add(new Post(rs.getInt("id"), rs.getInt("user_id"), null, rs.getTimestamp("created_at"), 0));
+				}
+			}
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		return entries;
+	}
 
+	/**
+	 * 게시글 ID 목록을 한 번에 조회해 같은 순서로 반환합니다. 존재하지 않는 ID는 건너뜁니다.
+	 *
+	 * @param ids           게시글 ID 목록
+	 * @param currentUserId 현재 사용자 ID (비로그인 시 0)
+	 */
+	public List<Post> getPostsByIds(int[] ids, int currentUserId) {
+		List<Post> posts = new ArrayList<>(ids.length);
+		if (ids.length == 0) {
+			return posts;
+		}
+		String sql = BASE_SELECT + BASE_JOINS + "WHERE p.id IN (" + DBUtil.placeholders(DBUtil.inListSize(ids.length)) + ")";
+
+		Map<Integer, Post> byId = new HashMap<>();
+		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+			DBUtil.setIntList(stmt, 1, ids);
 			try (ResultSet rs = stmt.executeQuery()) {
 				while (rs.next()) {
-					// 이제 rs에 profile_image_url이 들어있어서 mapPost가 에러를 내지 않습니다.
 					Post post = mapPost(rs);
 					post.setOriginalPost(mapOriginalPost(rs));
-					posts.add(post);
+					byId.put(post.getId(), post);
 				}
 			}
+			decorate(conn, new ArrayList<>(byId.values()), currentUserId);
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
+		for (int id : ids) {
+			Post post = byId.get(id);
+			if (post != null) {
+				posts.add(post);
+			}
+		}
 		return posts;
 	}
 
-	// --- 스레드 관련 재귀 쿼리 (Ancestors & Descendants) ---
+	/**
+	 * push 모드에서 사용자 인박스에 쌓인 게시글을 키셋 커서로 나눠 조회합니다.
+	 *
+	 * @param currentUserId 인박스 주인(현재 사용자) ID
+	 * @param before        이 커서보다 오래된 게시글부터 조회
+	 * @param limit         페이지 크기
+	 * @return 게시글 페이지 (다음 페이지가 없으면 nextCursor는 null)
+	 */
+	public PostPage getInboxTimeline(int currentUserId, FeedCursor before, int limit) {
+		List<Post> posts = new ArrayList<>();
+		String sql = BASE_SELECT + "FROM (" + INBOX_PAGE_IDS + ") page JOIN posts p ON p.id = page.id "
+				+ POST_JOINS + "ORDER BY p.created_at DESC, p.id DESC";
 
-	public List<Post> getAncestors(int postId, int currentUserId) {
+		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+			stmt.setInt(1, currentUserId);
+			stmt.setTimestamp(2, before.getCreatedAt());
+			stmt.setTimestamp(3, before.getCreatedAt());
+			stmt.setInt(4, before.getId());
+			stmt.setInt(5, limit + 1);
+
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					Post post = mapPost(rs);
+					post.setOriginalPost(mapOriginalPost(rs));
+					posts.add(post);
+				}
+			}
+			decorate(conn, posts, currentUserId);
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		return FeedCursor.toPage(posts, limit);
+	}
+
+	/**
+	 * 팔로우 중인 pull 대상 작성자(users.timeline_pull)의 게시글을 키셋 커서로 나눠 조회합니다.
+	 *
+	 * @param currentUserId 현재 사용자 ID
+	 * @param before        이 커서보다 오래된 게시글부터 조회
+	 * @param limit         페이지 크기
+	 * @return 게시글 페이지 (다음 페이지가 없으면 nextCursor는 null)
+	 */
+	public PostPage getPulledAuthorsTimeline(int currentUserId, FeedCursor before, int limit) {
 		List<Post> posts = new ArrayList<>();
-		String sql = "WITH RECURSIVE ancestor_posts AS ( "
-				+ "  SELECT id, original_post_id, type, 0 as depth FROM posts WHERE id = ? " + "  UNION ALL "
-				+ "  SELECT p.id, p.original_post_id, p.type, ap.depth + 1 " + "  FROM posts p "
-				+ "  INNER JOIN ancestor_posts ap ON p.id = ap.original_post_id " + "  WHERE ap.type = 'REPLY' " + ") "
-				+ BASE_SELECT + "FROM posts p " + "JOIN ancestor_posts ap ON p.id = ap.id "
-				+ "JOIN users u ON p.user_id = u.id " + "LEFT JOIN posts op ON p.original_post_id = op.id "
-				+ "LEFT JOIN users ou ON op.user_id = ou.id " + "WHERE p.id != ? " + "ORDER BY ap.depth DESC";
+		String sql = BASE_SELECT + "FROM (" + PULLED_AUTHORS_PAGE_IDS + ") page JOIN posts p ON p.id = page.id "
+				+ POST_JOINS + "ORDER BY p.created_at DESC, p.id DESC";
 
 		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
-			stmt.setInt(1, postId);
-			stmt.setInt(2, currentUserId);
-			stmt.setInt(3, currentUserId);
-			stmt.setInt(4, postId);
+			stmt.setInt(1, currentUserId);
+			stmt.setTimestamp(2, before.getCreatedAt());
+			stmt.setTimestamp(3, before.getCreatedAt());
+			stmt.setInt(4, before.getId());
+			stmt.setInt(5, limit + 1);
+			stmt.setInt(6, limit + 1);
+
 			try (ResultSet rs = stmt.executeQuery()) {
 				while (rs.next()) {
 					Post post = mapPost(rs);
@@ -364,26 +927,156 @@ public class PostDAO {
 					posts.add(post);
 				}
 			}
+			decorate(conn, posts, currentUserId);
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		return FeedCursor.toPage(posts, limit);
+	}
+
+	// --- 트렌딩 ---
+
+	/**
+	 * TrendingEngine의 상위 게시글을 순서대로 조회합니다.
+	 *
+	 * @param currentUserId 현재 사용자 ID (비로그인 시 0)
+	 * @param limit         최대 개수
+	 */
+	public List<Post> getTrendingPosts(int currentUserId, int limit) {
+		return getPostsByIdsCached(TrendingEngine.getInstance().top(limit), currentUserId);
+	}
+
+	/**
+	 * getPostsByIds와 같지만 PostCache를 먼저 확인하고, 없는 게시글만 DB에서 한 번에 읽습니다.
+	 * 모두 캐시에 있고 비로그인이면 DB에 접근하지 않습니다.
+	 */
+	public List<Post> getPostsByIdsCached(int[] ids, int currentUserId) {
+		PostCache cache = PostCache.getInstance();
+		Post[] found = new Post[ids.length];
+		int[] missing = new int[ids.length];
+		int missingCount = 0;
+		for (int i = 0; i < ids.length; i++) {
+			found[i] = cache.get(ids[i]);
+			if (found[i] == null) {
+				missing[missingCount++] = ids[i];
+			}
+		}
+		List<Post> posts = new ArrayList<>(ids.length);
+		for (Post post : found) {
+			if (post != null) {
+				posts.add(post);
+			}
+		}
+		if (missingCount == 0 && currentUserId <= 0 && UserCardCache.getInstance().fill(posts).length == 0) {
+			LikeCountBuffer.getInstance().applyPending(posts);
+			return posts;
+		}
+
+		try (Connection conn = DBUtil.getConnection()) {
+			if (missingCount > 0) {
+				String sql = BASE_SELECT + BASE_JOINS + "WHERE p.id IN ("
+						+ DBUtil.placeholders(DBUtil.inListSize(missingCount)) + ")";
+				long version = cache.version();
+				Map<Integer, Post> byId = new HashMap<>();
+				try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+					DBUtil.setIntList(stmt, 1, Arrays.copyOf(missing, missingCount));
+					try (ResultSet rs = stmt.executeQuery()) {
+						while (rs.next()) {
+							Post post = mapPost(rs);
+							post.setOriginalPost(mapOriginalPost(rs));
+							cache.put(post, version);
+							byId.put(post.getId(), post);
+						}
+					}
+				}
+				posts.clear();
+				for (int i = 0; i < ids.length; i++) {
+					Post post = found[i] != null ? found[i] : byId.get(ids[i]);
+					if (post != null) {
+						posts.add(post);
+					}
+				}
+			}
+			decorate(conn, posts, currentUserId);
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
 		return posts;
 	}
 
-	public List<Post> getDescendants(int postId, int currentUserId) {
-		List<Post> posts = new ArrayList<>();
-		String sql = "WITH RECURSIVE descendant_posts AS ( "
-				+ "  SELECT id, original_post_id, type, 1 as depth FROM posts WHERE original_post_id = ? AND type = 'REPLY' "
-				+ "  UNION ALL " + "  SELECT p.id, p.original_post_id, p.type, dp.depth + 1 " + "  FROM posts p "
-				+ "  INNER JOIN descendant_posts dp ON p.original_post_id = dp.id " + "  WHERE p.type = 'REPLY' " + ") "
-				+ BASE_SELECT + "FROM posts p " + "JOIN descendant_posts dp ON p.id = dp.id "
-				+ "JOIN users u ON p.user_id = u.id " + "LEFT JOIN posts op ON p.original_post_id = op.id "
-				+ "LEFT JOIN users ou ON op.user_id = ou.id " + "ORDER BY dp.depth ASC, p.created_at ASC";
+	/**
+	 * 최근 이벤트를 DB에서 읽어 TrendingEngine을 다시 채웁니다. (애플리케이션 시작 시 호출)
+	 * <ul>
+	 * <li>리포스트/인용/답글: 작성 시각에 원본(부모) 게시글로 반영합니다. 유형별 (type, created_at) 인덱스 범위 조회입니다.</li>
+	 * <li>좋아요: likes.created_at에는 게시글별 인덱스만 있어 기간 조회가 전체 스캔이 되므로,
+	 * 기간 내 게시글의 like_count를 게시글 작성 시각에 반영합니다. (근사치)</li>
+	 * </ul>
+	 *
+	 * @param windowMillis 읽을 기간 (현재 시각 기준)
+	 */
+	public void rebuildTrending(long windowMillis) {
+		TrendingEngine engine = TrendingEngine.getInstance();
+		long startedAt = System.currentTimeMillis();
+		Timestamp since = new Timestamp(startedAt - windowMillis);
+		String likesSql = "SELECT id, created_at, like_count FROM posts WHERE type = ? AND created_at >= ? AND like_count > 0";
+		String eventsSql = "SELECT original_post_id, created_at FROM posts WHERE type = ? AND created_at >= ?";
+		String[] eventTypes = { "REPOST", "QUOTE", "REPLY" };
+		double[] eventWeights = { TrendingEngine.REPOST_WEIGHT, TrendingEngine.QUOTE_WEIGHT, TrendingEngine.REPLY_WEIGHT };
+		long count = 0;
+		engine.reset();
+		try (Connection conn = DBUtil.getConnection();
+				PreparedStatement likestmt = conn.prepareStatement(likesSql);
+				PreparedStatement eventstmt = conn.prepareStatement(eventsSql)) {
+			for (String type : new String[] { "ORIGINAL", "QUOTE", "REPLY" }) {
+				likestmt.setString(1, type);
+				likestmt.setTimestamp(2, since);
+				try (ResultSet rs = likestmt.executeQuery()) {
+					while (rs.next()) {
+						engine.record(rs.getInt(1), TrendingEngine.LIKE_WEIGHT * rs.getInt(3),
+								rs.getTimestamp(2).getTime());
+						count++;
+					}
+				}
+			}
+			for (int t = 0; t < eventTypes.length; t++) {
+				eventstmt.setString(1, eventTypes[t]);
+				eventstmt.setTimestamp(2, since);
+				try (ResultSet rs = eventstmt.executeQuery()) {
+					while (rs.next()) {
+						engine.record(rs.getInt(1), eventWeights[t], rs.getTimestamp(2).getTime());
+						count++;
+					}
+				}
+			}
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		engine.rebuilt(count, System.currentTimeMillis() - startedAt);
+	}
 
+	// --- 변경분 조회 (since) ---
+
+	/**
+	 * 전체 피드에서 커서보다 새로운 게시글을 최신순으로 최대 limit + 1개 조회합니다.
+	 * limit개를 넘으면 커서와 반환된 게시글 사이에 더 있다는 뜻입니다.
+	 *
+	 * @param currentUserId 현재 사용자 ID (비로그인 시 0)
+	 * @param after         클라이언트가 가진 가장 최신 게시글 위치
+	 * @param limit         최대 개수
+	 */
+	public List<Post> getPostsSince(int currentUserId, FeedCursor after, int limit) {
+		List<Post> posts = new ArrayList<>();
+		String sql = BASE_SELECT + "FROM (" + FEED_SINCE_IDS + ") page JOIN posts p ON p.id = page.id " + POST_JOINS
+				+ "ORDER BY p.created_at DESC, p.id DESC";
 		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
-			stmt.setInt(1, postId);
-			stmt.setInt(2, currentUserId);
-			stmt.setInt(3, currentUserId);
+			int idx = 1;
+			for (int i = 0; i < 3; i++) {
+				stmt.setTimestamp(idx++, after.getCreatedAt());
+				stmt.setTimestamp(idx++, after.getCreatedAt());
+				stmt.setInt(idx++, after.getId());
+				stmt.setInt(idx++, limit + 1);
+			}
+			stmt.setInt(idx, limit + 1);
 			try (ResultSet rs = stmt.executeQuery()) {
 				while (rs.next()) {
 					Post post = mapPost(rs);
@@ -391,57 +1084,416 @@ public class PostDAO {
 					posts.add(post);
 				}
 			}
+			decorate(conn, posts, currentUserId);
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
 		return posts;
 	}
 
-	// --- 참여 유저 조회 ---
+	/**
+	 * 팔로우 타임라인에서 커서보다 새로운 게시글을 최신순으로 최대 limit + 1개 조회합니다.
+	 *
+	 * @param currentUserId 현재 사용자 ID
+	 * @param after         클라이언트가 가진 가장 최신 게시글 위치
+	 * @param limit         최대 개수
+	 */
+	public List<Post> getFollowingPostsSince(int currentUserId, FeedCursor after, int limit) {
+		List<Post> posts = new ArrayList<>();
+		String sql = BASE_SELECT + "FROM (" + FOLLOWING_SINCE_IDS + ") page JOIN posts p ON p.id = page.id "
+				+ POST_JOINS + "ORDER BY p.created_at DESC, p.id DESC";
+		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+			stmt.setInt(1, currentUserId); // 팔로잉 목록
+			stmt.setInt(2, currentUserId); // 본인
+			stmt.setTimestamp(3, after.getCreatedAt());
+			stmt.setTimestamp(4, after.getCreatedAt());
+			stmt.setInt(5, after.getId());
+			stmt.setInt(6, limit + 1);
+			stmt.setInt(7, limit + 1);
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					Post post = mapPost(rs);
+					post.setOriginalPost(mapOriginalPost(rs));
+					posts.add(post);
+				}
+			}
+			decorate(conn, posts, currentUserId);
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		return posts;
+	}
 
-	public List<User> getLikedUsers(int postId) {
-		List<User> users = new ArrayList<>();
-		String sql = "SELECT u.id, u.nickname, u.handle, u.bio, u.profile_image_url FROM users u "
-				+ "JOIN likes l ON u.id = l.user_id WHERE l.post_id = ?";
+	/**
+	 * 게시글들의 현재 좋아요 수를 한 번에 조회합니다.
+	 *
+	 * @param ids 게시글 ID 목록
+	 * @return 게시글 ID -> 좋아요 수 (삭제된 게시글은 제외, 반영 전인 좋아요 포함)
+	 */
+	public Map<Integer, Integer> getLikeCounts(int[] ids) {
+		Map<Integer, Integer> counts = new HashMap<>();
+		if (ids.length == 0) {
+			return counts;
+		}
+		String sql = "SELECT id, like_count FROM posts WHERE id IN (" + DBUtil.placeholders(DBUtil.inListSize(ids.length)) + ")";
 		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
-			stmt.setInt(1, postId);
+			DBUtil.setIntList(stmt, 1, ids);
 			try (ResultSet rs = stmt.executeQuery()) {
+				LikeCountBuffer buffer = LikeCountBuffer.getInstance();
 				while (rs.next()) {
-					User user = new User();
-					user.setId(rs.getInt("id"));
-					user.setNickname(rs.getString("nickname"));
-					user.setHandle(rs.getString("handle"));
-					user.setBio(rs.getString("bio"));
-					user.setProfileImageUrl(rs.getString("profile_image_url"));
-					users.add(user);
+					int id = rs.getInt(1);
+					counts.put(id, rs.getInt(2) + buffer.pending(id));
 				}
 			}
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
-		return users;
+		return counts;
 	}
 
-	public List<User> getRepostedUsers(int postId) {
-		List<User> users = new ArrayList<>();
-		String sql = "SELECT DISTINCT u.id, u.nickname, u.handle, u.bio, u.profile_image_url FROM users u "
-				+ "JOIN posts p ON u.id = p.user_id WHERE p.original_post_id = ? AND p.type = 'REPOST'";
+	// --- 스레드 조회 (Ancestors & Descendants) ---
+	// posts.root_post_id / thread_path (구체화 경로)를 사용하므로 스레드 깊이와 크기에 따라 쿼리 수가 늘지 않습니다.
+	// 스레드 구조가 ThreadCache에 있으면 구조는 캐시에서 계산하고 게시글 내용만 ID로 조회합니다.
+
+	/**
+	 * postId가 속한 스레드의 구조(답글 ID, 부모 ID, 작성 시각)를 읽어 ThreadCache에 넣습니다.
+	 *
+	 * @return 캐시에 넣었으면 true (캐시가 꺼져 있거나, 스레드가 너무 크거나, 읽는 도중 변경이 있었으면 false)
+	 */
+	private boolean loadThread(int postId) {
+		ThreadCache cache = ThreadCache.getInstance();
+		if (!cache.isEnabled()) {
+			return false;
+		}
+		String positionSql = "SELECT type, root_post_id FROM posts WHERE id = ?";
+		String sql = "SELECT id, original_post_id, created_at FROM posts WHERE root_post_id = ? "
+				+ "ORDER BY created_at ASC, id ASC LIMIT ?";
+		try (Connection conn = DBUtil.getConnection();
+				PreparedStatement positionstmt = conn.prepareStatement(positionSql);
+				PreparedStatement stmt = conn.prepareStatement(sql)) {
+			// 답글이 아니거나 이미 삭제된 게시글이면 그 게시글 자신이 스레드 루트입니다.
+			int rootId = postId;
+			positionstmt.setInt(1, postId);
+			try (ResultSet rs = positionstmt.executeQuery()) {
+				if (rs.next() && "REPLY".equals(rs.getString("type"))) {
+					rootId = rs.getInt("root_post_id");
+				}
+			}
+			if (rootId <= 0 || cache.isTooLarge(rootId)) {
+				return false;
+			}
+			// 구조를 읽기 전에 이 스레드의 버전을 받습니다. (읽는 도중 답글이 추가/삭제되면 저장하지 않음)
+			long version = cache.version(rootId);
+			int max = cache.getMaxNodesPerThread() + 1; // 하나 더 읽어 큰 스레드인지 판단
+			int[] ids = new int[64];
+			int[] parentIds = new int[64];
+			long[] createdAt = new long[64];
+			int count = 0;
+			stmt.setInt(1, rootId);
+			stmt.setInt(2, max);
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					if (count == ids.length) {
+						ids = Arrays.copyOf(ids, count * 2);
+						parentIds = Arrays.copyOf(parentIds, count * 2);
+						createdAt = Arrays.copyOf(createdAt, count * 2);
+					}
+					ids[count] = rs.getInt(1);
+					parentIds[count] = rs.getInt(2);
+					createdAt[count] = rs.getTimestamp(3).getTime();
+					count++;
+				}
+			}
+			return cache.put(rootId, ids, parentIds, createdAt, count, version);
+		} catch (SQLException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * 게시글의 조상(스레드 루트부터 부모까지)을 루트부터 순서대로 조회합니다.
+	 * 경로에 담긴 ID로 PK 조회 한 번에 읽으며, 삭제된 조상은 건너뜁니다.
+	 */
+	public List<Post> getAncestors(int postId, int currentUserId) {
+		int[] cached = ThreadCache.getInstance().ancestors(postId);
+		if (cached != null) {
+			return getPostsByIds(cached, currentUserId);
+		}
+		String sql = "SELECT thread_path FROM posts WHERE id = ?";
+		String threadPath = null;
 		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
 			stmt.setInt(1, postId);
+			try (ResultSet rs = stmt.executeQuery()) {
+				if (rs.next()) {
+					threadPath = rs.getString(1);
+				}
+			}
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		return getPostsByIds(ThreadPath.ancestorIds(threadPath), currentUserId);
+	}
+
+	/**
+	 * 게시글 아래의 모든 답글을 깊이순, 같은 깊이에서는 작성순으로 조회합니다.
+	 * (root_post_id, thread_path) 인덱스의 접두사 범위 조회 한 번으로 읽습니다.
+	 */
+	public List<Post> getDescendants(int postId, int currentUserId) {
+		ThreadCache cache = ThreadCache.getInstance();
+		int[] cached = cache.descendants(postId);
+		if (cached == null && loadThread(postId)) {
+			cached = cache.descendants(postId);
+		}
+		if (cached != null) {
+			return getPostsByIds(cached, currentUserId);
+		}
+		List<Post> posts = new ArrayList<>();
+		String positionSql = "SELECT type, root_post_id, thread_path FROM posts WHERE id = ?";
+		String sql = BASE_SELECT + BASE_JOINS + "WHERE p.root_post_id = ? AND p.thread_path LIKE ? "
+				+ "ORDER BY LENGTH(p.thread_path) ASC, p.created_at ASC, p.id ASC";
+
+		try (Connection conn = DBUtil.getConnection();
+				PreparedStatement positionstmt = conn.prepareStatement(positionSql);
+				PreparedStatement stmt = conn.prepareStatement(sql)) {
+			// 답글이 아니거나 이미 삭제된 게시글이면 그 게시글 자신이 스레드 루트입니다.
+			int rootId = postId;
+			String threadPath = "";
+			positionstmt.setInt(1, postId);
+			try (ResultSet rs = positionstmt.executeQuery()) {
+				if (rs.next() && "REPLY".equals(rs.getString("type"))) {
+					rootId = rs.getInt("root_post_id");
+					threadPath = rs.getString("thread_path");
+				}
+			}
+			stmt.setInt(1, rootId);
+			stmt.setString(2, ThreadPath.childPrefix(threadPath, postId) + "%");
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					Post post = mapPost(rs);
+					post.setOriginalPost(mapOriginalPost(rs));
+					posts.add(post);
+				}
+			}
+			decorate(conn, posts, currentUserId);
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		return posts;
+	}
+
+	/**
+	 * 게시글의 답글을 단계별로 펼쳐 조회합니다. 스레드 크기와 관계없이 한 번에 하는 일이 제한됩니다.
+	 * <ul>
+	 * <li>첫 단계는 postId의 직접 답글을 after 이후부터 limit개 읽습니다.</li>
+	 * <li>이후 단계는 앞 단계 답글마다 처음부터 limit개씩, maxDepth 단계까지 읽습니다. (단계마다 쿼리 1번)</li>
+	 * <li>전체 답글이 maxNodes를 넘지 않도록, 남은 자리가 limit보다 적으면 더 펼치지 않습니다.</li>
+	 * </ul>
+	 * 다 읽지 못한 게시글은 nextCursors에 이어서 조회할 커서가 들어갑니다. (펼치지 않은 게시글은 빈 문자열)
+	 * 스레드 구조가 캐시되어 있으면(또는 캐시할 수 있으면) 단계별 쿼리 없이 캐시에서 같은 규칙으로 펼칩니다.
+	 *
+	 * @param postId        펼칠 게시글 ID
+	 * @param after         첫 단계에서 이 커서 이후의 답글부터 조회 (처음부터면 FeedCursor.EARLIEST)
+	 * @param maxDepth      펼칠 최대 단계 수 (1 이상)
+	 * @param limit         게시글마다 읽을 최대 답글 수
+	 * @param maxNodes      한 번에 반환할 최대 답글 수
+	 * @param currentUserId 현재 사용자 ID (비로그인 시 0)
+	 */
+	public ReplyPage getReplyPage(int postId, FeedCursor after, int maxDepth, int limit, int maxNodes,
+			int currentUserId) {
+		ThreadCache cache = ThreadCache.getInstance();
+		ThreadCache.Expansion cached = cache.expand(postId, after, maxDepth, limit, maxNodes);
+		if (cached == null && loadThread(postId)) {
+			cached = cache.expand(postId, after, maxDepth, limit, maxNodes);
+		}
+		if (cached != null) {
+			return new ReplyPage(postId, getPostsByIds(cached.getIds(), currentUserId), cached.getNextCursors());
+		}
+
+		List<Integer> ids = new ArrayList<>();
+		Map<Integer, String> nextCursors = new HashMap<>();
+		try (Connection conn = DBUtil.getConnection()) {
+			// 1단계: postId의 직접 답글
+			List<int[]> level = new ArrayList<>(); // {id, reply_count}
+			Timestamp lastCreatedAt = null;
+			try (PreparedStatement stmt = conn.prepareStatement(REPLY_LEVEL_AFTER)) {
+				stmt.setInt(1, postId);
+				stmt.setTimestamp(2, after.getCreatedAt());
+				stmt.setTimestamp(3, after.getCreatedAt());
+				stmt.setInt(4, after.getId());
+				stmt.setInt(5, limit + 1);
+				try (ResultSet rs = stmt.executeQuery()) {
+					while (rs.next()) {
+						if (level.size() == limit) {
+							int last = level.get(limit - 1)[0];
+							nextCursors.put(postId, new FeedCursor(lastCreatedAt, last).encode());
+							break;
+						}
+						level.add(new int[] { rs.getInt("id"), rs.getInt("reply_count") });
+						lastCreatedAt = rs.getTimestamp("created_at");
+					}
+				}
+			}
+
+			for (int depth = 1; !level.isEmpty(); depth++) {
+				for (int[] node : level) {
+					ids.add(node[0]);
+				}
+				// 답글이 있는 게시글 중 이번에 펼칠 게시글 고르기
+				List<Integer> parents = new ArrayList<>();
+				for (int[] node : level) {
+					if (node[1] <= 0) {
+						continue;
+					}
+					if (depth < maxDepth && ids.size() + (parents.size() + 1) * limit <= maxNodes) {
+						parents.add(node[0]);
+					} else {
+						nextCursors.put(node[0], "");
+					}
+				}
+				level = parents.isEmpty() ? new ArrayList<>() : readChildren(conn, parents, limit, nextCursors);
+			}
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		int[] idArray = new int[ids.size()];
+		for (int i = 0; i < idArray.length; i++) {
+			idArray[i] = ids.get(i);
+		}
+		return new ReplyPage(postId, getPostsByIds(idArray, currentUserId), nextCursors);
+	}
+
+	// 부모들의 직접 답글을 부모마다 limit개까지 읽어 부모 순서대로 반환합니다. 더 있는 부모는 nextCursors에 기록합니다.
+	private List<int[]> readChildren(Connection conn, List<Integer> parents, int limit, Map<Integer, String> nextCursors)
+			throws SQLException {
+		int[] parentIds = new int[parents.size()];
+		for (int i = 0; i < parentIds.length; i++) {
+			parentIds[i] = parents.get(i);
+		}
+		Map<Integer, List<int[]>> byParent = new HashMap<>();
+		Map<Integer, Timestamp> lastCreatedAt = new HashMap<>();
+		String sql = String.format(REPLY_LEVEL_CHILDREN, DBUtil.placeholders(DBUtil.inListSize(parentIds.length)));
+		try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+			stmt.setInt(1, limit + 1);
+			DBUtil.setIntList(stmt, 2, parentIds);
 			try (ResultSet rs = stmt.executeQuery()) {
 				while (rs.next()) {
-					User user = new User();
-					user.setId(rs.getInt("id"));
-					user.setNickname(rs.getString("nickname"));
-					user.setHandle(rs.getString("handle"));
-					user.setBio(rs.getString("bio"));
-					user.setProfileImageUrl(rs.getString("profile_image_url"));
-					users.add(user);
+					int parentId = rs.getInt("original_post_id");
+					List<int[]> children = byParent.computeIfAbsent(parentId, k -> new ArrayList<>());
+					if (children.size() == limit) {
+						int[] last = children.get(limit - 1);
+						nextCursors.put(parentId, new FeedCursor(lastCreatedAt.get(parentId), last[0]).encode());
+						continue;
+					}
+					children.add(new int[] { rs.getInt("id"), rs.getInt("reply_count") });
+					lastCreatedAt.put(parentId, rs.getTimestamp("created_at"));
 				}
 			}
+		}
+		List<int[]> level = new ArrayList<>();
+		for (int parentId : parentIds) {
+			List<int[]> children = byParent.get(parentId);
+			if (children != null) {
+				level.addAll(children);
+			}
+		}
+		return level;
+	}
+
+	// --- 참여 유저 조회 ---
+
+	/**
+	 * 게시글에 좋아요를 누른(또는 리포스트한) 사용자를 최근 순으로 limit명씩 조회합니다.
+	 * 첫 페이지는 ReactionUsersCache에 잠시 보관해 인기 게시글의 반복 조회가 DB에 닿지 않도록 합니다.
+	 * 리포스트는 리포스트 게시글 단위이므로 같은 사용자가 여러 번 리포스트했다면 여러 번 나옵니다.
+	 *
+	 * @param before 이 위치보다 이전 (첫 페이지는 FeedCursor.START)
+	 */
+	public UserPage getReactionUsers(ReactionUsersCache.Kind kind, int postId, FeedCursor before, int limit) {
+		ReactionUsersCache cache = ReactionUsersCache.getInstance();
+		boolean firstPage = before == FeedCursor.START && cache.isEnabled() && limit <= cache.getPageSize();
+		if (firstPage) {
+			ReactionUsersCache.FirstPage page = cache.get(postId, kind);
+			if (page != null) {
+				List<User> users = new ArrayList<>();
+				for (int i = 0; i < page.size() && i < limit; i++) {
+					users.add(page.getUser(i));
+				}
+				String nextCursor = page.size() > limit
+						? new FeedCursor(new Timestamp(page.getListedAt(limit - 1)), page.getListedId(limit - 1)).encode()
+						: null;
+				return new UserPage(users, nextCursor);
+			}
+		}
+
+		// 첫 페이지는 캐시 크기만큼 읽어 두고 요청한 limit만큼 잘라 반환
+		int fetch = (firstPage ? cache.getPageSize() : limit) + 1;
+		long version = cache.version();
+		List<User> users = new ArrayList<>();
+		long[] listedAt = new long[fetch];
+		int[] listedId = new int[fetch];
+		String sql = String.format(kind == ReactionUsersCache.Kind.LIKES ? LIKED_USERS : REPOSTED_USERS, "");
+		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+			stmt.setInt(1, postId);
+			stmt.setTimestamp(2, before.getCreatedAt());
+			stmt.setTimestamp(3, before.getCreatedAt());
+			stmt.setInt(4, before.getId());
+			stmt.setInt(5, fetch);
+			readReactionUsers(stmt, users, listedAt, listedId);
+		} catch (SQLException e) {
+			e.printStackTrace();
+			return new UserPage(users, null);
+		}
+		if (firstPage) {
+			cache.put(postId, kind, users, listedAt, listedId, version);
+		}
+		if (users.size() <= limit) {
+			return new UserPage(users, null);
+		}
+		return new UserPage(new ArrayList<>(users.subList(0, limit)),
+				new FeedCursor(new Timestamp(listedAt[limit - 1]), listedId[limit - 1]).encode());
+	}
+
+	/**
+	 * 게시글에 좋아요를 누른(또는 리포스트한) 사용자 중 viewerId가 팔로우 중인 사용자를 최근 순으로 최대 limit명 조회합니다.
+	 * ("○○님 외 N명이 좋아합니다" 표시용, 다음 페이지 없음)
+	 */
+	public UserPage getFollowedReactionUsers(ReactionUsersCache.Kind kind, int postId, int viewerId, int limit) {
+		List<User> users = new ArrayList<>();
+		if (viewerId <= 0) {
+			return new UserPage(users, null);
+		}
+		String sql = kind == ReactionUsersCache.Kind.LIKES
+				? String.format(LIKED_USERS, "JOIN follows f ON f.follower_id = ? AND f.following_id = l.user_id")
+				: String.format(REPOSTED_USERS, "JOIN follows f ON f.follower_id = ? AND f.following_id = p.user_id");
+		try (Connection conn = DBUtil.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+			stmt.setInt(1, viewerId);
+			stmt.setInt(2, postId);
+			stmt.setTimestamp(3, FeedCursor.START.getCreatedAt());
+			stmt.setTimestamp(4, FeedCursor.START.getCreatedAt());
+			stmt.setInt(5, FeedCursor.START.getId());
+			stmt.setInt(6, limit);
+			readReactionUsers(stmt, users, new long[limit], new int[limit]);
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
-		return users;
+		return new UserPage(users, null);
+	}
+
+	private void readReactionUsers(PreparedStatement stmt, List<User> users, long[] listedAt, int[] listedId)
+			throws SQLException {
+		try (ResultSet rs = stmt.executeQuery()) {
+			while (rs.next()) {
+				User user = new User();
+				user.setId(rs.getInt("id"));
+				user.setNickname(rs.getString("nickname"));
+				user.setHandle(rs.getString("handle"));
+				user.setBio(rs.getString("bio"));
+				user.setProfileImageUrl(rs.getString("profile_image_url"));
+				listedAt[users.size()] = rs.getTimestamp("listed_at").getTime();
+				listedId[users.size()] = rs.getInt("listed_id");
+				users.add(user);
+			}
+		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,205 @@
+package com.Saesori.dao;
+
+import com.Saesori.util.AppConfig;
+import com.Saesori.util.DBUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 팔로우 타임라인 인박스(timeline_entries)를 관리합니다. (fan-out-on-write)
+ * <p>
+ * 쓰기 메서드는 게시글/팔로우 트랜잭션과 함께 커밋되도록 호출자의 Connection을 받습니다.
+ * <p>
+ * 팔로워 수(users.follower_count)가 timeline.pullThreshold 이상인 작성자는 users.timeline_pull로 표시해
+ * 인박스에 넣지 않고, 조회 시점에 따로 읽어 인박스와 합칩니다. (hybrid push/pull)
+ * 표시는 되돌리지 않으므로 팔로워 수가 임계값 아래로 내려가도 인박스에 없는 게시글은 계속 조회 시점에 읽힙니다.
+ */
+public class TimelineDAO {
+
+    private static final boolean PUSH_MODE = "push".equalsIgnoreCase(AppConfig.getString("timeline.mode", "pull"));
+    private static final int INBOX_SIZE = AppConfig.getInt("timeline.inboxSize", 800);
+    private static final int PULL_THRESHOLD = AppConfig.getInt("timeline.pullThreshold", 10000);
+
+    // fan-out 비용 지표
+    private static final AtomicLong pushedPosts = new AtomicLong();
+    private static final AtomicLong pulledPosts = new AtomicLong();
+    private static final AtomicLong inboxRowsWritten = new AtomicLong();
+    private static final AtomicLong fanOutNanos = new AtomicLong();
+    private static final AtomicLong maxRowsPerPost = new AtomicLong();
+
+    /**
+     * timeline.mode=push 설정 여부를 반환합니다.
+     */
+    public static boolean isPushMode() {
+        return PUSH_MODE;
+    }
+
+    /**
+     * 새 게시글을 작성자 본인과 모든 팔로워의 인박스에 넣습니다.
+     * 작성자가 pull 대상이면 본인 인박스에만 넣습니다.
+     *
+     * @param conn     게시글 작성 트랜잭션의 커넥션
+     * @param postId   새 게시글 ID
+     * @param authorId 작성자 ID
+     * @return 추가된 인박스 항목 수
+     */
+    public int fanOut(Connection conn, int postId, int authorId) throws SQLException {
+        String selfSql = "INSERT IGNORE INTO timeline_entries (user_id, post_id, author_id, created_at) "
+                + "SELECT p.user_id, p.id, p.user_id, p.created_at FROM posts p WHERE p.id = ?";
+        String followersSql = "INSERT IGNORE INTO timeline_entries (user_id, post_id, author_id, created_at) "
+                + "SELECT f.follower_id, p.id, p.user_id, p.created_at FROM posts p "
+                + "JOIN follows f ON f.following_id = p.user_id WHERE p.id = ?";
+        long started = System.nanoTime();
+        int rows;
+        try (PreparedStatement stmt = conn.prepareStatement(selfSql)) {
+            stmt.setInt(1, postId);
+            rows = stmt.executeUpdate();
+        }
+
+        if (isPullAuthor(conn, authorId)) {
+            pulledPosts.incrementAndGet();
+        } else {
+            try (PreparedStatement stmt = conn.prepareStatement(followersSql)) {
+                stmt.setInt(1, postId);
+                rows += stmt.executeUpdate();
+            }
+            pushedPosts.incrementAndGet();
+        }
+
+        inboxRowsWritten.addAndGet(rows);
+        fanOutNanos.addAndGet(System.nanoTime() - started);
+        maxRowsPerPost.accumulateAndGet(rows, Math::max);
+        return rows;
+    }
+
+    // 작성자가 pull 대상인지 확인합니다. 처음 임계값에 도달하면 timeline_pull을 표시합니다.
+    private boolean isPullAuthor(Connection conn, int authorId) throws SQLException {
+        String sql = "SELECT follower_count, timeline_pull FROM users WHERE id = ?";
+        String markSql = "UPDATE users SET timeline_pull = 1 WHERE id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, authorId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                if (rs.getBoolean("timeline_pull")) {
+                    return true;
+                }
+                if (rs.getInt("follower_count") < PULL_THRESHOLD) {
+                    return false;
+                }
+            }
+        }
+        // 이전 게시글은 이미 인박스에 있으므로 조회 시 pull 결과와 겹치는 항목은 FeedMerger가 한 번만 남깁니다.
+        try (PreparedStatement mark = conn.prepareStatement(markSql)) {
+            mark.setInt(1, authorId);
+            mark.executeUpdate();
+        }
+        return true;
+    }
+
+    /**
+     * 팔로우 직후 대상 사용자의 최근 게시글을 팔로워 인박스에 채웁니다.
+     *
+     * @param conn        팔로우 트랜잭션의 커넥션
+     * @param followerId  팔로우하는 사용자 ID (인박스 주인)
+     * @param followingId 팔로우 대상 사용자 ID
+     */
+    public void backfill(Connection conn, int followerId, int followingId) throws SQLException {
+        // pull 대상 작성자의 게시글은 조회 시점에 읽으므로 채우지 않습니다.
+        if (isPullAuthor(conn, followingId)) {
+            return;
+        }
+        String sql = "INSERT IGNORE INTO timeline_entries (user_id, post_id, author_id, created_at) "
+                + "SELECT ?, id, user_id, created_at FROM posts WHERE user_id = ? AND type != 'REPLY' "
+                + "ORDER BY created_at DESC, id DESC LIMIT ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, followerId);
+            stmt.setInt(2, followingId);
+            stmt.setInt(3, INBOX_SIZE);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * 언팔로우 시 대상 사용자의 게시글을 팔로워 인박스에서 제거합니다.
+     *
+     * @param conn        언팔로우 트랜잭션의 커넥션
+     * @param followerId  언팔로우하는 사용자 ID (인박스 주인)
+     * @param followingId 언팔로우 대상 사용자 ID
+     */
+    public void prune(Connection conn, int followerId, int followingId) throws SQLException {
+        String sql = "DELETE FROM timeline_entries WHERE user_id = ? AND author_id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, followerId);
+            stmt.setInt(2, followingId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * 인박스를 최근 timeline.inboxSize 개로 유지하도록 오래된 항목을 삭제합니다.
+     *
+     * @param userId 인박스 주인 ID
+     */
+    public void trimInbox(int userId) {
+        String boundarySql = "SELECT created_at, post_id FROM timeline_entries WHERE user_id = ? "
+                + "ORDER BY created_at DESC, post_id DESC LIMIT 1 OFFSET ?";
+        String deleteSql = "DELETE FROM timeline_entries WHERE user_id = ? "
+                + "AND (created_at < ? OR (created_at = ? AND post_id <= ?))";
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DBUtil.getConnection();
+            stmt = conn.prepareStatement(boundarySql);
+            stmt.setInt(1, userId);
+            stmt.setInt(2, INBOX_SIZE);
+            rs = stmt.executeQuery();
+            if (!rs.next()) {
+                return; // 한도 이하
+            }
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            int postId = rs.getInt("post_id");
+
+            try (PreparedStatement delete = conn.prepareStatement(deleteSql)) {
+                delete.setInt(1, userId);
+                delete.setTimestamp(2, createdAt);
+                delete.setTimestamp(3, createdAt);
+                delete.setInt(4, postId);
+                delete.executeUpdate();
+            }
+        } catch (SQLException e) {
+            System.err.println("Error trimming timeline inbox: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DBUtil.close(conn, stmt, rs);
+        }
+    }
+
+    /**
+     * fan-out 비용 지표를 반환합니다.
+     */
+    public static Map<String, Object> stats() {
+        long pushed = pushedPosts.get();
+        long pulled = pulledPosts.get();
+        long posts = pushed + pulled;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", PUSH_MODE ? "push" : "pull");
+        stats.put("pullThreshold", PULL_THRESHOLD);
+        stats.put("pushedPosts", pushed);
+        stats.put("pulledPosts", pulled);
+        stats.put("inboxRowsWritten", inboxRowsWritten.get());
+        stats.put("avgRowsPerPost", posts == 0 ? 0 : inboxRowsWritten.get() / posts);
+        stats.put("maxRowsPerPost", maxRowsPerPost.get());
+        stats.put("avgFanOutMicros", posts == 0 ? 0 : fanOutNanos.get() / posts / 1000);
+        return stats;
+    }
+}
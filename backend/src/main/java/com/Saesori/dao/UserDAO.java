@@ -1,6 +1,11 @@
 package com.Saesori.dao;
 
+import com.Saesori.cache.ContentVersions;
+import com.Saesori.cache.ProfileFeedCache;
+import com.Saesori.cache.UserCardCache;
 import com.Saesori.dto.User;
+import com.Saesori.dto.UserCard;
+import com.Saesori.graph.FollowGraph;
 import com.Saesori.util.DBUtil;
 
 import java.sql.Connection;
@@ -160,6 +165,14 @@ public class UserDAO {
 
             int rowsAffected = stmt.executeUpdate();
             conn.commit();
+            if (rowsAffected > 0) {
+                // 게시글 작성자 표시용 캐시 갱신
+                UserCardCache.getInstance().invalidate(user.getId());
+                ContentVersions.getInstance().postsChanged();
+                ContentVersions.getInstance().userChanged(user.getId());
+                ContentVersions.getInstance().userPostsChanged(user.getId()); // 작성자 정보
+                ContentVersions.getInstance().embeddedPostsChanged(); // 다른 프로필의 리포스트/인용에 담긴 원본 작성자 정보
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
             if (conn != null) {
@@ -202,6 +215,15 @@ public class UserDAO {
 
             int rowsAffected = stmt.executeUpdate();
             conn.commit();
+            if (rowsAffected > 0) {
+                UserCardCache.getInstance().invalidate(id);
+                ProfileFeedCache.getInstance().invalidate(id);
+                FollowGraph.getInstance().onUserDeleted(id); // follows 행은 외래 키로 함께 삭제됨
+                ContentVersions.getInstance().postsChanged();
+                ContentVersions.getInstance().userChanged(id);
+                ContentVersions.getInstance().userPostsChanged(id);
+                ContentVersions.getInstance().embeddedPostsChanged();
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
             if (conn != null) {
@@ -266,4 +288,30 @@ public class UserDAO {
         }
         return users;
     }
+
+    /**
+     * 게시글 작성자 표시용 사용자 정보를 한 번에 조회합니다. (UserCardCache 미적중분 적재용)
+     * 
+     * @param conn 사용할 커넥션 (닫지 않음)
+     * @param ids 사용자 ID 목록
+     * @return 조회된 작성자 카드 목록
+     */
+    public List<UserCard> getUserCards(Connection conn, int[] ids) throws SQLException {
+        List<UserCard> cards = new ArrayList<>();
+        if (ids.length == 0) {
+            return cards;
+        }
+        String sql = "SELECT id, nickname, handle, profile_image_url FROM users WHERE id IN ("
+                + DBUtil.placeholders(DBUtil.inListSize(ids.length)) + ")";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            DBUtil.setIntList(stmt, 1, ids);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    cards.add(new UserCard(rs.getInt("id"), rs.getString("nickname"), rs.getString("handle"),
+                            rs.getString("profile_image_url")));
+                }
+            }
+        }
+        return cards;
+    }
 }
@@ -0,0 +1,103 @@
+package com.Saesori.dao;
+
+import com.Saesori.dto.Post;
+import com.Saesori.graph.FollowGraph;
+import com.Saesori.util.DBUtil;
+import com.Saesori.util.IntHashSet;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 게시글 목록에 현재 사용자 기준 상태(좋아요/리포스트/작성자 팔로우 여부)를 채웁니다.
+ * <p>
+ * 페이지의 게시글 ID와 포함된 원본 게시글 ID를 모은 뒤, 관계(likes, 리포스트, follows)마다 IN 조회를 한 번씩만 실행합니다.
+ * 비로그인 사용자(currentUserId == 0)는 모든 값이 false이므로 조회하지 않습니다.
+ */
+public class ViewerStateHydrator {
+
+	private static final String LIKED_SQL = "SELECT post_id FROM likes WHERE user_id = ? AND post_id IN (%s)";
+	private static final String REPOSTED_SQL = "SELECT original_post_id FROM posts "
+			+ "WHERE user_id = ? AND type = 'REPOST' AND original_post_id IN (%s)";
+	private static final String FOLLOWING_SQL = "SELECT following_id FROM follows WHERE follower_id = ? AND following_id IN (%s)";
+
+	/**
+	 * 게시글과 원본 게시글에 현재 사용자 상태를 채웁니다.
+	 *
+	 * @param conn          조회에 사용할 커넥션 (게시글 조회와 같은 커넥션)
+	 * @param posts         게시글 목록
+	 * @param currentUserId 현재 사용자 ID (비로그인 시 0)
+	 */
+	public void hydrate(Connection conn, List<Post> posts, int currentUserId) throws SQLException {
+		if (currentUserId <= 0 || posts.isEmpty()) {
+			return;
+		}
+		IntHashSet postIds = new IntHashSet(posts.size() * 2);
+		IntHashSet authorIds = new IntHashSet(posts.size() * 2);
+		for (Post post : posts) {
+			collect(post, postIds, authorIds, currentUserId);
+			if (post.getOriginalPost() != null) {
+				collect(post.getOriginalPost(), postIds, authorIds, currentUserId);
+			}
+		}
+
+		int[] ids = postIds.toArray();
+		IntHashSet liked = query(conn, LIKED_SQL, currentUserId, ids);
+		IntHashSet reposted = query(conn, REPOSTED_SQL, currentUserId, ids);
+		IntHashSet following = authorIds.isEmpty() ? authorIds : following(conn, currentUserId, authorIds.toArray());
+
+		for (Post post : posts) {
+			stamp(post, liked, reposted, following);
+			if (post.getOriginalPost() != null) {
+				stamp(post.getOriginalPost(), liked, reposted, following);
+			}
+		}
+	}
+
+	private void collect(Post post, IntHashSet postIds, IntHashSet authorIds, int currentUserId) {
+		postIds.add(post.getId());
+		if (post.getUserId() != currentUserId) {
+			authorIds.add(post.getUserId());
+		}
+	}
+
+	private void stamp(Post post, IntHashSet liked, IntHashSet reposted, IntHashSet following) {
+		post.setLiked(liked.contains(post.getId()));
+		post.setReposted(reposted.contains(post.getId()));
+		post.setFollowingAuthor(following.contains(post.getUserId()));
+	}
+
+	// 작성자 중 현재 사용자가 팔로우 중인 사용자. 팔로우 그래프가 준비되어 있으면 DB를 조회하지 않습니다.
+	private IntHashSet following(Connection conn, int currentUserId, int[] authorIds) throws SQLException {
+		FollowGraph graph = FollowGraph.getInstance();
+		if (!graph.isReady()) {
+			return query(conn, FOLLOWING_SQL, currentUserId, authorIds);
+		}
+		IntHashSet result = new IntHashSet();
+		for (int authorId : authorIds) {
+			if (graph.isFollowing(currentUserId, authorId)) {
+				result.add(authorId);
+			}
+		}
+		return result;
+	}
+
+	// 첫 번째 컬럼 값을 집합으로 반환합니다.
+	private IntHashSet query(Connection conn, String sqlFormat, int currentUserId, int[] ids) throws SQLException {
+		IntHashSet result = new IntHashSet();
+		String sql = String.format(sqlFormat, DBUtil.placeholders(DBUtil.inListSize(ids.length)));
+		try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+			stmt.setInt(1, currentUserId);
+			DBUtil.setIntList(stmt, 2, ids);
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					result.add(rs.getInt(1));
+				}
+			}
+		}
+		return result;
+	}
+}
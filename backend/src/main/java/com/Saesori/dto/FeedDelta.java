@@ -0,0 +1,57 @@
+package com.Saesori.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 커서 이후 변경분(새 게시글, 좋아요 수 변화)을 담는 데이터 전송 객체(DTO)입니다.
+ */
+public class FeedDelta {
+    private List<Post> posts; // 커서보다 새로운 게시글 (최신순)
+    private String cursor; // 다음 요청에 사용할 커서 (가장 최신 게시글 위치)
+    private boolean hasGap; // 새 게시글이 limit보다 많아 일부만 반환했는지 여부 (true면 첫 페이지를 다시 조회)
+    private Map<Integer, Integer> likeCounts; // 클라이언트가 알려준 값과 달라진 게시글의 좋아요 수 (게시글 ID -> 좋아요 수)
+
+    public FeedDelta() {
+    }
+
+    public FeedDelta(List<Post> posts, String cursor, boolean hasGap, Map<Integer, Integer> likeCounts) {
+        this.posts = posts;
+        this.cursor = cursor;
+        this.hasGap = hasGap;
+        this.likeCounts = likeCounts;
+    }
+
+    // Getter 및 Setter
+    public List<Post> getPosts() {
+        return posts;
+    }
+
+    public void setPosts(List<Post> posts) {
+        this.posts = posts;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public boolean isHasGap() {
+        return hasGap;
+    }
+
+    public void setHasGap(boolean hasGap) {
+        this.hasGap = hasGap;
+    }
+
+    public Map<Integer, Integer> getLikeCounts() {
+        return likeCounts;
+    }
+
+    public void setLikeCounts(Map<Integer, Integer> likeCounts) {
+        this.likeCounts = likeCounts;
+    }
+}
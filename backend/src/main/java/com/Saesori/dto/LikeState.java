@@ -0,0 +1,54 @@
+package com.Saesori.dto;
+
+/**
+ * 좋아요/좋아요 취소 결과(현재 상태와 좋아요 수)를 담는 데이터 전송 객체(DTO)입니다.
+ */
+public class LikeState {
+    private int postId;
+    private boolean liked; // 요청 처리 후 현재 사용자의 좋아요 여부
+    private int likeCount; // 요청 처리 후 좋아요 수
+    private boolean changed; // 이번 요청으로 상태가 바뀌었는지 여부 (이미 같은 상태였으면 false)
+
+    public LikeState() {
+    }
+
+    public LikeState(int postId, boolean liked, int likeCount, boolean changed) {
+        this.postId = postId;
+        this.liked = liked;
+        this.likeCount = likeCount;
+        this.changed = changed;
+    }
+
+    // Getter 및 Setter
+    public int getPostId() {
+        return postId;
+    }
+
+    public void setPostId(int postId) {
+        this.postId = postId;
+    }
+
+    public boolean isLiked() {
+        return liked;
+    }
+
+    public void setLiked(boolean liked) {
+        this.liked = liked;
+    }
+
+    public int getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(int likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public boolean isChanged() {
+        return changed;
+    }
+
+    public void setChanged(boolean changed) {
+        this.changed = changed;
+    }
+}
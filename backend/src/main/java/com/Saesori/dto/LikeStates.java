@@ -0,0 +1,39 @@
+package com.Saesori.dto;
+
+import com.Saesori.util.IntHashSet;
+import com.Saesori.util.IntIntHashMap;
+
+/**
+ * 여러 게시글의 좋아요 상태(현재 사용자의 좋아요 여부, 좋아요 수)를 담는 객체입니다.
+ * <p>
+ * 요청당 최대 수백 개를 다루므로 박싱 없이 int 키 맵에 보관합니다. JSON은 컨트롤러가 스트림으로 직접 씁니다.
+ */
+public class LikeStates {
+    private final int[] postIds; // 존재하는 게시글 ID (요청 순서, 중복 제거)
+    private final int size;
+    private final IntHashSet liked; // 현재 사용자가 좋아요를 누른 게시글 ID
+    private final IntIntHashMap likeCounts; // 게시글 ID -> 좋아요 수
+
+    public LikeStates(int[] postIds, int size, IntHashSet liked, IntIntHashMap likeCounts) {
+        this.postIds = postIds;
+        this.size = size;
+        this.liked = liked;
+        this.likeCounts = likeCounts;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getPostId(int index) {
+        return postIds[index];
+    }
+
+    public boolean isLiked(int postId) {
+        return liked.contains(postId);
+    }
+
+    public int getLikeCount(int postId) {
+        return likeCounts.get(postId, 0);
+    }
+}
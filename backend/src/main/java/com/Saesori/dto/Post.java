@@ -17,6 +17,8 @@ public class Post {
     private String type; // 게시글 유형 (ORIGINAL, REPOST, QUOTE, REPLY)
     private int originalPostId; // 원본 게시글 ID (리포스트/인용/답글인 경우)
     private boolean isLiked; // 현재 사용자가 좋아요를 눌렀는지 여부
+    private boolean isReposted; // 현재 사용자가 리포스트했는지 여부
+    private boolean isFollowingAuthor; // 현재 사용자가 작성자를 팔로우하는지 여부
     private Post originalPost; // 원본 게시글 객체
     private int replyCount; // 답글 수
     private String imageUrl; // 첨부 이미지 URL
@@ -100,6 +102,24 @@ public class Post {
         isLiked = liked;
     }
 
+    @JsonProperty("isReposted")
+    public boolean isReposted() {
+        return isReposted;
+    }
+
+    public void setReposted(boolean reposted) {
+        isReposted = reposted;
+    }
+
+    @JsonProperty("isFollowingAuthor")
+    public boolean isFollowingAuthor() {
+        return isFollowingAuthor;
+    }
+
+    public void setFollowingAuthor(boolean followingAuthor) {
+        isFollowingAuthor = followingAuthor;
+    }
+
     public String getType() {
         return type;
     }
@@ -0,0 +1,36 @@
+package com.Saesori.dto;
+
+import java.util.List;
+
+/**
+ * 커서 기반으로 나눠 조회한 게시글 한 페이지를 담는 데이터 전송 객체(DTO)입니다.
+ */
+public class PostPage {
+    private List<Post> posts; // 이번 페이지의 게시글 목록
+    private String nextCursor; // 다음 페이지 커서 (마지막 페이지면 null)
+
+    public PostPage() {
+    }
+
+    public PostPage(List<Post> posts, String nextCursor) {
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getter 및 Setter
+    public List<Post> getPosts() {
+        return posts;
+    }
+
+    public void setPosts(List<Post> posts) {
+        this.posts = posts;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
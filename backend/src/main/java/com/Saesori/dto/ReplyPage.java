@@ -0,0 +1,47 @@
+package com.Saesori.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 깊이와 단계별 개수를 제한해 펼친 답글 트리 한 페이지를 담는 데이터 전송 객체(DTO)입니다.
+ */
+public class ReplyPage {
+    private int parentId; // 펼치기 시작한 게시글 ID
+    private List<Post> replies; // 펼친 답글 목록 (단계순, 부모는 originalPostId)
+    private Map<Integer, String> nextCursors; // 답글이 더 있는 게시글 ID -> 이어서 조회할 커서 (처음부터면 빈 문자열)
+
+    public ReplyPage() {
+    }
+
+    public ReplyPage(int parentId, List<Post> replies, Map<Integer, String> nextCursors) {
+        this.parentId = parentId;
+        this.replies = replies;
+        this.nextCursors = nextCursors;
+    }
+
+    // Getter 및 Setter
+    public int getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(int parentId) {
+        this.parentId = parentId;
+    }
+
+    public List<Post> getReplies() {
+        return replies;
+    }
+
+    public void setReplies(List<Post> replies) {
+        this.replies = replies;
+    }
+
+    public Map<Integer, String> getNextCursors() {
+        return nextCursors;
+    }
+
+    public void setNextCursors(Map<Integer, String> nextCursors) {
+        this.nextCursors = nextCursors;
+    }
+}
@@ -0,0 +1,35 @@
+package com.Saesori.dto;
+
+/**
+ * 게시글 작성자 표시에 필요한 사용자 정보(닉네임, 핸들, 프로필 이미지)만 담는 불변 객체입니다.
+ */
+public final class UserCard {
+    private final int id; // 사용자 고유 ID
+    private final String nickname; // 닉네임
+    private final String handle; // 핸들 (intern된 문자열)
+    private final String profileImageUrl; // 프로필 이미지 URL
+
+    public UserCard(int id, String nickname, String handle, String profileImageUrl) {
+        this.id = id;
+        this.nickname = nickname;
+        this.handle = handle == null ? null : handle.intern();
+        this.profileImageUrl = profileImageUrl;
+    }
+
+    // Getter
+    public int getId() {
+        return id;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public String getProfileImageUrl() {
+        return profileImageUrl;
+    }
+}
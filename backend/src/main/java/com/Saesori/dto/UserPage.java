@@ -0,0 +1,36 @@
+package com.Saesori.dto;
+
+import java.util.List;
+
+/**
+ * 커서 기반으로 나눠 조회한 사용자 목록(좋아요/리포스트한 사용자 등) 한 페이지를 담는 데이터 전송 객체(DTO)입니다.
+ */
+public class UserPage {
+    private List<User> users; // 이번 페이지의 사용자 목록
+    private String nextCursor; // 다음 페이지 커서 (마지막 페이지면 null)
+
+    public UserPage() {
+    }
+
+    public UserPage(List<User> users, String nextCursor) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getter 및 Setter
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<User> users) {
+        this.users = users;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,513 @@
+package com.Saesori.graph;
+
+import com.Saesori.util.AppConfig;
+import com.Saesori.util.IntIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 팔로우 관계 전체를 메모리에 보관하는 팔로우 그래프입니다.
+ * <p>
+ * 방향(팔로잉/팔로워)마다 사용자 ID로 색인한 CSR(compressed sparse row) 배열에 정렬된 상대 ID를 이어 붙여 보관합니다.
+ * (offsets[u] ~ offsets[u + 1] 구간이 u의 이웃) 간선 하나는 방향별로 int 하나씩, 8바이트를 차지합니다.
+ * 시작 이후의 팔로우/언팔로우는 사용자별 추가/삭제 목록(overlay)에 정렬 상태로 쌓고, overlay 크기가 CSR 크기의
+ * 1/8을 넘으면 CSR을 다시 만듭니다. isFollowing 은 이진 탐색이므로 O(log n)입니다.
+ * <p>
+ * 애플리케이션 시작 시 백그라운드 스레드에서 FollowDAO.loadFollowGraph 가 follows 테이블을 스트리밍으로 읽어 채웁니다.
+ * 적재가 끝나기 전(isReady() == false)에는 FollowDAO가 DB를 조회하며, 적재 중 발생한 변경은 적재 후 다시 반영합니다.
+ * 팔로우 변경은 DB 커밋 후 FollowDAO/UserDAO가 알려줍니다.
+ */
+public class FollowGraph {
+
+	private static final int[] EMPTY = new int[0];
+	// overlay 크기가 이 값과 CSR 크기의 1/8 중 큰 값을 넘으면 CSR을 다시 만듭니다. (간선당 10바이트 이하 유지)
+	private static final long MIN_COMPACT_BYTES = 256 * 1024;
+	// overlay 사용자 하나의 고정 비용 (Delta/SortedInts 객체와 배열 헤더, 목록 참조, 색인 항목)
+	private static final int DELTA_BYTES = 120;
+
+	private static final FollowGraph INSTANCE = new FollowGraph(AppConfig.getBoolean("followGraph.enabled", true));
+
+	public static FollowGraph getInstance() {
+		return INSTANCE;
+	}
+
+	private final boolean enabled;
+	private final Adjacency following = new Adjacency(); // 팔로워 -> 팔로잉
+	private final Adjacency followers = new Adjacency(); // 팔로잉 -> 팔로워
+	private long edges;
+
+	private volatile boolean ready;
+	// 적재 중 발생한 변경 { 종류, followerId, followingId } (적재 후 순서대로 다시 반영)
+	private List<int[]> loadLog;
+
+	private long compactions;
+	private long loadMillis;
+
+	private static final int OP_FOLLOW = 0;
+	private static final int OP_UNFOLLOW = 1;
+	private static final int OP_USER_DELETED = 2;
+
+	public FollowGraph(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * 적재가 끝나 조회에 사용할 수 있는지 여부. false면 호출한 쪽은 DB를 조회해야 합니다.
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
+	// --- 조회 ---
+
+	public synchronized boolean isFollowing(int followerId, int followingId) {
+		return following.contains(followerId, followingId);
+	}
+
+	public synchronized int getFollowingCount(int userId) {
+		return following.degree(userId);
+	}
+
+	public synchronized int getFollowerCount(int userId) {
+		return followers.degree(userId);
+	}
+
+	/**
+	 * @return userId가 팔로우하는 사용자 ID (오름차순, 복사본)
+	 */
+	public synchronized int[] getFollowingIds(int userId) {
+		return following.neighbors(userId);
+	}
+
+	/**
+	 * @return userId를 팔로우하는 사용자 ID (오름차순, 복사본)
+	 */
+	public synchronized int[] getFollowerIds(int userId) {
+		return followers.neighbors(userId);
+	}
+
+	// --- 변경 (DB 커밋 후 호출) ---
+
+	public synchronized void onFollow(int followerId, int followingId) {
+		if (log(OP_FOLLOW, followerId, followingId) && following.add(followerId, followingId)) {
+			followers.add(followingId, followerId);
+			edges++;
+			compactIfNeeded();
+		}
+	}
+
+	public synchronized void onUnfollow(int followerId, int followingId) {
+		if (log(OP_UNFOLLOW, followerId, followingId) && following.remove(followerId, followingId)) {
+			followers.remove(followingId, followerId);
+			edges--;
+			compactIfNeeded();
+		}
+	}
+
+	/**
+	 * 사용자 삭제 시 (follows 행은 외래 키로 함께 삭제됨) 그 사용자의 간선을 모두 제거합니다.
+	 */
+	public synchronized void onUserDeleted(int userId) {
+		if (!log(OP_USER_DELETED, userId, 0)) {
+			return;
+		}
+		for (int followingId : following.neighbors(userId)) {
+			following.remove(userId, followingId);
+			followers.remove(followingId, userId);
+			edges--;
+		}
+		for (int followerId : followers.neighbors(userId)) {
+			following.remove(followerId, userId);
+			followers.remove(userId, followerId);
+			edges--;
+		}
+		compactIfNeeded();
+	}
+
+	// 적재 중이면 변경을 기록합니다. 적재 전이면 무시하고(적재가 DB에서 읽음), 그 외에는 바로 반영하도록 true를 반환합니다.
+	private boolean log(int op, int a, int b) {
+		if (loadLog != null) {
+			loadLog.add(new int[] { op, a, b });
+			return false;
+		}
+		return ready;
+	}
+
+	private void apply(int[] change) {
+		switch (change[0]) {
+			case OP_FOLLOW -> onFollow(change[1], change[2]);
+			case OP_UNFOLLOW -> onUnfollow(change[1], change[2]);
+			default -> onUserDeleted(change[1]);
+		}
+	}
+
+	private void compactIfNeeded() {
+		long overlay = following.overlayBytes() + followers.overlayBytes();
+		long base = following.baseBytes() + followers.baseBytes();
+		if (overlay > Math.max(MIN_COMPACT_BYTES, base / 8)) {
+			following.compact();
+			followers.compact();
+			compactions++;
+		}
+	}
+
+	// --- 적재 ---
+
+	/**
+	 * 적재를 시작합니다. 이후의 변경은 finishLoad에서 다시 반영하도록 기록됩니다.
+	 *
+	 * @return 간선을 추가할 빌더 (그래프가 꺼져 있으면 null)
+	 */
+	public synchronized Builder beginLoad() {
+		if (!enabled) {
+			return null;
+		}
+		ready = false;
+		loadLog = new ArrayList<>();
+		return new Builder();
+	}
+
+	/**
+	 * 빌더에 모은 간선으로 그래프를 바꾸고, 적재 중 기록된 변경을 반영한 뒤 조회를 허용합니다.
+	 */
+	public synchronized void finishLoad(Builder builder, long millis) {
+		following.install(Arrays.copyOf(builder.offsets, builder.users + 1), Arrays.copyOf(builder.targets, builder.edges));
+		int[] reverseOffsets = builder.reverseOffsets();
+		followers.install(reverseOffsets, builder.reverseTargets(reverseOffsets));
+		edges = builder.edges;
+		List<int[]> changes = loadLog;
+		loadLog = null;
+		ready = true;
+		for (int[] change : changes) {
+			apply(change);
+		}
+		loadMillis = millis;
+	}
+
+	/**
+	 * 적재에 실패했을 때 호출합니다. 그래프를 사용하지 않고 DB 조회를 계속합니다.
+	 */
+	public synchronized void abortLoad() {
+		loadLog = null;
+		ready = false;
+	}
+
+	// --- 지표 ---
+
+	// 배열 하나의 대략적인 힙 크기 (헤더 16바이트 + 원소, 8바이트 정렬)
+	static long arrayBytes(int length) {
+		return (16 + 4L * length + 7) & ~7L;
+	}
+
+	public synchronized long estimateBytes() {
+		return following.estimateBytes() + followers.estimateBytes();
+	}
+
+	public synchronized Map<String, Object> stats() {
+		long bytes = estimateBytes();
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("enabled", enabled);
+		stats.put("ready", ready);
+		stats.put("users", Math.max(following.users(), followers.users()));
+		stats.put("edges", edges);
+		stats.put("bytes", bytes);
+		stats.put("bytesPerEdge", edges == 0 ? 0.0 : (double) bytes / edges);
+		stats.put("overlayEdges", following.overlayEdges + followers.overlayEdges);
+		stats.put("compactions", compactions);
+		stats.put("loadMillis", loadMillis);
+		return stats;
+	}
+
+	/**
+	 * follows를 (follower_id, following_id) 순으로 읽으며 팔로잉 방향 CSR을 바로 만듭니다.
+	 * 팔로워 방향은 끝난 뒤 계수 정렬로 만듭니다. (팔로워 ID 순으로 채워지므로 따로 정렬하지 않음)
+	 */
+	public static final class Builder {
+		private int[] offsets = new int[1024];
+		private int[] targets = new int[4096];
+		private int users; // 채운 offsets 구간 수 (마지막 follower ID + 1)
+		private int edges;
+
+		/**
+		 * 간선을 추가합니다. follower_id, following_id 오름차순으로 호출해야 합니다.
+		 */
+		public void add(int followerId, int followingId) {
+			if (followerId < users - 1 || (followerId == users - 1 && edges > offsets[users - 1]
+					&& targets[edges - 1] >= followingId)) {
+				throw new IllegalArgumentException("Edges must be added in (follower_id, following_id) order");
+			}
+			while (users <= followerId) {
+				if (users + 1 >= offsets.length) {
+					offsets = Arrays.copyOf(offsets, Math.max(offsets.length * 2, followerId + 2));
+				}
+				offsets[users + 1] = edges;
+				users++;
+			}
+			if (edges == targets.length) {
+				targets = Arrays.copyOf(targets, targets.length * 2);
+			}
+			targets[edges++] = followingId;
+			offsets[users] = edges;
+		}
+
+		private int[] reverseOffsets() {
+			int max = -1;
+			for (int i = 0; i < edges; i++) {
+				max = Math.max(max, targets[i]);
+			}
+			int[] counts = new int[max + 2];
+			for (int i = 0; i < edges; i++) {
+				counts[targets[i] + 1]++;
+			}
+			for (int i = 1; i < counts.length; i++) {
+				counts[i] += counts[i - 1];
+			}
+			return counts;
+		}
+
+		private int[] reverseTargets(int[] reverseOffsets) {
+			int[] next = Arrays.copyOf(reverseOffsets, reverseOffsets.length - 1);
+			int[] result = new int[edges];
+			for (int u = 0; u < users; u++) {
+				for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+					result[next[targets[i]]++] = u;
+				}
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * 한 방향의 인접 목록: CSR 기본 배열 + 사용자별 추가/삭제 overlay.
+	 * 추가 목록은 기본 배열에 없는 ID만, 삭제 목록은 기본 배열에 있는 ID만 담습니다.
+	 */
+	private static final class Adjacency {
+		private int[] offsets = new int[1];
+		private int[] targets = EMPTY;
+		// overlay: 사용자 ID -> deltas 위치 (박싱 없이 조회)
+		private final IntIntHashMap overlayIndex = new IntIntHashMap();
+		private final List<Delta> deltas = new ArrayList<>();
+		private long overlayEdges;
+
+		void install(int[] offsets, int[] targets) {
+			this.offsets = offsets;
+			this.targets = targets;
+			overlayIndex.clear();
+			deltas.clear();
+			overlayEdges = 0;
+		}
+
+		private Delta delta(int u) {
+			int slot = overlayIndex.get(u, -1);
+			return slot < 0 ? null : deltas.get(slot);
+		}
+
+		private Delta deltaForUpdate(int u) {
+			Delta delta = delta(u);
+			if (delta == null) {
+				delta = new Delta(u);
+				overlayIndex.put(u, deltas.size());
+				deltas.add(delta);
+			}
+			return delta;
+		}
+
+		// 비어 있는 overlay 항목을 제거합니다. (마지막 항목을 빈 자리로 옮김)
+		private void dropIfEmpty(Delta delta) {
+			if (delta.added.size > 0 || delta.removed.size > 0) {
+				return;
+			}
+			int slot = overlayIndex.get(delta.userId, -1);
+			Delta last = deltas.remove(deltas.size() - 1);
+			if (last != delta) {
+				deltas.set(slot, last);
+				overlayIndex.put(last.userId, slot);
+			}
+			overlayIndex.remove(delta.userId);
+		}
+
+		int users() {
+			return offsets.length - 1;
+		}
+
+		private int baseFrom(int u) {
+			return u >= 0 && u < offsets.length - 1 ? offsets[u] : 0;
+		}
+
+		private int baseTo(int u) {
+			return u >= 0 && u < offsets.length - 1 ? offsets[u + 1] : 0;
+		}
+
+		private boolean inBase(int u, int v) {
+			int from = baseFrom(u);
+			int to = baseTo(u);
+			return from < to && Arrays.binarySearch(targets, from, to, v) >= 0;
+		}
+
+		boolean contains(int u, int v) {
+			Delta delta = delta(u);
+			if (delta != null) {
+				if (delta.added.contains(v)) {
+					return true;
+				}
+				if (delta.removed.contains(v)) {
+					return false;
+				}
+			}
+			return inBase(u, v);
+		}
+
+		int degree(int u) {
+			int degree = baseTo(u) - baseFrom(u);
+			Delta delta = delta(u);
+			return delta == null ? degree : degree + delta.added.size - delta.removed.size;
+		}
+
+		boolean add(int u, int v) {
+			if (contains(u, v)) {
+				return false;
+			}
+			Delta delta = deltaForUpdate(u);
+			if (delta.removed.remove(v)) {
+				overlayEdges--;
+			} else {
+				delta.added.insert(v);
+				overlayEdges++;
+			}
+			dropIfEmpty(delta);
+			return true;
+		}
+
+		boolean remove(int u, int v) {
+			if (!contains(u, v)) {
+				return false;
+			}
+			Delta delta = deltaForUpdate(u);
+			if (delta.added.remove(v)) {
+				overlayEdges--;
+			} else {
+				delta.removed.insert(v);
+				overlayEdges++;
+			}
+			dropIfEmpty(delta);
+			return true;
+		}
+
+		// 기본 배열에서 삭제 목록을 빼고 추가 목록을 합친 정렬 배열
+		int[] neighbors(int u) {
+			int from = baseFrom(u);
+			int to = baseTo(u);
+			Delta delta = delta(u);
+			if (delta == null) {
+				return from == to ? EMPTY : Arrays.copyOfRange(targets, from, to);
+			}
+			int[] result = new int[to - from + delta.added.size - delta.removed.size];
+			int n = 0;
+			int a = 0;
+			int r = 0;
+			for (int i = from; i < to; i++) {
+				int v = targets[i];
+				while (r < delta.removed.size && delta.removed.values[r] < v) {
+					r++;
+				}
+				if (r < delta.removed.size && delta.removed.values[r] == v) {
+					continue;
+				}
+				while (a < delta.added.size && delta.added.values[a] < v) {
+					result[n++] = delta.added.values[a++];
+				}
+				result[n++] = v;
+			}
+			while (a < delta.added.size) {
+				result[n++] = delta.added.values[a++];
+			}
+			return result;
+		}
+
+		// overlay를 합쳐 CSR을 다시 만듭니다.
+		void compact() {
+			int users = users();
+			long total = targets.length;
+			for (Delta delta : deltas) {
+				users = Math.max(users, delta.userId + 1);
+				total += delta.added.size - delta.removed.size;
+			}
+			int[] newOffsets = new int[users + 1];
+			int[] newTargets = new int[(int) total];
+			int n = 0;
+			for (int u = 0; u < users; u++) {
+				newOffsets[u] = n;
+				if (overlayIndex.get(u, -1) >= 0) {
+					int[] merged = neighbors(u);
+					System.arraycopy(merged, 0, newTargets, n, merged.length);
+					n += merged.length;
+				} else {
+					int from = baseFrom(u);
+					int to = baseTo(u);
+					System.arraycopy(targets, from, newTargets, n, to - from);
+					n += to - from;
+				}
+			}
+			newOffsets[users] = n;
+			install(newOffsets, newTargets);
+		}
+
+		long baseBytes() {
+			return arrayBytes(offsets.length) + arrayBytes(targets.length);
+		}
+
+		// 목록 배열의 여유분은 평균 1.5배로 어림합니다.
+		long overlayBytes() {
+			return (long) deltas.size() * DELTA_BYTES + overlayEdges * 6
+					+ arrayBytes(overlayIndex.capacity()) * 2;
+		}
+
+		long estimateBytes() {
+			return baseBytes() + overlayBytes();
+		}
+	}
+
+	private static final class Delta {
+		final int userId;
+		final SortedInts added = new SortedInts();
+		final SortedInts removed = new SortedInts();
+
+		Delta(int userId) {
+			this.userId = userId;
+		}
+	}
+
+	// 정렬 상태를 유지하는 작은 int 목록
+	private static final class SortedInts {
+		int[] values = EMPTY;
+		int size;
+
+		boolean contains(int v) {
+			return size > 0 && Arrays.binarySearch(values, 0, size, v) >= 0;
+		}
+
+		void insert(int v) {
+			int pos = -Arrays.binarySearch(values, 0, size, v) - 1;
+			if (size == values.length) {
+				values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+			}
+			System.arraycopy(values, pos, values, pos + 1, size - pos);
+			values[pos] = v;
+			size++;
+		}
+
+		boolean remove(int v) {
+			int pos = size == 0 ? -1 : Arrays.binarySearch(values, 0, size, v);
+			if (pos < 0) {
+				return false;
+			}
+			System.arraycopy(values, pos + 1, values, pos, size - pos - 1);
+			size--;
+			return true;
+		}
+	}
+}
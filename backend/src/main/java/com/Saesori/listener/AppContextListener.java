@@ -0,0 +1,62 @@
+package com.Saesori.listener;
+
+import com.Saesori.dao.FollowDAO;
+import com.Saesori.dao.LikeCountBuffer;
+import com.Saesori.dao.PostDAO;
+import com.Saesori.stream.TimelineStream;
+import com.Saesori.util.AppConfig;
+import com.Saesori.util.DBUtil;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 애플리케이션 시작/종료 시점의 자원 초기화 및 정리를 담당합니다.
+ * <p>
+ * 메모리 구조(트렌딩 점수, 팔로우 그래프) 적재는 요청 처리를 막지 않도록 백그라운드 스레드에서 실행하며,
+ * 적재가 끝나기 전에는 트렌딩은 빈 목록을 돌려주고 팔로우 그래프는 DB 조회로 대신합니다.
+ */
+@WebListener
+public class AppContextListener implements ServletContextListener {
+
+    private ExecutorService startupLoader;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        startupLoader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "saesori-startup-loader");
+            t.setDaemon(true);
+            return t;
+        });
+        // 최근 반응(좋아요/리포스트/인용/답글)으로 트렌딩 점수 다시 채우기 (끝나기 전까지는 빈 목록)
+        long windowHours = AppConfig.getLong("trending.rebuildHours", 48);
+        startupLoader.execute(() -> new PostDAO().rebuildTrending(windowHours * 60 * 60 * 1000));
+        // 팔로우 관계를 메모리 그래프로 적재 (끝나기 전까지는 DB 조회, 적재 중 변경은 끝난 뒤 다시 반영)
+        startupLoader.execute(() -> new FollowDAO().loadFollowGraph());
+        startupLoader.shutdown();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        // 진행 중인 시작 적재가 커넥션 풀 정리 전에 끝나도록 잠시 대기
+        if (startupLoader != null) {
+            startupLoader.shutdownNow();
+            try {
+                startupLoader.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // 타임라인 알림 연결 종료
+        TimelineStream.getInstance().shutdown();
+        // 반영 전 좋아요 수를 DB에 기록 (커넥션 풀 정리 전)
+        LikeCountBuffer.getInstance().shutdown();
+        // 커넥션 풀의 물리 커넥션 정리
+        DBUtil.shutdown();
+    }
+}
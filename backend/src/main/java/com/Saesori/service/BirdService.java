@@ -36,7 +36,7 @@ public class BirdService {
 
         // 조건 유형에 따라 현재 수치 조회
         if ("post_count".equals(conditionType)) {
-            currentConditionValue = postDAO.getPostsByUserId(userId, userId).size();
+            currentConditionValue = postDAO.countPostsByUserId(userId);
         } else if ("friend_count".equals(conditionType)) {
             currentConditionValue = followDAO.getFollowingCount(userId);
         } else if ("like_count".equals(conditionType)) {
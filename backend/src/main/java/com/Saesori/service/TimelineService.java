@@ -0,0 +1,119 @@
+package com.Saesori.service;
+
+import com.Saesori.cache.TimelineCache;
+import com.Saesori.dao.FollowDAO;
+import com.Saesori.dao.PostDAO;
+import com.Saesori.dao.TimelineDAO;
+import com.Saesori.dto.Post;
+import com.Saesori.dto.PostPage;
+import com.Saesori.util.FeedCursor;
+import com.Saesori.util.FeedMerger;
+
+import java.util.List;
+
+/**
+ * 팔로우 타임라인 조회 방식을 결정합니다.
+ * <p>
+ * pull 모드에서는 요청마다 팔로잉 작성자의 게시글을 합치고, push 모드에서는 미리 채워둔 인박스를 읽습니다.
+ * 인박스가 비었거나 끝에 도달하면(모드 전환 직후, 한도 밖의 오래된 페이지) pull 방식으로 보완합니다.
+ * <p>
+ * push 모드에서도 팔로워가 많은 작성자(timeline.pullThreshold 이상)의 게시글은 인박스에 없으므로,
+ * 따로 읽어 인박스 페이지와 (created_at, id) 기준으로 합칩니다.
+ * <p>
+ * 두 모드 모두 먼저 메모리 타임라인 캐시({@link TimelineCache})를 확인하고, 캐시로 페이지를 채울 수 있으면
+ * 게시글 ID 목록만 받아 본문을 한 번에 조회합니다. 첫 페이지 조회 시 캐시에 없으면 적재합니다.
+ */
+public class TimelineService {
+    private PostDAO postDAO;
+    private TimelineDAO timelineDAO;
+    private FollowDAO followDAO;
+    private TimelineCache timelineCache;
+
+    public TimelineService() {
+        this.postDAO = new PostDAO();
+        this.timelineDAO = new TimelineDAO();
+        this.followDAO = new FollowDAO();
+        this.timelineCache = TimelineCache.getInstance();
+    }
+
+    /**
+     * 팔로우 타임라인 한 페이지를 조회합니다.
+     *
+     * @param userId 현재 사용자 ID
+     * @param before 이 커서보다 오래된 게시글부터 조회
+     * @param limit  페이지 크기
+     */
+    public PostPage getFollowingTimeline(int userId, FeedCursor before, int limit) {
+        PostPage cached = getCachedTimeline(userId, before, limit);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (!TimelineDAO.isPushMode()) {
+            return postDAO.getFollowingTimeline(userId, before, limit);
+        }
+
+        // 첫 페이지를 읽을 때 인박스 크기를 한도로 정리
+        if (before == FeedCursor.START) {
+            timelineDAO.trimInbox(userId);
+        }
+
+        PostPage inbox = postDAO.getInboxTimeline(userId, before, limit);
+        if (inbox.getNextCursor() == null && inbox.getPosts().size() < limit) {
+            return postDAO.getFollowingTimeline(userId, before, limit);
+        }
+
+        PostPage pulled = postDAO.getPulledAuthorsTimeline(userId, before, limit);
+        if (pulled.getPosts().isEmpty()) {
+            return inbox;
+        }
+        return FeedMerger.merge(List.of(inbox, pulled), limit);
+    }
+
+    // 캐시로 페이지를 채울 수 있으면 해당 페이지를, 아니면 null을 반환합니다.
+    private PostPage getCachedTimeline(int userId, FeedCursor before, int limit) {
+        if (!timelineCache.isEnabled()) {
+            return null;
+        }
+        int[] ids = timelineCache.slice(userId, before, limit + 1);
+        if (ids == null && before == FeedCursor.START && load(userId)) {
+            ids = timelineCache.slice(userId, before, limit + 1);
+        }
+        if (ids == null) {
+            return null;
+        }
+        List<Post> posts = postDAO.getPostsByIds(ids, userId);
+        if (posts.size() < ids.length) {
+            // 캐시 반영 전에 삭제된 게시글이 섞여 있으면 DB 경로로 조회
+            return null;
+        }
+        return FeedCursor.toPage(posts, limit);
+    }
+
+    // 사용자 타임라인을 DB에서 읽어 캐시에 적재합니다.
+    private boolean load(int userId) {
+        Object token = timelineCache.beginLoad(userId, followDAO.getFollowingIds(userId));
+        if (token == null) {
+            return false;
+        }
+        try {
+            int max = timelineCache.getEntriesPerUser();
+            List<Post> entries = postDAO.getFollowingTimelineEntries(userId, max + 1);
+            int count = entries.size();
+            int[] ids = new int[count];
+            int[] authors = new int[count];
+            long[] createdAt = new long[count];
+            for (int i = 0; i < count; i++) {
+                Post entry = entries.get(i);
+                ids[i] = entry.getId();
+                authors[i] = entry.getUserId();
+                createdAt[i] = entry.getCreatedAt().getTime();
+            }
+            timelineCache.completeLoad(token, ids, authors, createdAt, count, count <= max);
+            return true;
+        } catch (RuntimeException e) {
+            timelineCache.abortLoad(token);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.Saesori.stream;
+
+import com.Saesori.util.AppConfig;
+import com.Saesori.util.IntHashSet;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 팔로우 타임라인 새 글 알림(Server-Sent Events) 구독자 레지스트리입니다.
+ * <p>
+ * 구독자는 비동기 서블릿(AsyncContext)으로 연결을 유지하며, 연결마다 스레드를 점유하지 않습니다.
+ * 작성자 ID로 구독자를 색인해 두고, 게시글 작성(커밋) 시 해당 작성자를 팔로우하는 구독자에게만 게시글 ID를 보냅니다.
+ * <p>
+ * 쓰기는 논블로킹(WriteListener)으로 수행합니다. 클라이언트가 느려 보내지 못한 이벤트는 구독자별 큐에 쌓이며,
+ * 큐가 stream.maxQueuedBytes를 넘으면 쌓인 이벤트를 버리고 "resync" 이벤트 하나로 대체합니다. (클라이언트는 타임라인을 다시 조회)
+ * 주기적으로 하트비트 주석을 보내 프록시의 유휴 연결 종료를 막고, 끊어진 연결을 정리합니다.
+ */
+public class TimelineStream {
+
+	private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] RESYNC = "event: resync\ndata: {}\n\n".getBytes(StandardCharsets.UTF_8);
+
+	private static final TimelineStream INSTANCE = new TimelineStream(
+			AppConfig.getLong("stream.heartbeatMs", 25000),
+			AppConfig.getLong("stream.timeoutMs", 30L * 60 * 1000),
+			AppConfig.getInt("stream.maxQueuedBytes", 64 * 1024));
+
+	public static TimelineStream getInstance() {
+		return INSTANCE;
+	}
+
+	private final long heartbeatMs;
+	private final long timeoutMs;
+	private final int maxQueuedBytes;
+
+	// 작성자 ID -> 해당 작성자의 글을 받을 구독자
+	private final Map<Integer, Set<Subscriber>> byAuthor = new ConcurrentHashMap<>();
+	// 사용자 ID -> 사용자의 구독 연결 (탭마다 하나)
+	private final Map<Integer, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+	private final Set<Subscriber> all = ConcurrentHashMap.newKeySet();
+
+	private volatile ScheduledExecutorService heartbeat;
+
+	private final AtomicLong connects = new AtomicLong();
+	private final AtomicLong eventsSent = new AtomicLong();
+	private final AtomicLong resyncs = new AtomicLong();
+	private final AtomicLong heartbeats = new AtomicLong();
+	private final AtomicLong disconnects = new AtomicLong();
+
+	public TimelineStream(long heartbeatMs, long timeoutMs, int maxQueuedBytes) {
+		this.heartbeatMs = heartbeatMs;
+		this.timeoutMs = timeoutMs;
+		this.maxQueuedBytes = maxQueuedBytes;
+	}
+
+	/**
+	 * 비동기 요청을 구독자로 등록합니다.
+	 *
+	 * @param ctx       startAsync()로 시작한 컨텍스트
+	 * @param userId    구독자 ID
+	 * @param followees 구독자가 팔로우하는 사용자 ID
+	 */
+	public void subscribe(AsyncContext ctx, int userId, int[] followees) throws IOException {
+		startHeartbeat();
+		ctx.setTimeout(timeoutMs);
+		Subscriber subscriber = new Subscriber(ctx, userId, ctx.getResponse().getOutputStream());
+		ctx.addListener(subscriber);
+
+		all.add(subscriber);
+		byUser.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+		index(userId, subscriber); // 본인 글
+		for (int followee : followees) {
+			index(followee, subscriber);
+		}
+		connects.incrementAndGet();
+
+		// 재연결 간격 안내 후 논블로킹 쓰기 시작
+		subscriber.enqueue("retry: 5000\n: connected\n\n".getBytes(StandardCharsets.UTF_8));
+		subscriber.out.setWriteListener(subscriber);
+	}
+
+	private void index(int authorId, Subscriber subscriber) {
+		synchronized (subscriber.authors) {
+			subscriber.authors.add(authorId);
+		}
+		byAuthor.computeIfAbsent(authorId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+	}
+
+	private void unindex(int authorId, Subscriber subscriber) {
+		synchronized (subscriber.authors) {
+			subscriber.authors.remove(authorId);
+		}
+		byAuthor.computeIfPresent(authorId, (k, set) -> {
+			set.remove(subscriber);
+			return set.isEmpty() ? null : set;
+		});
+	}
+
+	// --- 쓰기 경로 반영 ---
+
+	/**
+	 * 새 게시글(답글 제외)을 작성자를 팔로우하는 구독자에게 알립니다. 게시글 트랜잭션 커밋 후 호출합니다.
+	 */
+	public void onPostCreated(int postId, int authorId) {
+		Set<Subscriber> subscribers = byAuthor.get(authorId);
+		if (subscribers == null) {
+			return;
+		}
+		byte[] event = ("event: post\ndata: {\"postId\":" + postId + ",\"authorId\":" + authorId + "}\n\n")
+				.getBytes(StandardCharsets.UTF_8);
+		for (Subscriber subscriber : subscribers) {
+			subscriber.enqueue(event);
+			eventsSent.incrementAndGet();
+		}
+	}
+
+	public void onFollow(int followerId, int followingId) {
+		for (Subscriber subscriber : byUser.getOrDefault(followerId, Set.of())) {
+			index(followingId, subscriber);
+		}
+	}
+
+	public void onUnfollow(int followerId, int followingId) {
+		for (Subscriber subscriber : byUser.getOrDefault(followerId, Set.of())) {
+			unindex(followingId, subscriber);
+		}
+	}
+
+	// --- 수명 관리 ---
+
+	private void startHeartbeat() {
+		if (heartbeat != null) {
+			return;
+		}
+		synchronized (this) {
+			if (heartbeat == null) {
+				ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+					Thread t = new Thread(r, "timeline-stream-heartbeat");
+					t.setDaemon(true);
+					return t;
+				});
+				executor.scheduleWithFixedDelay(() -> {
+					for (Subscriber subscriber : all) {
+						subscriber.enqueue(HEARTBEAT);
+					}
+					heartbeats.incrementAndGet();
+				}, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+				heartbeat = executor;
+			}
+		}
+	}
+
+	/**
+	 * 모든 구독 연결을 닫고 하트비트 스레드를 종료합니다. (애플리케이션 종료 시)
+	 */
+	public void shutdown() {
+		ScheduledExecutorService executor = heartbeat;
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+		for (Subscriber subscriber : new ArrayList<>(all)) {
+			subscriber.close();
+		}
+	}
+
+	private void remove(Subscriber subscriber) {
+		if (!all.remove(subscriber)) {
+			return;
+		}
+		byUser.computeIfPresent(subscriber.userId, (k, set) -> {
+			set.remove(subscriber);
+			return set.isEmpty() ? null : set;
+		});
+		int[] authors;
+		synchronized (subscriber.authors) {
+			authors = subscriber.authors.toArray();
+		}
+		for (int authorId : authors) {
+			byAuthor.computeIfPresent(authorId, (k, set) -> {
+				set.remove(subscriber);
+				return set.isEmpty() ? null : set;
+			});
+		}
+		disconnects.incrementAndGet();
+	}
+
+	// --- 지표 ---
+
+	public Map<String, Object> stats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("subscribers", all.size());
+		stats.put("subscribedUsers", byUser.size());
+		stats.put("indexedAuthors", byAuthor.size());
+		stats.put("connects", connects.get());
+		stats.put("disconnects", disconnects.get());
+		stats.put("eventsSent", eventsSent.get());
+		stats.put("resyncs", resyncs.get());
+		stats.put("heartbeats", heartbeats.get());
+		return stats;
+	}
+
+	/**
+	 * 구독 연결 하나입니다. 보내지 못한 이벤트를 큐에 두고, 출력 스트림이 쓰기 가능해지면 이어서 보냅니다.
+	 */
+	private final class Subscriber implements WriteListener, AsyncListener {
+		final AsyncContext ctx;
+		final int userId;
+		final ServletOutputStream out;
+		final IntHashSet authors = new IntHashSet(); // 색인된 작성자 ID
+
+		private final ArrayDeque<byte[]> queue = new ArrayDeque<>();
+		private int queuedBytes;
+		private boolean listening; // setWriteListener 이후에만 쓰기 가능
+		private boolean closed;
+
+		Subscriber(AsyncContext ctx, int userId, ServletOutputStream out) {
+			this.ctx = ctx;
+			this.userId = userId;
+			this.out = out;
+		}
+
+		synchronized void enqueue(byte[] event) {
+			if (closed) {
+				return;
+			}
+			if (queuedBytes + event.length > maxQueuedBytes) {
+				// 클라이언트가 따라오지 못함: 쌓인 이벤트를 버리고 다시 조회하도록 알림
+				queue.clear();
+				queuedBytes = 0;
+				event = RESYNC;
+				resyncs.incrementAndGet();
+			}
+			queue.add(event);
+			queuedBytes += event.length;
+			drain();
+		}
+
+		// 출력 스트림이 준비된 동안만 씁니다. 준비되지 않으면 컨테이너가 onWritePossible을 다시 호출합니다.
+		private void drain() {
+			if (!listening || closed) {
+				return;
+			}
+			try {
+				while (!queue.isEmpty() && out.isReady()) {
+					byte[] event = queue.poll();
+					queuedBytes -= event.length;
+					out.write(event);
+				}
+				if (queue.isEmpty() && out.isReady()) {
+					out.flush();
+				}
+			} catch (IOException | IllegalStateException e) {
+				close();
+			}
+		}
+
+		@Override
+		public synchronized void onWritePossible() {
+			listening = true;
+			drain();
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			close();
+		}
+
+		void close() {
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				closed = true;
+				queue.clear();
+			}
+			remove(this);
+			try {
+				ctx.complete();
+			} catch (IllegalStateException ignored) {
+				// 이미 완료됨
+			}
+		}
+
+		// --- AsyncListener ---
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			close();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			close(); // 클라이언트(EventSource)가 자동으로 재연결
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			close();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+	}
+}
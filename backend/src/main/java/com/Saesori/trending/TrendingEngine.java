@@ -0,0 +1,356 @@
+package com.Saesori.trending;
+
+import com.Saesori.util.AppConfig;
+import com.Saesori.util.IntIntHashMap;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 좋아요/리포스트/인용/답글 이벤트로 게시글의 인기 점수를 갱신하고 상위 게시글을 메모리에서 제공하는 트렌딩 엔진입니다.
+ * <p>
+ * 점수는 이벤트 가중치의 시간 감쇠 합(반감기 trending.halfLifeMinutes)입니다. 모든 점수가 같은 비율로 감쇠하므로
+ * 감쇠를 기준 시각(landmark)에 대한 배율로 미리 곱해 저장하면(forward decay) 시간이 지나도 순서가 바뀌지 않아
+ * 이벤트마다 해당 게시글 하나만 갱신하면 됩니다.
+ * <p>
+ * 추적하는 게시글은 최소 힙 + ID 색인(게시글 ID -> 힙 위치)으로 trending.maxTracked 개까지 보관하며,
+ * 가득 차면 점수가 가장 낮은 게시글을 내보냅니다. 이벤트 반영은 O(log n)입니다.
+ * 상위 목록은 변경이 있을 때 최대 trending.snapshotMs 마다 한 번 다시 계산해 두고 조회 시 그대로 돌려줍니다.
+ * <p>
+ * 애플리케이션 시작 시 백그라운드 스레드에서 PostDAO.rebuildTrending 이 최근 이벤트를 DB에서 읽어 다시 채웁니다.
+ * 다시 채우는 동안에는 일부만 반영된 순위 대신 빈 목록을 돌려줍니다.
+ */
+public class TrendingEngine {
+
+	public static final double LIKE_WEIGHT = 1;
+	public static final double REPLY_WEIGHT = 2;
+	public static final double REPOST_WEIGHT = 3;
+	public static final double QUOTE_WEIGHT = 4;
+
+	// 배율 지수가 이 값을 넘으면 기준 시각을 옮겨 double 범위를 벗어나지 않게 합니다.
+	private static final int MAX_EXPONENT = 512;
+	// 미리 계산해 두는 상위 목록 길이 (조회 limit의 최댓값)
+	public static final int MAX_TOP = 100;
+
+	private static final TrendingEngine INSTANCE = new TrendingEngine(
+			AppConfig.getInt("trending.maxTracked", 10000),
+			AppConfig.getLong("trending.halfLifeMinutes", 360) * 60 * 1000,
+			AppConfig.getLong("trending.snapshotMs", 1000));
+
+	public static TrendingEngine getInstance() {
+		return INSTANCE;
+	}
+
+	private final int capacity;
+	private final long halfLifeMs;
+	private final long snapshotMs;
+
+	// 최소 힙 (0번이 점수가 가장 낮은 게시글)
+	private final int[] heapIds;
+	private final double[] heapScores;
+	private int size;
+	private final IntIntHashMap positions; // 게시글 ID -> 힙 위치
+	private long landmark; // 점수 배율 기준 시각
+
+	private int[] top = new int[0];
+	private long topComputedAt;
+	private boolean dirty;
+	private boolean ready; // 재구성이 끝났는지 여부
+
+	private long events;
+	private long evictions;
+	private long dropped;
+	private long snapshots;
+	private long rebuildEvents;
+	private long rebuildMillis;
+
+	public TrendingEngine(int capacity, long halfLifeMs, long snapshotMs) {
+		this.capacity = capacity;
+		this.halfLifeMs = halfLifeMs;
+		this.snapshotMs = snapshotMs;
+		this.heapIds = new int[capacity];
+		this.heapScores = new double[capacity];
+		this.positions = new IntIntHashMap(capacity);
+		this.landmark = System.currentTimeMillis();
+	}
+
+	// --- 이벤트 ---
+
+	public void onLike(int postId) {
+		record(postId, LIKE_WEIGHT, System.currentTimeMillis());
+	}
+
+	// 좋아요 취소는 현재 시각의 가중치만큼 빼고 0 이하가 되면 추적을 멈춥니다.
+	public void onUnlike(int postId) {
+		record(postId, -LIKE_WEIGHT, System.currentTimeMillis());
+	}
+
+	public void onRepost(int originalPostId) {
+		record(originalPostId, REPOST_WEIGHT, System.currentTimeMillis());
+	}
+
+	public void onQuote(int originalPostId) {
+		record(originalPostId, QUOTE_WEIGHT, System.currentTimeMillis());
+	}
+
+	public void onReply(int parentPostId) {
+		record(parentPostId, REPLY_WEIGHT, System.currentTimeMillis());
+	}
+
+	public synchronized void onPostDeleted(int postId) {
+		int i = positions.get(postId, -1);
+		if (i >= 0) {
+			removeAt(i);
+			dirty = true;
+		}
+	}
+
+	/**
+	 * 게시글에 이벤트 하나를 반영합니다.
+	 *
+	 * @param weight   가중치 (음수면 점수를 뺌)
+	 * @param atMillis 이벤트 시각
+	 */
+	public synchronized void record(int postId, double weight, long atMillis) {
+		events++;
+		double delta = weight * scale(atMillis);
+		int i = positions.get(postId, -1);
+		if (i >= 0) {
+			heapScores[i] += delta;
+			if (heapScores[i] <= 0) {
+				removeAt(i);
+			} else if (delta > 0) {
+				siftDown(i);
+			} else {
+				siftUp(i);
+			}
+		} else if (delta > 0) {
+			if (size < capacity) {
+				heapIds[size] = postId;
+				heapScores[size] = delta;
+				positions.put(postId, size);
+				siftUp(size++);
+			} else if (delta > heapScores[0]) {
+				// 점수가 가장 낮은 게시글을 내보내고 그 자리에 추가
+				positions.remove(heapIds[0]);
+				heapIds[0] = postId;
+				heapScores[0] = delta;
+				positions.put(postId, 0);
+				siftDown(0);
+				evictions++;
+			} else {
+				dropped++;
+				return;
+			}
+		} else {
+			return;
+		}
+		dirty = true;
+	}
+
+	/**
+	 * 다시 채우기 전에 모든 점수를 지웁니다.
+	 */
+	public synchronized void reset() {
+		positions.clear();
+		size = 0;
+		landmark = System.currentTimeMillis();
+		top = new int[0];
+		dirty = false;
+		ready = false;
+	}
+
+	// 재구성 결과 기록 (지표용)
+	public synchronized void rebuilt(long eventCount, long millis) {
+		rebuildEvents = eventCount;
+		rebuildMillis = millis;
+		ready = true;
+		dirty = true;
+		topComputedAt = 0;
+	}
+
+	// --- 조회 ---
+
+	/**
+	 * 점수가 높은 순서로 게시글 ID를 반환합니다. 재구성이 끝나기 전에는 빈 배열을 반환합니다.
+	 *
+	 * @param limit 최대 개수 (MAX_TOP 이하)
+	 */
+	public synchronized int[] top(int limit) {
+		if (!ready) {
+			return new int[0];
+		}
+		long now = System.currentTimeMillis();
+		if (dirty && now - topComputedAt >= snapshotMs) {
+			top = computeTop(Math.min(MAX_TOP, size));
+			topComputedAt = now;
+			dirty = false;
+			snapshots++;
+		}
+		return Arrays.copyOf(top, Math.min(limit, top.length));
+	}
+
+	// 추적 중인 게시글 중 상위 n개를 크기 n의 최소 힙으로 고른 뒤 내림차순으로 정렬합니다.
+	private int[] computeTop(int n) {
+		if (n == 0) {
+			return new int[0];
+		}
+		int[] ids = new int[n];
+		double[] scores = new double[n];
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			if (count < n) {
+				ids[count] = heapIds[i];
+				scores[count] = heapScores[i];
+				// 위로 올리기
+				for (int c = count++; c > 0;) {
+					int p = (c - 1) >> 1;
+					if (scores[p] <= scores[c]) {
+						break;
+					}
+					swap(ids, scores, p, c);
+					c = p;
+				}
+			} else if (heapScores[i] > scores[0]) {
+				ids[0] = heapIds[i];
+				scores[0] = heapScores[i];
+				// 아래로 내리기
+				for (int p = 0;;) {
+					int c = 2 * p + 1;
+					if (c >= n) {
+						break;
+					}
+					if (c + 1 < n && scores[c + 1] < scores[c]) {
+						c++;
+					}
+					if (scores[p] <= scores[c]) {
+						break;
+					}
+					swap(ids, scores, p, c);
+					p = c;
+				}
+			}
+		}
+		// 최소 힙에서 하나씩 꺼내 뒤에서부터 채우면 내림차순
+		int[] result = new int[n];
+		for (int end = n - 1; end >= 0; end--) {
+			result[end] = ids[0];
+			ids[0] = ids[end];
+			scores[0] = scores[end];
+			for (int p = 0;;) {
+				int c = 2 * p + 1;
+				if (c >= end) {
+					break;
+				}
+				if (c + 1 < end && scores[c + 1] < scores[c]) {
+					c++;
+				}
+				if (scores[p] <= scores[c]) {
+					break;
+				}
+				swap(ids, scores, p, c);
+				p = c;
+			}
+		}
+		return result;
+	}
+
+	private static void swap(int[] ids, double[] scores, int a, int b) {
+		int id = ids[a];
+		ids[a] = ids[b];
+		ids[b] = id;
+		double score = scores[a];
+		scores[a] = scores[b];
+		scores[b] = score;
+	}
+
+	// --- 점수 배율 ---
+
+	// 기준 시각 대비 2^((t - landmark) / 반감기). 지수가 커지면 모든 점수를 같은 비율로 줄이고 기준 시각을 옮깁니다.
+	private double scale(long atMillis) {
+		double exponent = (double) (atMillis - landmark) / halfLifeMs;
+		if (exponent > MAX_EXPONENT) {
+			int shift = (int) exponent;
+			double factor = Math.pow(2, -shift);
+			for (int i = 0; i < size; i++) {
+				heapScores[i] *= factor;
+			}
+			landmark += shift * halfLifeMs;
+			exponent -= shift;
+		}
+		return Math.pow(2, exponent);
+	}
+
+	// --- 힙 ---
+
+	private void removeAt(int i) {
+		positions.remove(heapIds[i]);
+		int last = --size;
+		if (i == last) {
+			return;
+		}
+		int moved = heapIds[last];
+		heapIds[i] = moved;
+		heapScores[i] = heapScores[last];
+		positions.put(moved, i);
+		siftDown(i);
+		siftUp(positions.get(moved, i));
+	}
+
+	private void siftUp(int i) {
+		while (i > 0) {
+			int p = (i - 1) >> 1;
+			if (heapScores[p] <= heapScores[i]) {
+				break;
+			}
+			swapHeap(p, i);
+			i = p;
+		}
+	}
+
+	private void siftDown(int i) {
+		while (true) {
+			int c = 2 * i + 1;
+			if (c >= size) {
+				break;
+			}
+			if (c + 1 < size && heapScores[c + 1] < heapScores[c]) {
+				c++;
+			}
+			if (heapScores[i] <= heapScores[c]) {
+				break;
+			}
+			swapHeap(i, c);
+			i = c;
+		}
+	}
+
+	private void swapHeap(int a, int b) {
+		int id = heapIds[a];
+		heapIds[a] = heapIds[b];
+		heapIds[b] = id;
+		double score = heapScores[a];
+		heapScores[a] = heapScores[b];
+		heapScores[b] = score;
+		positions.put(heapIds[a], a);
+		positions.put(heapIds[b], b);
+	}
+
+	// --- 지표 ---
+
+	public synchronized Map<String, Object> stats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("ready", ready);
+		stats.put("tracked", size);
+		stats.put("maxTracked", capacity);
+		stats.put("halfLifeMinutes", halfLifeMs / 60000);
+		stats.put("events", events);
+		stats.put("evictions", evictions);
+		stats.put("dropped", dropped);
+		stats.put("snapshots", snapshots);
+		stats.put("rebuildEvents", rebuildEvents);
+		stats.put("rebuildMillis", rebuildMillis);
+		return stats;
+	}
+}
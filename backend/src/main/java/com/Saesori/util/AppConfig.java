@@ -0,0 +1,47 @@
+package com.Saesori.util;
+
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * 애플리케이션 동작 설정(app.properties)을 읽는 유틸리티입니다.
+ * <p>
+ * 클래스패스의 app.properties를 읽으며, 같은 이름의 JVM 시스템 프로퍼티(-Dkey=value)가 있으면 우선합니다.
+ * 파일이 없거나 키가 없으면 호출 측에서 넘긴 기본값을 사용합니다.
+ */
+public class AppConfig {
+	private static Properties props = new Properties();
+
+	static {
+		String resource = "app.properties";
+
+		try (InputStream is = AppConfig.class.getClassLoader().getResourceAsStream(resource)) {
+			if (is != null) {
+				props.load(is);
+			}
+		} catch (Exception e) {
+			// 설정 파일은 선택 사항이므로 기본값으로 계속 진행
+			System.err.println("Error loading properties file: " + resource + " (" + e.getMessage() + ")");
+		}
+	}
+
+	public static String getString(String key, String defaultValue) {
+		String value = System.getProperty(key, props.getProperty(key));
+		return (value == null || value.isBlank()) ? defaultValue : value.trim();
+	}
+
+	public static int getInt(String key, int defaultValue) {
+		String value = getString(key, null);
+		return (value == null) ? defaultValue : Integer.parseInt(value);
+	}
+
+	public static long getLong(String key, long defaultValue) {
+		String value = getString(key, null);
+		return (value == null) ? defaultValue : Long.parseLong(value);
+	}
+
+	public static boolean getBoolean(String key, boolean defaultValue) {
+		String value = getString(key, null);
+		return (value == null) ? defaultValue : Boolean.parseBoolean(value);
+	}
+}
@@ -0,0 +1,553 @@
+package com.Saesori.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 크기가 제한된 JDBC 커넥션 풀입니다.
+ * <p>
+ * DAO는 기존처럼 {@code try (Connection conn = DBUtil.getConnection())} 형태로 사용하며,
+ * 반환되는 커넥션은 프록시라서 close() 호출 시 물리 커넥션을 닫지 않고 풀로 돌려보냅니다.
+ * 최소/최대 크기, 대여 대기 시간 제한, 유휴 커넥션 정리, 대여 시 검증, 누수 감지를 지원합니다.
+ * <p>
+ * 또한 물리 커넥션마다 SQL 문자열을 키로 하는 LRU PreparedStatement 캐시를 두어,
+ * 같은 SQL은 커넥션당 한 번만 준비(prepare)되도록 합니다. 캐시된 문장의 close()는 파라미터만 초기화하고
+ * 문장을 캐시로 돌려보냅니다.
+ */
+public class ConnectionPool {
+
+	private final String url;
+	private final String user;
+	private final String password;
+
+	private final int minSize;
+	private final int maxSize;
+	private final long acquireTimeoutMs;
+	private final long idleTimeoutMs;
+	private final long validationIntervalMs;
+	private final int validationTimeoutSec;
+	private final long leakDetectionThresholdMs;
+	private final int statementCacheSize;
+	private final Properties connectionProps = new Properties();
+
+	// 최근에 반납된 커넥션을 앞쪽에 두어(LIFO) 따뜻한 커넥션을 먼저 재사용합니다.
+	private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+	private final Set<PooledConnection> active = ConcurrentHashMap.newKeySet();
+	private final Semaphore permits;
+	private final ScheduledExecutorService housekeeper;
+
+	private final AtomicInteger waiting = new AtomicInteger();
+	private final AtomicLong createdCount = new AtomicLong();
+	private final AtomicLong destroyedCount = new AtomicLong();
+	private final AtomicLong acquireTimeouts = new AtomicLong();
+	private final AtomicLong validationFailures = new AtomicLong();
+	private final AtomicLong leaksDetected = new AtomicLong();
+	private final AtomicLong statementCacheHits = new AtomicLong();
+	private final AtomicLong statementCacheMisses = new AtomicLong();
+	private final AtomicLong statementCacheEvictions = new AtomicLong();
+
+	private volatile boolean shutdown;
+
+	public ConnectionPool(Properties props) {
+		this.url = props.getProperty("db.url");
+		this.user = props.getProperty("db.user");
+		this.password = props.getProperty("db.password");
+
+		this.maxSize = Math.max(1, intProp(props, "db.pool.maxSize", 10));
+		this.minSize = Math.min(maxSize, Math.max(0, intProp(props, "db.pool.minSize", 2)));
+		this.acquireTimeoutMs = longProp(props, "db.pool.acquireTimeoutMs", 5000);
+		this.idleTimeoutMs = longProp(props, "db.pool.idleTimeoutMs", 600000);
+		this.validationIntervalMs = longProp(props, "db.pool.validationIntervalMs", 5000);
+		this.validationTimeoutSec = intProp(props, "db.pool.validationTimeoutSec", 2);
+		this.leakDetectionThresholdMs = longProp(props, "db.pool.leakDetectionThresholdMs", 30000);
+		long housekeepingMs = longProp(props, "db.pool.housekeepingIntervalMs", 30000);
+		this.statementCacheSize = Math.max(0, intProp(props, "db.pool.statementCacheSize", 64));
+
+		// MySQL 드라이버 옵션: 서버 측 prepared statement를 사용해 파싱 비용을 커넥션당 한 번으로 줄입니다.
+		if (user != null) {
+			connectionProps.setProperty("user", user);
+		}
+		if (password != null) {
+			connectionProps.setProperty("password", password);
+		}
+		connectionProps.setProperty("useServerPrepStmts",
+				props.getProperty("db.pool.useServerPrepStmts", "true").trim());
+
+		this.permits = new Semaphore(maxSize, true);
+
+		housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "saesori-db-pool-housekeeper");
+			t.setDaemon(true);
+			return t;
+		});
+		housekeeper.scheduleWithFixedDelay(this::housekeep, housekeepingMs, housekeepingMs, TimeUnit.MILLISECONDS);
+
+		// 시작 시 최소 개수만큼 미리 연결해 둡니다. DB가 아직 준비되지 않았다면 이후 대여 시점에 생성합니다.
+		try {
+			fillToMinimum();
+		} catch (SQLException e) {
+			System.err.println("Connection pool warm-up failed: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * 풀에서 커넥션을 대여합니다. 반환된 커넥션의 close()는 풀로의 반납을 의미합니다.
+	 *
+	 * @return 풀에 연결된 커넥션 프록시
+	 * @throws SQLTimeoutException 대기 시간 안에 커넥션을 얻지 못한 경우
+	 * @throws SQLException        물리 커넥션 생성에 실패한 경우
+	 */
+	public Connection getConnection() throws SQLException {
+		if (shutdown) {
+			throw new SQLException("Connection pool has been shut down");
+		}
+
+		waiting.incrementAndGet();
+		try {
+			if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+				acquireTimeouts.incrementAndGet();
+				throw new SQLTimeoutException("Timed out after " + acquireTimeoutMs
+						+ "ms waiting for a connection (active=" + active.size() + ", max=" + maxSize + ")");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a connection", e);
+		} finally {
+			waiting.decrementAndGet();
+		}
+
+		try {
+			PooledConnection pc = takeIdleOrCreate();
+			pc.borrowedAt = System.currentTimeMillis();
+			pc.borrowStack = leakDetectionThresholdMs > 0 ? new Exception("Connection borrowed here") : null;
+			pc.leakReported = false;
+			active.add(pc);
+			return pc.newProxy();
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	private PooledConnection takeIdleOrCreate() throws SQLException {
+		PooledConnection pc;
+		while ((pc = idle.pollFirst()) != null) {
+			if (isUsable(pc)) {
+				return pc;
+			}
+			validationFailures.incrementAndGet();
+			destroy(pc);
+		}
+		return create();
+	}
+
+	// 대여 시 검증: 최근에 사용된 커넥션은 검증 왕복을 생략합니다.
+	private boolean isUsable(PooledConnection pc) {
+		try {
+			if (pc.physical.isClosed()) {
+				return false;
+			}
+			if (System.currentTimeMillis() - pc.lastUsedAt < validationIntervalMs) {
+				return true;
+			}
+			return pc.physical.isValid(validationTimeoutSec);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private PooledConnection create() throws SQLException {
+		Connection physical = DriverManager.getConnection(url, connectionProps);
+		createdCount.incrementAndGet();
+		return new PooledConnection(physical);
+	}
+
+	private void destroy(PooledConnection pc) {
+		destroyedCount.incrementAndGet();
+		pc.closeStatements();
+		closeQuietly(pc.physical);
+	}
+
+	// 프록시의 close()에서 호출됩니다.
+	private void release(PooledConnection pc) {
+		if (!active.remove(pc)) {
+			return;
+		}
+		pc.borrowStack = null;
+		pc.releaseStatements();
+		boolean reusable = !shutdown;
+		try {
+			if (reusable && pc.physical.isClosed()) {
+				reusable = false;
+			}
+			// 트랜잭션을 사용한 DAO가 autoCommit을 되돌리지 않아도 다음 대여자가 깨끗한 상태를 받도록 합니다.
+			if (reusable && !pc.physical.getAutoCommit()) {
+				pc.physical.rollback();
+				pc.physical.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			reusable = false;
+		}
+
+		if (reusable) {
+			pc.lastUsedAt = System.currentTimeMillis();
+			idle.offerFirst(pc);
+		} else {
+			destroy(pc);
+		}
+		permits.release();
+	}
+
+	private void housekeep() {
+		try {
+			evictIdle();
+			detectLeaks();
+			fillToMinimum();
+		} catch (Exception e) {
+			System.err.println("Connection pool housekeeping failed: " + e.getMessage());
+		}
+	}
+
+	// 최소 개수를 넘는 오래된 유휴 커넥션을 덱의 뒤쪽(가장 오래 쉰 쪽)부터 닫습니다.
+	private void evictIdle() {
+		if (idleTimeoutMs <= 0) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		Iterator<PooledConnection> it = idle.descendingIterator();
+		while (it.hasNext() && idle.size() + active.size() > minSize) {
+			PooledConnection pc = it.next();
+			if (now - pc.lastUsedAt > idleTimeoutMs && idle.remove(pc)) {
+				destroy(pc);
+			}
+		}
+	}
+
+	private void detectLeaks() {
+		if (leakDetectionThresholdMs <= 0) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		for (PooledConnection pc : active) {
+			Exception stack = pc.borrowStack;
+			if (!pc.leakReported && stack != null && now - pc.borrowedAt > leakDetectionThresholdMs) {
+				pc.leakReported = true;
+				leaksDetected.incrementAndGet();
+				System.err.println("Possible connection leak: held for " + (now - pc.borrowedAt) + "ms");
+				stack.printStackTrace();
+			}
+		}
+	}
+
+	private void fillToMinimum() throws SQLException {
+		while (!shutdown && idle.size() + active.size() < minSize) {
+			if (!permits.tryAcquire()) {
+				return;
+			}
+			try {
+				PooledConnection pc = create();
+				pc.lastUsedAt = System.currentTimeMillis();
+				idle.offerLast(pc);
+			} finally {
+				permits.release();
+			}
+		}
+	}
+
+	/**
+	 * 풀 상태 지표(active/idle/waiting 및 누적 카운터)를 반환합니다.
+	 */
+	public Map<String, Object> stats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("active", active.size());
+		stats.put("idle", idle.size());
+		stats.put("waiting", waiting.get());
+		stats.put("minSize", minSize);
+		stats.put("maxSize", maxSize);
+		stats.put("created", createdCount.get());
+		stats.put("destroyed", destroyedCount.get());
+		stats.put("acquireTimeouts", acquireTimeouts.get());
+		stats.put("validationFailures", validationFailures.get());
+		stats.put("leaksDetected", leaksDetected.get());
+		stats.put("statementCacheSize", statementCacheSize);
+		stats.put("statementCacheHits", statementCacheHits.get());
+		stats.put("statementCacheMisses", statementCacheMisses.get());
+		stats.put("statementCacheEvictions", statementCacheEvictions.get());
+		return stats;
+	}
+
+	/**
+	 * 유휴 커넥션을 모두 닫고 풀을 종료합니다. 대여 중인 커넥션은 반납 시점에 닫힙니다.
+	 */
+	public void shutdown() {
+		shutdown = true;
+		housekeeper.shutdownNow();
+		PooledConnection pc;
+		while ((pc = idle.pollFirst()) != null) {
+			destroy(pc);
+		}
+	}
+
+	private static int intProp(Properties props, String key, int defaultValue) {
+		String value = props.getProperty(key);
+		return (value == null || value.isBlank()) ? defaultValue : Integer.parseInt(value.trim());
+	}
+
+	private static long longProp(Properties props, String key, long defaultValue) {
+		String value = props.getProperty(key);
+		return (value == null || value.isBlank()) ? defaultValue : Long.parseLong(value.trim());
+	}
+
+	/**
+	 * 물리 커넥션과 대여 상태를 묶어 관리하는 내부 클래스입니다.
+	 */
+	private final class PooledConnection {
+		final Connection physical;
+		volatile long lastUsedAt = System.currentTimeMillis();
+		volatile long borrowedAt;
+		volatile Exception borrowStack;
+		volatile boolean leakReported;
+
+		// 접근 순서 기반 LinkedHashMap으로 LRU를 구현합니다. 한도를 넘으면 가장 오래 쓰지 않은 문장을 닫습니다.
+		private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+				if (size() <= statementCacheSize) {
+					return false;
+				}
+				statementCacheEvictions.incrementAndGet();
+				CachedStatement cs = eldest.getValue();
+				cs.evicted = true;
+				if (!cs.inUse) {
+					closeQuietly(cs.physical);
+				}
+				return true;
+			}
+		};
+
+		PooledConnection(Connection physical) {
+			this.physical = physical;
+		}
+
+		/**
+		 * 캐시에서 문장을 꺼내거나 새로 준비합니다. 같은 SQL이 이미 사용 중이면 캐시하지 않은 문장을 돌려줍니다.
+		 */
+		PreparedStatement prepare(Connection owner, String sql, Integer autoGeneratedKeys) throws SQLException {
+			if (statementCacheSize == 0) {
+				return prepareUncached(sql, autoGeneratedKeys);
+			}
+			String key = autoGeneratedKeys == null ? sql : autoGeneratedKeys + "#" + sql;
+			synchronized (statements) {
+				CachedStatement cs = statements.get(key);
+				if (cs != null && !cs.inUse && !cs.physical.isClosed()) {
+					statementCacheHits.incrementAndGet();
+					return cs.checkout(owner);
+				}
+				statementCacheMisses.incrementAndGet();
+				if (cs != null && cs.inUse) {
+					return prepareUncached(sql, autoGeneratedKeys);
+				}
+				cs = new CachedStatement(this, prepareUncached(sql, autoGeneratedKeys));
+				statements.put(key, cs);
+				return cs.checkout(owner);
+			}
+		}
+
+		private PreparedStatement prepareUncached(String sql, Integer autoGeneratedKeys) throws SQLException {
+			return autoGeneratedKeys == null ? physical.prepareStatement(sql)
+					: physical.prepareStatement(sql, autoGeneratedKeys);
+		}
+
+		void returnStatement(CachedStatement cs, Object lease) {
+			synchronized (statements) {
+				if (cs.lease != lease) {
+					return;
+				}
+				cs.inUse = false;
+				cs.lease = null;
+				if (cs.evicted) {
+					closeQuietly(cs.physical);
+					return;
+				}
+				try {
+					cs.physical.clearParameters();
+				} catch (SQLException e) {
+					// 재사용할 수 없는 상태이므로 캐시에서 제거합니다.
+					statements.values().remove(cs);
+					closeQuietly(cs.physical);
+				}
+			}
+		}
+
+		// 대여자가 닫지 않은 문장도 반납 시점에 다시 사용할 수 있도록 돌려놓습니다.
+		void releaseStatements() {
+			synchronized (statements) {
+				for (CachedStatement cs : statements.values()) {
+					cs.inUse = false;
+					cs.lease = null;
+				}
+			}
+		}
+
+		void closeStatements() {
+			List<CachedStatement> toClose;
+			synchronized (statements) {
+				toClose = new ArrayList<>(statements.values());
+				statements.clear();
+			}
+			for (CachedStatement cs : toClose) {
+				closeQuietly(cs.physical);
+			}
+		}
+
+		// 대여할 때마다 새 프록시를 만들어, 반납 이후의 오래된 참조가 다음 대여자의 커넥션을 건드리지 못하게 합니다.
+		Connection newProxy() {
+			return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+					new Class<?>[] { Connection.class }, new Handler());
+		}
+
+		private final class Handler implements InvocationHandler {
+			private boolean closed;
+
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				switch (method.getName()) {
+				case "prepareStatement":
+					if (!closed && isCacheable(method)) {
+						Integer keys = args.length == 2 ? (Integer) args[1] : null;
+						return prepare((Connection) proxy, (String) args[0], keys);
+					}
+					break;
+				case "close":
+					if (!closed) {
+						closed = true;
+						release(PooledConnection.this);
+					}
+					return null;
+				case "isClosed":
+					return closed || physical.isClosed();
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "PooledConnection[" + physical + "]";
+				default:
+					break;
+				}
+				if (closed) {
+					throw new SQLException("Connection is closed");
+				}
+				return invokeTarget(physical, method, args);
+			}
+
+			// prepareStatement(String)과 prepareStatement(String, int autoGeneratedKeys)만 캐시합니다.
+			private boolean isCacheable(Method method) {
+				Class<?>[] types = method.getParameterTypes();
+				return types.length == 1 || (types.length == 2 && types[1] == int.class);
+			}
+		}
+	}
+
+	/**
+	 * 커넥션에 묶인 캐시 항목입니다. 같은 커넥션 안에서만 사용되므로 대여자 하나가 독점합니다.
+	 */
+	private final class CachedStatement {
+		final PooledConnection connection;
+		final PreparedStatement physical;
+		boolean inUse;
+		boolean evicted;
+		// 현재 대여 중인 프록시의 핸들러입니다. 반납 후 남은 오래된 프록시는 이 값과 달라 무시됩니다.
+		volatile Object lease;
+
+		CachedStatement(PooledConnection connection, PreparedStatement physical) {
+			this.connection = connection;
+			this.physical = physical;
+		}
+
+		PreparedStatement checkout(Connection owner) {
+			StatementHandler handler = new StatementHandler(owner);
+			inUse = true;
+			lease = handler;
+			return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+					new Class<?>[] { PreparedStatement.class }, handler);
+		}
+
+		private final class StatementHandler implements InvocationHandler {
+			private final Connection owner;
+			private boolean closed;
+
+			StatementHandler(Connection owner) {
+				this.owner = owner;
+			}
+
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				switch (method.getName()) {
+				case "close":
+					if (!closed) {
+						closed = true;
+						connection.returnStatement(CachedStatement.this, this);
+					}
+					return null;
+				case "isClosed":
+					return closed || lease != this || physical.isClosed();
+				case "getConnection":
+					return owner;
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "CachedStatement[" + physical + "]";
+				default:
+					break;
+				}
+				if (closed || lease != this) {
+					throw new SQLException("Statement is closed");
+				}
+				return invokeTarget(physical, method, args);
+			}
+		}
+	}
+
+	private static void closeQuietly(AutoCloseable ac) {
+		try {
+			ac.close();
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+
+	private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+}
@@ -3,11 +3,29 @@ package com.Saesori.util;
 
 import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
 import java.util.Properties;
 
+/**
+ * DB 커넥션 획득/해제 유틸리티입니다.
+ * <p>
+ * 커넥션은 {@link ConnectionPool}에서 대여되며, db.properties의 아래 키로 풀을 설정합니다. (모두 선택 사항)
+ * <ul>
+ * <li>db.pool.minSize (기본 2), db.pool.maxSize (기본 10)</li>
+ * <li>db.pool.acquireTimeoutMs (기본 5000) - 커넥션 대기 최대 시간</li>
+ * <li>db.pool.idleTimeoutMs (기본 600000) - 최소 개수를 넘는 유휴 커넥션 정리 기준</li>
+ * <li>db.pool.validationIntervalMs (기본 5000), db.pool.validationTimeoutSec (기본 2) - 대여 시 검증</li>
+ * <li>db.pool.leakDetectionThresholdMs (기본 30000, 0이면 끔) - 누수 감지 기준</li>
+ * <li>db.pool.housekeepingIntervalMs (기본 30000)</li>
+ * <li>db.pool.statementCacheSize (기본 64, 0이면 끔) - 커넥션별 PreparedStatement LRU 캐시 크기</li>
+ * <li>db.pool.useServerPrepStmts (기본 true) - MySQL 서버 측 prepared statement 사용 여부</li>
+ * </ul>
+ */
 public class DBUtil {
 	private static Properties props = new Properties();
+	private static ConnectionPool pool;
 
 	// 2. 정적 초기화 블록: 클래스가 메모리에 로드될 때 .properties 파일을 읽어옴
 	static {
@@ -24,6 +42,9 @@ public class DBUtil {
 			// 드라이버 로딩 (Properties 파일에서 읽은 값을 사용)
 			Class.forName(props.getProperty("db.driver"));
 
+			// 3. 커넥션 풀 생성
+			pool = new ConnectionPool(props);
+
 		} catch (Exception e) {
 			e.printStackTrace();
 			// 로딩 실패 시 애플리케이션 실행을 중단하거나 적절히 처리해야 함
@@ -31,22 +52,47 @@ public class DBUtil {
 		}
 	}
 
-	// DB 접속
-	public static Connection getConnection() {
-		Connection conn = null;
+	// DB 접속 (풀에서 대여, close() 시 풀로 반납)
+	public static Connection getConnection() throws SQLException {
+		return pool.getConnection();
+	}
 
-		// Properties 객체에서 URL, USER, PASS를 읽어와 사용
-		String url = props.getProperty("db.url");
-		String user = props.getProperty("db.user");
-		String pass = props.getProperty("db.password");
+	// 커넥션 풀 상태 지표
+	public static Map<String, Object> getPoolStats() {
+		return pool.stats();
+	}
 
-		try {
-			conn = DriverManager.getConnection(url, user, pass);
-		} catch (Exception e) {
-			e.printStackTrace();
+	// 애플리케이션 종료 시 풀 정리
+	public static void shutdown() {
+		pool.shutdown();
+	}
+
+	// IN 목록 길이를 8, 16, 32 ... 로 맞춥니다. 길이가 같은 SQL은 PreparedStatement 캐시에서 재사용됩니다.
+	// 남는 자리는 목록의 첫 번째 값으로 채워 바인딩합니다.
+	public static int inListSize(int count) {
+		int size = 8;
+		while (size < count) {
+			size *= 2;
+		}
+		return size;
+	}
+
+	// "?, ?, ..." 형태의 IN 목록 자리 표시자
+	public static String placeholders(int count) {
+		StringBuilder sb = new StringBuilder("?");
+		for (int i = 1; i < count; i++) {
+			sb.append(", ?");
 		}
+		return sb.toString();
+	}
 
-		return conn;
+	// values를 start 위치부터 inListSize(values.length)개 자리에 바인딩하고 다음 인덱스를 반환합니다.
+	public static int setIntList(PreparedStatement stmt, int start, int[] values) throws SQLException {
+		int size = inListSize(values.length);
+		for (int i = 0; i < size; i++) {
+			stmt.setInt(start + i, values[i < values.length ? i : 0]);
+		}
+		return start + size;
 	}
 
 	// DB 접속 해제
@@ -0,0 +1,99 @@
+package com.Saesori.util;
+
+import com.Saesori.dto.Post;
+import com.Saesori.dto.PostPage;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * (created_at, id) 기반 키셋 페이지네이션 커서입니다.
+ * <p>
+ * 문자열 형식은 "{작성시각 epoch millis}_{게시글 ID}" 이며, 커서보다 오래된 게시글을 조회하는 데 사용합니다.
+ * 답글 목록처럼 오래된 순으로 읽을 때는 커서보다 새로운 게시글을 조회합니다.
+ */
+public final class FeedCursor {
+
+	// 커서가 없을 때(첫 페이지) 사용하는 상한값
+	public static final FeedCursor START = new FeedCursor(Timestamp.valueOf("9999-12-31 23:59:59"), Integer.MAX_VALUE);
+
+	// 오래된 순으로 읽을 때 커서가 없으면(처음부터) 사용하는 하한값
+	public static final FeedCursor EARLIEST = new FeedCursor(new Timestamp(0), 0);
+
+	private final Timestamp createdAt;
+	private final int id;
+
+	public FeedCursor(Timestamp createdAt, int id) {
+		this.createdAt = createdAt;
+		this.id = id;
+	}
+
+	/**
+	 * 게시글의 위치를 가리키는 커서를 만듭니다.
+	 */
+	public static FeedCursor of(Post post) {
+		return new FeedCursor(post.getCreatedAt(), post.getId());
+	}
+
+	/**
+	 * 커서 문자열을 해석합니다. null 또는 빈 문자열이면 첫 페이지 커서를 반환합니다.
+	 *
+	 * @throws InvalidCursorException 형식이 올바르지 않은 경우
+	 */
+	public static FeedCursor parse(String value) {
+		if (value == null || value.isBlank()) {
+			return START;
+		}
+		int sep = value.indexOf('_');
+		if (sep <= 0) {
+			throw new InvalidCursorException("Invalid cursor: " + value, null);
+		}
+		try {
+			long millis = Long.parseLong(value.substring(0, sep));
+			int id = Integer.parseInt(value.substring(sep + 1));
+			return new FeedCursor(new Timestamp(millis), id);
+		} catch (NumberFormatException e) {
+			throw new InvalidCursorException("Invalid cursor: " + value, e);
+		}
+	}
+
+	/**
+	 * limit + 1개까지 조회한 결과를 페이지로 변환합니다. 초과분이 있으면 마지막 게시글 위치를 다음 커서로 사용합니다.
+	 */
+	public static PostPage toPage(List<Post> rows, int limit) {
+		if (rows.size() <= limit) {
+			return new PostPage(rows, null);
+		}
+		List<Post> page = new ArrayList<>(rows.subList(0, limit));
+		return new PostPage(page, of(page.get(limit - 1)).encode());
+	}
+
+	public Timestamp getCreatedAt() {
+		return createdAt;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public String encode() {
+		return createdAt.getTime() + "_" + id;
+	}
+
+	@Override
+	public String toString() {
+		return encode();
+	}
+
+	/**
+	 * 클라이언트가 보낸 커서가 없거나 형식이 올바르지 않을 때 발생합니다. 컨트롤러는 400으로 응답합니다.
+	 */
+	public static final class InvalidCursorException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		public InvalidCursorException(String message, Throwable cause) {
+			super(message, cause);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.Saesori.util;
+
+import com.Saesori.dto.Post;
+import com.Saesori.dto.PostPage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 각각 (created_at, id) 내림차순으로 정렬된 여러 피드 페이지를 하나로 합칩니다. (k-way merge)
+ */
+public final class FeedMerger {
+
+	// 최신순: created_at 내림차순, 같으면 id 내림차순
+	public static final Comparator<Post> NEWEST_FIRST = Comparator
+			.comparing(Post::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+			.thenComparing(Comparator.comparingInt(Post::getId).reversed());
+
+	private FeedMerger() {
+	}
+
+	/**
+	 * 정렬된 페이지들을 합쳐 상위 limit개를 반환합니다. 같은 게시글 ID는 한 번만 포함됩니다.
+	 * <p>
+	 * 각 원본 페이지가 커서 이후의 상위 limit개라면, 합친 결과의 상위 limit개도 전체 기준의 상위 limit개입니다.
+	 *
+	 * @param pages 같은 커서로 조회한 페이지들
+	 * @param limit 페이지 크기
+	 * @return 합쳐진 페이지 (어느 원본에라도 남은 게시글이 있으면 nextCursor 설정)
+	 */
+	public static PostPage merge(List<PostPage> pages, int limit) {
+		// 힙에는 (원본 번호, 원본 내 위치)를 넣고, 각 원본의 현재 머리 게시글로 비교합니다.
+		PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, pages.size()),
+				(a, b) -> NEWEST_FIRST.compare(pages.get(a[0]).getPosts().get(a[1]),
+						pages.get(b[0]).getPosts().get(b[1])));
+		boolean sourceHasMore = false;
+		for (int i = 0; i < pages.size(); i++) {
+			PostPage page = pages.get(i);
+			if (!page.getPosts().isEmpty()) {
+				heads.add(new int[] { i, 0 });
+			}
+			sourceHasMore |= page.getNextCursor() != null;
+		}
+
+		List<Post> merged = new ArrayList<>(limit);
+		Set<Integer> seen = new HashSet<>();
+		while (!heads.isEmpty() && merged.size() < limit) {
+			int[] head = heads.poll();
+			List<Post> source = pages.get(head[0]).getPosts();
+			Post post = source.get(head[1]);
+			if (seen.add(post.getId())) {
+				merged.add(post);
+			}
+			if (head[1] + 1 < source.size()) {
+				heads.add(new int[] { head[0], head[1] + 1 });
+			}
+		}
+
+		boolean hasMore = sourceHasMore || !heads.isEmpty();
+		String nextCursor = (hasMore && !merged.isEmpty()) ? FeedCursor.of(merged.get(merged.size() - 1)).encode()
+				: null;
+		return new PostPage(merged, nextCursor);
+	}
+}
@@ -0,0 +1,165 @@
+package com.Saesori.util;
+
+import java.util.Arrays;
+
+/**
+ * int 값을 박싱 없이 보관하는 해시 집합입니다. (개방 주소법, 선형 탐사)
+ * <p>
+ * 게시글/사용자 ID처럼 건수가 많고 조회가 잦은 값을 Integer 객체 없이 다루기 위해 사용합니다.
+ * 스레드 안전하지 않습니다.
+ */
+public class IntHashSet {
+	private static final int EMPTY = 0; // 0은 빈 칸 표시로 쓰고 별도 플래그로 보관
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private int[] table;
+	private int size;
+	private boolean hasZero;
+
+	public IntHashSet() {
+		this(16);
+	}
+
+	public IntHashSet(int expectedSize) {
+		int capacity = 16;
+		while (capacity * LOAD_FACTOR < expectedSize) {
+			capacity <<= 1;
+		}
+		table = new int[capacity];
+	}
+
+	/**
+	 * @return 새로 추가되었으면 true
+	 */
+	public boolean add(int value) {
+		if (value == EMPTY) {
+			if (hasZero) {
+				return false;
+			}
+			hasZero = true;
+			size++;
+			return true;
+		}
+		int mask = table.length - 1;
+		int i = mix(value) & mask;
+		while (table[i] != EMPTY) {
+			if (table[i] == value) {
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		table[i] = value;
+		size++;
+		if (size > table.length * LOAD_FACTOR) {
+			rehash(table.length << 1);
+		}
+		return true;
+	}
+
+	public boolean contains(int value) {
+		if (value == EMPTY) {
+			return hasZero;
+		}
+		int mask = table.length - 1;
+		int i = mix(value) & mask;
+		while (table[i] != EMPTY) {
+			if (table[i] == value) {
+				return true;
+			}
+			i = (i + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * @return 값이 있어 제거했으면 true
+	 */
+	public boolean remove(int value) {
+		if (value == EMPTY) {
+			if (!hasZero) {
+				return false;
+			}
+			hasZero = false;
+			size--;
+			return true;
+		}
+		int mask = table.length - 1;
+		int i = mix(value) & mask;
+		while (table[i] != value) {
+			if (table[i] == EMPTY) {
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		// 뒤따르는 탐사 구간의 값을 앞으로 당겨 빈 칸이 탐색을 끊지 않도록 합니다.
+		int hole = i;
+		int j = i;
+		while (true) {
+			j = (j + 1) & mask;
+			if (table[j] == EMPTY) {
+				break;
+			}
+			int home = mix(table[j]) & mask;
+			// home이 (hole, j] 구간 밖에 있으면 hole로 옮길 수 있음
+			if (((j - home) & mask) >= ((j - hole) & mask)) {
+				table[hole] = table[j];
+				hole = j;
+			}
+		}
+		table[hole] = EMPTY;
+		size--;
+		return true;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * 집합의 값을 순서 없이 배열로 반환합니다.
+	 */
+	public int[] toArray() {
+		int[] values = new int[size];
+		int n = 0;
+		if (hasZero) {
+			values[n++] = 0;
+		}
+		for (int value : table) {
+			if (value != EMPTY) {
+				values[n++] = value;
+			}
+		}
+		return values;
+	}
+
+	public void clear() {
+		Arrays.fill(table, EMPTY);
+		hasZero = false;
+		size = 0;
+	}
+
+	private void rehash(int capacity) {
+		int[] old = table;
+		table = new int[capacity];
+		int mask = capacity - 1;
+		for (int value : old) {
+			if (value != EMPTY) {
+				int i = mix(value) & mask;
+				while (table[i] != EMPTY) {
+					i = (i + 1) & mask;
+				}
+				table[i] = value;
+			}
+		}
+	}
+
+	// 연속된 ID가 한곳에 몰리지 않도록 비트를 섞습니다.
+	private static int mix(int value) {
+		int h = value * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
@@ -0,0 +1,172 @@
+package com.Saesori.util;
+
+import java.util.Arrays;
+
+/**
+ * int 키와 int 값을 박싱 없이 보관하는 해시 맵입니다. (개방 주소법, 선형 탐사)
+ * <p>
+ * {@link IntHashSet}과 같은 방식이며, 스레드 안전하지 않습니다.
+ */
+public class IntIntHashMap {
+	private static final int EMPTY = 0; // 0은 빈 칸 표시로 쓰고 별도 플래그로 보관
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private int[] keys;
+	private int[] values;
+	private int size;
+	private boolean hasZero;
+	private int zeroValue;
+
+	public IntIntHashMap() {
+		this(16);
+	}
+
+	public IntIntHashMap(int expectedSize) {
+		int capacity = 16;
+		while (capacity * LOAD_FACTOR < expectedSize) {
+			capacity <<= 1;
+		}
+		keys = new int[capacity];
+		values = new int[capacity];
+	}
+
+	public void put(int key, int value) {
+		if (key == EMPTY) {
+			if (!hasZero) {
+				hasZero = true;
+				size++;
+			}
+			zeroValue = value;
+			return;
+		}
+		int mask = keys.length - 1;
+		int i = mix(key) & mask;
+		while (keys[i] != EMPTY) {
+			if (keys[i] == key) {
+				values[i] = value;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = value;
+		size++;
+		if (size > keys.length * LOAD_FACTOR) {
+			rehash(keys.length << 1);
+		}
+	}
+
+	/**
+	 * @return 키에 해당하는 값, 없으면 missingValue
+	 */
+	public int get(int key, int missingValue) {
+		if (key == EMPTY) {
+			return hasZero ? zeroValue : missingValue;
+		}
+		int mask = keys.length - 1;
+		int i = mix(key) & mask;
+		while (keys[i] != EMPTY) {
+			if (keys[i] == key) {
+				return values[i];
+			}
+			i = (i + 1) & mask;
+		}
+		return missingValue;
+	}
+
+	/**
+	 * @return 키가 있어 제거했으면 true
+	 */
+	public boolean remove(int key) {
+		if (key == EMPTY) {
+			if (!hasZero) {
+				return false;
+			}
+			hasZero = false;
+			size--;
+			return true;
+		}
+		int mask = keys.length - 1;
+		int i = mix(key) & mask;
+		while (keys[i] != key) {
+			if (keys[i] == EMPTY) {
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		// 뒤따르는 탐사 구간의 항목을 앞으로 당겨 빈 칸이 탐색을 끊지 않도록 합니다.
+		int hole = i;
+		int j = i;
+		while (true) {
+			j = (j + 1) & mask;
+			if (keys[j] == EMPTY) {
+				break;
+			}
+			int home = mix(keys[j]) & mask;
+			if (((j - home) & mask) >= ((j - hole) & mask)) {
+				keys[hole] = keys[j];
+				values[hole] = values[j];
+				hole = j;
+			}
+		}
+		keys[hole] = EMPTY;
+		size--;
+		return true;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	// 할당된 테이블 크기 (메모리 추정용)
+	public int capacity() {
+		return keys.length;
+	}
+
+	/**
+	 * 현재 키 목록을 새 배열로 반환합니다. (순서 없음)
+	 */
+	public int[] keys() {
+		int[] result = new int[size];
+		int n = 0;
+		if (hasZero) {
+			result[n++] = EMPTY;
+		}
+		for (int key : keys) {
+			if (key != EMPTY) {
+				result[n++] = key;
+			}
+		}
+		return result;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, EMPTY);
+		hasZero = false;
+		size = 0;
+	}
+
+	private void rehash(int capacity) {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new int[capacity];
+		values = new int[capacity];
+		int mask = capacity - 1;
+		for (int n = 0; n < oldKeys.length; n++) {
+			if (oldKeys[n] != EMPTY) {
+				int i = mix(oldKeys[n]) & mask;
+				while (keys[i] != EMPTY) {
+					i = (i + 1) & mask;
+				}
+				keys[i] = oldKeys[n];
+				values[i] = oldValues[n];
+			}
+		}
+	}
+
+	// 연속된 ID가 한곳에 몰리지 않도록 비트를 섞습니다.
+	private static int mix(int value) {
+		int h = value * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
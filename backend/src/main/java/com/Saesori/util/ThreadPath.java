@@ -0,0 +1,49 @@
+package com.Saesori.util;
+
+/**
+ * 답글 스레드의 구체화 경로(posts.thread_path)를 다루는 유틸리티입니다.
+ * <p>
+ * 답글의 경로는 스레드 루트부터 부모까지의 게시글 ID를 8자리 16진수(대문자)로 이어 붙인 문자열입니다.
+ * 예) 루트 18 → 답글 69 → 답글 80 의 경로는 "00000012" + "00000045" 입니다. 답글이 아닌 게시글은 빈 문자열입니다.
+ * SQL에서는 같은 값을 LPAD(HEX(id), 8, '0') 으로 만듭니다.
+ */
+public final class ThreadPath {
+	public static final int SEGMENT_LENGTH = 8;
+	public static final int MAX_LENGTH = 3000; // 컬럼 길이
+	public static final int MAX_DEPTH = MAX_LENGTH / SEGMENT_LENGTH; // 답글 최대 깊이 (375단계)
+
+	private ThreadPath() {
+	}
+
+	// 게시글 ID 하나의 경로 조각
+	public static String segment(int id) {
+		return String.format("%08X", id);
+	}
+
+	// 경로에 담긴 조상 ID (루트 → 부모 순서)
+	public static int[] ancestorIds(String path) {
+		if (path == null || path.isEmpty()) {
+			return new int[0];
+		}
+		int[] ids = new int[path.length() / SEGMENT_LENGTH];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = Integer.parseInt(path, i * SEGMENT_LENGTH, (i + 1) * SEGMENT_LENGTH, 16);
+		}
+		return ids;
+	}
+
+	// 게시글의 자손들이 공통으로 갖는 경로 접두사
+	public static String childPrefix(String path, int id) {
+		return (path == null ? "" : path) + segment(id);
+	}
+
+	// 이 경로를 가진 게시글에 답글을 달 수 있는지 (답글 경로가 컬럼 길이를 넘지 않는지)
+	public static boolean canAppend(int pathLength) {
+		return pathLength + SEGMENT_LENGTH <= MAX_LENGTH;
+	}
+
+	// 경로 길이로 계산한 깊이 (루트의 직접 답글이 1)
+	public static int depth(String path) {
+		return path == null ? 0 : path.length() / SEGMENT_LENGTH;
+	}
+}
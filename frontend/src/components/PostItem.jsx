@@ -25,13 +25,12 @@ export default function PostItem({ post, currentUser, onDelete }) {
         setLikeCount(liked ? likeCount - 1 : likeCount + 1);
 
         try {
-            if (originalLiked) {
-
-                await api.delete(`/likes/${post.id}`);
-            } else {
-
-                await api.post(`/likes/${post.id}`);
-            }
+            const res = originalLiked
+                ? await api.delete(`/likes/${post.id}`)
+                : await api.post(`/likes/${post.id}`);
+            // 서버가 돌려준 최종 상태로 맞춤 (다른 사용자의 좋아요 포함)
+            setLiked(res.data.liked);
+            setLikeCount(res.data.likeCount);
         } catch (error) {
             console.error("좋아요 처리 실패", error);
             // 상태 복구
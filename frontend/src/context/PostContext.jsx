@@ -10,6 +10,8 @@ const PostContext = createContext(null);
 const ACTIONS = {
     SET_LOADING: 'SET_LOADING',
     SET_POSTS: 'SET_POSTS',
+    APPEND_POSTS: 'APPEND_POSTS',
+    SET_LOADING_MORE: 'SET_LOADING_MORE',
     DELETE_POST: 'DELETE_POST',
     TOGGLE_LIKE: 'TOGGLE_LIKE',
 };
@@ -21,7 +23,21 @@ function postReducer(state, action) {
             return { ...state, loading: action.payload };
 
         case ACTIONS.SET_POSTS:
-            return { ...state, posts: action.payload, loading: false };
+            return { ...state, posts: action.payload, nextCursor: action.nextCursor ?? null, loading: false };
+
+        // 다음 페이지 이어 붙이기 (새 글로 페이지 경계가 밀려 겹친 게시글은 제외)
+        case ACTIONS.APPEND_POSTS: {
+            const seen = new Set(state.posts.map(p => p.id));
+            return {
+                ...state,
+                posts: [...state.posts, ...action.payload.filter(p => !seen.has(p.id))],
+                nextCursor: action.nextCursor ?? null,
+                loadingMore: false
+            };
+        }
+
+        case ACTIONS.SET_LOADING_MORE:
+            return { ...state, loadingMore: action.payload };
 
         case ACTIONS.DELETE_POST:
             return {
@@ -66,7 +82,9 @@ export const PostProvider = ({ children }) => {
     const { checkNewBirds } = useBirds();
     const [state, dispatch] = useReducer(postReducer, {
         posts: [],
-        loading: false
+        nextCursor: null,
+        loading: false,
+        loadingMore: false
     });
 
     const fetchControllerRef = useRef(null);
@@ -105,8 +123,13 @@ export const PostProvider = ({ children }) => {
                 return [];
             }
 
-            const sorted = res.data.sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt));
-            dispatch({ type: ACTIONS.SET_POSTS, payload: sorted });
+            // 페이지 응답({ posts, nextCursor })과 배열 응답을 모두 처리
+            const list = await api.withLikeStates(Array.isArray(res.data) ? res.data : res.data.posts);
+            if (fetchControllerRef.current !== controller) {
+                return [];
+            }
+            const sorted = list.sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt));
+            dispatch({ type: ACTIONS.SET_POSTS, payload: sorted, nextCursor: res.data.nextCursor });
             fetchControllerRef.current = null;
             return sorted;
         } catch (error) {
@@ -122,6 +145,39 @@ export const PostProvider = ({ children }) => {
         }
     }, [user]);
 
+    // 다음 페이지 조회 (fetchPosts 가 받은 nextCursor 부터)
+    // 탭 전환 등으로 fetchPosts 가 새로 시작되면 이 요청은 취소됩니다.
+    const loadMorePosts = useCallback(async (tab = 'GLOBAL') => {
+        if (!state.nextCursor || fetchControllerRef.current) return;
+        if (tab === 'FOLLOWING' && !user) return;
+
+        const controller = new AbortController();
+        fetchControllerRef.current = controller;
+
+        dispatch({ type: ACTIONS.SET_LOADING_MORE, payload: true });
+        try {
+            const url = tab === 'FOLLOWING' ? '/posts/following' : '/posts';
+            const res = await api.get(url, { params: { before: state.nextCursor }, signal: controller.signal });
+            const list = await api.withLikeStates(res.data.posts);
+            if (fetchControllerRef.current !== controller) {
+                return;
+            }
+            const sorted = list.sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt));
+            dispatch({ type: ACTIONS.APPEND_POSTS, payload: sorted, nextCursor: res.data.nextCursor });
+            fetchControllerRef.current = null;
+        } catch (error) {
+            if (fetchControllerRef.current === controller) {
+                fetchControllerRef.current = null;
+            }
+            dispatch({ type: ACTIONS.SET_LOADING_MORE, payload: false });
+            // 요청 중단인 경우 조용히 무시
+            if (error?.name === 'CanceledError' || error?.code === 'ERR_CANCELED' || error?.name === 'AbortError') {
+                return;
+            }
+            console.error('loadMorePosts failed', error);
+        }
+    }, [user, state.nextCursor]);
+
     const searchPosts = useCallback(async (q) => {
         if (!q || q.trim() === '') return [];
         dispatch({ type: ACTIONS.SET_LOADING, payload: true });
@@ -250,7 +306,10 @@ export const PostProvider = ({ children }) => {
         <PostContext.Provider value={{
             posts: state.posts,
             loading: state.loading,
+            nextCursor: state.nextCursor,
+            loadingMore: state.loadingMore,
             fetchPosts,
+            loadMorePosts,
             searchPosts,
             fetchPostById,
             createPost,
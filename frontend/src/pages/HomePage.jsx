@@ -19,7 +19,7 @@ const getImageUrl = (url) => {
 };
 
 export default function HomePage() {
-    const { posts, fetchPosts, createPost, repost, quote, reply: postReply, deletePost, toggleLike } = usePosts();
+    const { posts, nextCursor, loadingMore, fetchPosts, loadMorePosts, createPost, repost, quote, reply: postReply, deletePost, toggleLike } = usePosts();
     const [content, setContent] = useState('');
     const { user } = useAuth();
     const [newBird, setNewBird] = useState(null);
@@ -295,6 +295,15 @@ export default function HomePage() {
                                 : '아직 작성된 글이 없습니다.'}
                         </div>
                     )}
+                    {nextCursor && posts.length > 0 && (
+                        <button
+                            onClick={() => loadMorePosts(activeTab)}
+                            disabled={loadingMore}
+                            className="w-full py-3 text-sm font-bold text-saesori-green-dark hover:text-saesori-green disabled:text-gray-400 transition-colors"
+                        >
+                            {loadingMore ? '불러오는 중...' : '더 보기'}
+                        </button>
+                    )}
                 </div>
             </div>
 
@@ -22,6 +22,7 @@ export default function PostDetailPage() {
     const [likedUsers, setLikedUsers] = useState([]);
     const [repostedUsers, setRepostedUsers] = useState([]);
     const [replies, setReplies] = useState([]);
+    const [replyCursors, setReplyCursors] = useState({}); // 답글이 더 있는 게시글 ID -> 이어서 조회할 커서
     const [ancestors, setAncestors] = useState([]); // 상위 스레드
     const [showLikesModal, setShowLikesModal] = useState(false);
     const [showRepostsModal, setShowRepostsModal] = useState(false);
@@ -46,7 +47,7 @@ export default function PostDetailPage() {
     const fetchLikedUsers = async () => {
         try {
             const res = await api.get(`/posts/${postId}/likes`);
-            setLikedUsers(res.data);
+            setLikedUsers(res.data.users);
             setShowLikesModal(true);
         } catch (err) {
             console.error("Failed to fetch liked users", err);
@@ -57,7 +58,7 @@ export default function PostDetailPage() {
     const fetchRepostedUsers = async () => {
         try {
             const res = await api.get(`/posts/${postId}/reposts`);
-            setRepostedUsers(res.data);
+            setRepostedUsers(res.data.users);
             setShowRepostsModal(true);
         } catch (err) {
             console.error("Failed to fetch reposted users", err);
@@ -68,12 +69,32 @@ export default function PostDetailPage() {
     const fetchReplies = useCallback(async () => {
         try {
             const res = await api.get(`/posts/${postId}/replies`);
-            setReplies(res.data);
+            setReplies(res.data.replies);
+            setReplyCursors(res.data.nextCursors || {});
         } catch (err) {
             console.error('Failed to fetch replies', err);
         }
     }, [postId]);
 
+    // 특정 게시글 아래 답글 더 보기 (서버가 단계/개수를 나눠 보내므로 이어서 조회)
+    const loadMoreReplies = async (parentId) => {
+        try {
+            const cursor = replyCursors[parentId];
+            const res = await api.get(`/posts/${parentId}/replies`, { params: cursor ? { cursor } : {} });
+            setReplies(prev => {
+                const seen = new Set(prev.map(r => r.id));
+                return [...prev, ...res.data.replies.filter(r => !seen.has(r.id))];
+            });
+            setReplyCursors(prev => {
+                const next = { ...prev };
+                delete next[parentId];
+                return { ...next, ...(res.data.nextCursors || {}) };
+            });
+        } catch (err) {
+            console.error('Failed to fetch more replies', err);
+        }
+    };
+
     const fetchAncestors = useCallback(async () => {
         try {
             const res = await api.get(`/posts/${postId}/ancestors`);
@@ -344,7 +365,8 @@ export default function PostDetailPage() {
                                 // 2. 재귀적으로 답글 렌더링
                                 const renderReplyThread = (parentId, depth = 0) => {
                                     const children = repliesByParent[parentId] || [];
-                                    if (children.length === 0) return null;
+                                    const hasMore = replyCursors[parentId] !== undefined;
+                                    if (children.length === 0 && !hasMore) return null;
 
                                     // 시간순 정렬
                                     children.sort((a, b) => new Date(a.createdAt) - new Date(b.createdAt));
@@ -380,12 +402,21 @@ export default function PostDetailPage() {
                                                     </div>
                                                 </div>
                                             ))}
+                                            {hasMore && (
+                                                <button
+                                                    type="button"
+                                                    onClick={() => loadMoreReplies(parentId)}
+                                                    className={`w-full py-2 text-sm text-gray-500 hover:text-gray-700 border-t border-gray-100 ${depth > 0 ? 'ml-6' : ''}`}
+                                                >
+                                                    답글 더 보기
+                                                </button>
+                                            )}
                                         </div>
                                     );
                                 };
 
                                 // 최상위 답글 (현재 게시글에 대한 답글) 렌더링
-                                // replies state에는 이미 getDescendants로 가져온 모든 하위 답글이 들어있음
+                                // replies state에는 지금까지 펼친 하위 답글이 들어있음 (나머지는 '답글 더 보기'로 조회)
                                 // 시작점은 현재 게시글(post.id)의 자식들부터
                                 return renderReplyThread(post.id);
                             })()}
@@ -27,6 +27,8 @@ export default function ProfilePage() {
   const [isFollowing, setIsFollowing] = useState(false);
   const [activeTab, setActiveTab] = useState('posts');
   const [posts, setPosts] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [birds, setBirds] = useState([]);
   const [selectedBird, setSelectedBird] = useState(null);
   const [showEditModal, setShowEditModal] = useState(false);
@@ -44,13 +46,37 @@ export default function ProfilePage() {
       .catch((err) => console.error('Failed to fetch profile', err));
   }, [userId]);
 
+  // 첫 페이지부터 다시 불러옵니다. (페이지 응답: { posts, nextCursor })
   const fetchPosts = useCallback(() => {
     api
       .get(`/posts/user/${userId}`)
-      .then((res) => setPosts(res.data))
+      .then(async (res) => {
+        const list = await api.withLikeStates(res.data.posts);
+        setPosts(list);
+        setNextCursor(res.data.nextCursor);
+      })
       .catch((err) => console.error('Failed to fetch posts', err));
   }, [userId]);
 
+  // 다음 페이지를 이어 붙입니다.
+  const loadMorePosts = async () => {
+    if (!nextCursor || loadingMore) return;
+    setLoadingMore(true);
+    try {
+      const res = await api.get(`/posts/user/${userId}`, { params: { before: nextCursor } });
+      const list = await api.withLikeStates(res.data.posts);
+      setPosts((prev) => {
+        const seen = new Set(prev.map((p) => p.id));
+        return [...prev, ...list.filter((p) => !seen.has(p.id))];
+      });
+      setNextCursor(res.data.nextCursor);
+    } catch (err) {
+      console.error('Failed to fetch more posts', err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const fetchBirds = useCallback(() => {
     api
       .get(`/users/${userId}/birds`)
@@ -117,6 +143,7 @@ export default function ProfilePage() {
     try {
       await repost(postId);
       fetchPosts(); // 게시글 목록 새로고침
+      fetchProfile(); // 게시글 수 새로고침
     } catch (error) {
       console.error('Repost failed', error);
       alert(error.response?.data?.error || '리트윗에 실패했습니다.');
@@ -135,6 +162,7 @@ export default function ProfilePage() {
       setShowQuoteModal(false);
       setSelectedPostForQuote(null);
       fetchPosts(); // 게시글 목록 새로고침
+      fetchProfile(); // 게시글 수 새로고침
       alert('인용 게시되었습니다!');
     } catch (error) {
       console.error('Quote failed', error);
@@ -154,6 +182,7 @@ export default function ProfilePage() {
       setShowReplyModal(false);
       setSelectedPostForReply(null);
       fetchPosts(); // 게시글 목록 새로고침
+      fetchProfile(); // 게시글 수 새로고침
       alert('답글이 등록되었습니다!');
     } catch (error) {
       console.error('Reply failed', error);
@@ -189,7 +218,7 @@ export default function ProfilePage() {
             )}
             <div className="flex gap-6 mt-4">
               <div className="text-center">
-                <span className="block font-bold text-lg text-saesori-green-dark">{posts.length}</span>
+                <span className="block font-bold text-lg text-saesori-green-dark">{profileUser.postsCount}</span>
                 <span className="text-xs text-gray-500">게시글</span>
               </div>
               <div className="text-center">
@@ -254,6 +283,15 @@ export default function ProfilePage() {
                 />
               ))
             )}
+            {nextCursor && (
+              <button
+                onClick={loadMorePosts}
+                disabled={loadingMore}
+                className="w-full py-3 text-sm font-bold text-saesori-green-dark hover:text-saesori-green disabled:text-gray-400 transition-colors"
+              >
+                {loadingMore ? '불러오는 중...' : '더 보기'}
+              </button>
+            )}
           </div>
         ) : (
           <div className="grid grid-cols-2 md:grid-cols-3 gap-4 mt-6">
@@ -16,4 +16,31 @@ api.search = ({ type, q }) => {
     return api.get('/search', { params: { type, q } });
 };
 
+// 목록 응답은 조건부 GET으로 브라우저 캐시에서 올 수 있으므로(좋아요 수는 버전에 포함되지 않음)
+// 목록의 좋아요 여부와 좋아요 수를 /likes/state 로 다시 받아 덮어씁니다. 실패하면 받은 목록을 그대로 반환합니다.
+const MAX_STATE_IDS = 500;
+
+api.withLikeStates = async (posts) => {
+    const ids = [...new Set(posts.flatMap(p => (p.originalPost ? [p.id, p.originalPost.id] : [p.id])))];
+    if (ids.length === 0) return posts;
+    try {
+        const states = {};
+        for (let i = 0; i < ids.length; i += MAX_STATE_IDS) {
+            const res = await api.post('/likes/state', { postIds: ids.slice(i, i + MAX_STATE_IDS) });
+            Object.assign(states, res.data);
+        }
+        const apply = (post) => {
+            const state = states[post.id];
+            return state ? { ...post, isLiked: state.liked, likeCount: state.likeCount } : post;
+        };
+        return posts.map(post => {
+            const updated = apply(post);
+            return post.originalPost ? { ...updated, originalPost: apply(post.originalPost) } : updated;
+        });
+    } catch (error) {
+        console.error('likeStates failed', error);
+        return posts;
+    }
+};
+
 export default api;